@@ -0,0 +1,41 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * Base class of the mapper implementations generated by {@link GeneratedMapperFactory}.
+ * Each generated method calls {@link #mapperMethod(int)} with its own index and executes the returned
+ * {@link MapperMethod}, so a call neither goes through a proxy nor looks the method up in a map.
+ *
+ * @since 3.5.1
+ */
+public abstract class GeneratedMapper {
+
+  protected final SqlSession sqlSession;
+  private final GeneratedMapperFactory<?> factory;
+
+  protected GeneratedMapper(SqlSession sqlSession, GeneratedMapperFactory<?> factory) {
+    this.sqlSession = sqlSession;
+    this.factory = factory;
+  }
+
+  protected final MapperMethod mapperMethod(int index) {
+    return factory.getMapperMethod(index, sqlSession);
+  }
+
+}
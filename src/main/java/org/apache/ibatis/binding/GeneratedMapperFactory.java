@@ -0,0 +1,191 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * A {@link MapperProxyFactory} that generates a class implementing the mapper interface when it is created,
+ * instead of creating a JDK dynamic proxy for each mapper instance.
+ * Each abstract method of the interface is implemented by executing its {@link MapperMethod},
+ * which is resolved on the first call and then read from an array by the method index.
+ * Default methods are inherited from the interface.
+ * <p>
+ * Interfaces whose methods cannot be implemented by one plain method each, such as the ones inheriting
+ * the same method with different return types, keep using proxies, and so do interfaces whose class loader
+ * cannot see MyBatis.
+ *
+ * @since 3.5.1
+ */
+public class GeneratedMapperFactory<T> extends MapperProxyFactory<T> {
+
+  private static final Log log = LogFactory.getLog(GeneratedMapperFactory.class);
+
+  private static final String CLASS_NAME_SUFFIX = "$$MyBatisMapper";
+
+  private final Method[] methods;
+  private final MapperMethod[] mapperMethods;
+  private final Constructor<? extends T> constructor;
+
+  public GeneratedMapperFactory(Class<T> mapperInterface) {
+    super(mapperInterface);
+    this.methods = collectMethods(mapperInterface);
+    this.mapperMethods = methods == null ? null : new MapperMethod[methods.length];
+    this.constructor = methods == null ? null : generate(mapperInterface, methods);
+  }
+
+  /**
+   * Returns whether the mapper instances are generated classes rather than proxies.
+   */
+  public boolean isGenerated() {
+    return constructor != null;
+  }
+
+  @Override
+  public T newInstance(SqlSession sqlSession) {
+    if (constructor == null) {
+      return super.newInstance(sqlSession);
+    }
+    try {
+      return constructor.newInstance(sqlSession, this);
+    } catch (ReflectiveOperationException e) {
+      throw new BindingException("Could not instantiate the generated mapper of " + getMapperInterface() + ". Cause: " + e, e);
+    }
+  }
+
+  MapperMethod getMapperMethod(int index, SqlSession sqlSession) {
+    MapperMethod mapperMethod = mapperMethods[index];
+    if (mapperMethod == null) {
+      // the MapperMethod fields are final, so publishing it without synchronization is safe
+      mapperMethod = getMethodCache().computeIfAbsent(methods[index],
+          k -> new MapperMethod(getMapperInterface(), k, sqlSession.getConfiguration()));
+      mapperMethods[index] = mapperMethod;
+    }
+    return mapperMethod;
+  }
+
+  private static Method[] collectMethods(Class<?> mapperInterface) {
+    final Map<String, Method> methodsBySignature = new LinkedHashMap<>();
+    for (Method method : mapperInterface.getMethods()) {
+      if (Modifier.isStatic(method.getModifiers()) || method.isDefault() || isObjectMethod(method)) {
+        continue;
+      }
+      final String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+      final Method existing = methodsBySignature.putIfAbsent(signature, method);
+      if (existing != null && existing.getReturnType() != method.getReturnType()) {
+        // would need bridge methods
+        log.debug("Using a proxy for " + mapperInterface + " because " + method.getName() + " is inherited with different return types.");
+        return null;
+      }
+    }
+    final Method[] methods = methodsBySignature.values().toArray(new Method[0]);
+    // getMethods() has no defined order, keep the indexes stable for classes generated before
+    Arrays.sort(methods, Comparator.comparing(Method::toGenericString));
+    return methods;
+  }
+
+  private static boolean isObjectMethod(Method method) {
+    try {
+      Object.class.getMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Constructor<? extends T> generate(Class<T> mapperInterface, Method[] methods) {
+    final String className = mapperInterface.getName() + CLASS_NAME_SUFFIX;
+    final ClassLoader classLoader = mapperInterface.getClassLoader();
+    try {
+      Class<?> generatedClass;
+      try {
+        // generated for another configuration already
+        generatedClass = Class.forName(className, false, classLoader);
+      } catch (ClassNotFoundException e) {
+        generatedClass = defineClass(mapperInterface, methods, className);
+      }
+      return (Constructor<? extends T>) generatedClass.getConstructor(SqlSession.class, GeneratedMapperFactory.class);
+    } catch (Exception | LinkageError e) {
+      log.debug("Using a proxy for " + mapperInterface + " because its implementation could not be generated. Cause: " + e);
+      return null;
+    }
+  }
+
+  private static Class<?> defineClass(Class<?> mapperInterface, Method[] methods, String className) throws Exception {
+    final ClassPool pool = new ClassPool(true);
+    pool.appendClassPath(new ClassClassPath(GeneratedMapper.class));
+    if (mapperInterface.getClassLoader() != null) {
+      pool.insertClassPath(new LoaderClassPath(mapperInterface.getClassLoader()));
+    }
+    final CtClass ctClass = pool.makeClass(className, pool.get(GeneratedMapper.class.getName()));
+    ctClass.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+    ctClass.addInterface(pool.get(mapperInterface.getName()));
+    final CtConstructor ctConstructor = CtNewConstructor.make(
+        new CtClass[] { pool.get(SqlSession.class.getName()), pool.get(GeneratedMapperFactory.class.getName()) },
+        new CtClass[0], "{ super($1, $2); }", ctClass);
+    ctClass.addConstructor(ctConstructor);
+    for (int i = 0; i < methods.length; i++) {
+      final Method method = methods[i];
+      final CtMethod ctMethod = CtNewMethod.make(Modifier.PUBLIC, toCtClass(pool, method.getReturnType()),
+          method.getName(), toCtClasses(pool, method.getParameterTypes()), toCtClasses(pool, method.getExceptionTypes()),
+          "{ return ($r) mapperMethod(" + i + ").execute(sqlSession, $args); }", ctClass);
+      ctClass.addMethod(ctMethod);
+    }
+    try {
+      try {
+        return ctClass.toClass(mapperInterface);
+      } catch (NoSuchMethodError e) {
+        // Java 8 has no modules, define the class through the class loader of the interface
+        return ctClass.toClass(mapperInterface.getClassLoader(), mapperInterface.getProtectionDomain());
+      }
+    } finally {
+      ctClass.detach();
+    }
+  }
+
+  private static CtClass[] toCtClasses(ClassPool pool, Class<?>[] types) throws Exception {
+    final CtClass[] ctClasses = new CtClass[types.length];
+    for (int i = 0; i < types.length; i++) {
+      ctClasses[i] = toCtClass(pool, types[i]);
+    }
+    return ctClasses;
+  }
+
+  private static CtClass toCtClass(ClassPool pool, Class<?> type) throws Exception {
+    return pool.get(type.getTypeName());
+  }
+
+}
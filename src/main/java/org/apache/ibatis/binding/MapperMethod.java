@@ -19,10 +19,15 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.apache.ibatis.annotations.Flush;
 import org.apache.ibatis.annotations.MapKey;
@@ -225,6 +230,222 @@ public class MapperMethod {
 
   }
 
+  /**
+   * A {@link ParamMap} that reads the values straight from the argument array of the mapper call.
+   * The names and their argument positions are shared by all calls of a mapper method, so resolving
+   * a parameter while the SQL is built and bound needs neither hashing nor a map allocation.
+   * The first operation that is not a lookup copies the entries into the underlying {@link HashMap},
+   * which then behaves exactly like a {@link ParamMap} filled by name.
+   *
+   * @since 3.5.1
+   */
+  public static class ArrayParamMap<V> extends ParamMap<V> {
+
+    private static final long serialVersionUID = 6212540392578426375L;
+
+    private transient String[] names;
+    private transient int[] argIndexes;
+    private transient int size;
+    private transient Object[] args;
+
+    /**
+     * @param names the parameter names in the order a {@link ParamMap} would have been filled, a name may occur more than once
+     * @param argIndexes the position in {@code args} of the value of each name
+     * @param size the number of distinct names
+     * @param args the arguments of the mapper call, the array is not copied
+     */
+    public ArrayParamMap(String[] names, int[] argIndexes, int size, Object[] args) {
+      super();
+      this.names = names;
+      this.argIndexes = argIndexes;
+      this.size = size;
+      this.args = args;
+    }
+
+    private int indexOf(Object key) {
+      // later names win, as they would have replaced the earlier values of a map
+      for (int i = names.length - 1; i >= 0; i--) {
+        if (names[i].equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void inflate() {
+      final Object[] args = this.args;
+      if (args != null) {
+        this.args = null;
+        for (int i = 0; i < names.length; i++) {
+          super.put(names[i], value(args, i));
+        }
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(Object[] args, int i) {
+      return (V) args[argIndexes[i]];
+    }
+
+    @Override
+    public V get(Object key) {
+      final Object[] args = this.args;
+      if (args == null) {
+        return super.get(key);
+      }
+      final int i = indexOf(key);
+      if (i < 0) {
+        return super.get(key);
+      }
+      return value(args, i);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+      final Object[] args = this.args;
+      if (args == null) {
+        return super.getOrDefault(key, defaultValue);
+      }
+      final int i = indexOf(key);
+      return i < 0 ? defaultValue : value(args, i);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return args == null ? super.containsKey(key) : indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+      return args == null ? super.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return size() == 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+      inflate();
+      return super.containsValue(value);
+    }
+
+    @Override
+    public V put(String key, V value) {
+      inflate();
+      return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> m) {
+      inflate();
+      super.putAll(m);
+    }
+
+    @Override
+    public V remove(Object key) {
+      inflate();
+      return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+      inflate();
+      super.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+      inflate();
+      return super.keySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+      inflate();
+      return super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+      inflate();
+      return super.entrySet();
+    }
+
+    @Override
+    public V putIfAbsent(String key, V value) {
+      inflate();
+      return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+      inflate();
+      return super.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(String key, V oldValue, V newValue) {
+      inflate();
+      return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public V replace(String key, V value) {
+      inflate();
+      return super.replace(key, value);
+    }
+
+    @Override
+    public V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
+      inflate();
+      return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(String key, BiFunction<? super String, ? super V, ? extends V> remappingFunction) {
+      inflate();
+      return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public V compute(String key, BiFunction<? super String, ? super V, ? extends V> remappingFunction) {
+      inflate();
+      return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public V merge(String key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+      inflate();
+      return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super V> action) {
+      inflate();
+      super.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super V, ? extends V> function) {
+      inflate();
+      super.replaceAll(function);
+    }
+
+    @Override
+    public Object clone() {
+      inflate();
+      return super.clone();
+    }
+
+    private Object writeReplace() {
+      inflate();
+      return this;
+    }
+
+  }
+
   public static class SqlCommand {
 
     private final String name; // SQL 语句的名称 ${NAMESPACE_NAME}.${语句_ID}
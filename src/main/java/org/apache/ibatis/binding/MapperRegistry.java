@@ -73,7 +73,7 @@ public class MapperRegistry {
       boolean loadCompleted = false;
       try {
         // 将 Mapper 接口对应的 Class 对象和 MapperProxyFactory 对象添加到 knownMappers 集合
-        knownMappers.put(type, new MapperProxyFactory<>(type));
+        knownMappers.put(type, config.isMapperClassGenerationEnabled() ? new GeneratedMapperFactory<>(type) : new MapperProxyFactory<>(type));
         // It's important that the type is added before the parser is run
         // otherwise the binding may automatically be attempted by the
         // mapper parser. If the type is already known, it won't try.
@@ -21,20 +21,53 @@ package org.apache.ibatis.builder;
 public class IncompleteElementException extends BuilderException {
   private static final long serialVersionUID = -3697292286890900315L;
 
+  private final String missingReference;
+
   public IncompleteElementException() {
     super();
+    this.missingReference = null;
   }
 
   public IncompleteElementException(String message, Throwable cause) {
     super(message, cause);
+    this.missingReference = null;
   }
 
   public IncompleteElementException(String message) {
     super(message);
+    this.missingReference = null;
   }
 
   public IncompleteElementException(Throwable cause) {
     super(cause);
+    this.missingReference = null;
+  }
+
+  /**
+   * @param missingReference the reference the element is waiting on, see {@link IncompleteElements#reference(String, String)}
+   * @since 3.5.1
+   */
+  public IncompleteElementException(String message, String missingReference) {
+    super(message);
+    this.missingReference = missingReference;
+  }
+
+  /**
+   * @param missingReference the reference the element is waiting on, see {@link IncompleteElements#reference(String, String)}
+   * @since 3.5.1
+   */
+  public IncompleteElementException(String message, String missingReference, Throwable cause) {
+    super(message, cause);
+    this.missingReference = missingReference;
+  }
+
+  /**
+   * Returns the reference the element is waiting on, or {@code null} if it is not known.
+   *
+   * @since 3.5.1
+   */
+  public String getMissingReference() {
+    return missingReference;
   }
 
 }
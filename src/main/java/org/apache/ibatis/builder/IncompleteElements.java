@@ -0,0 +1,264 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The elements of the mappers that could not be built yet because they refer to something that has not been
+ * registered in the configuration, such as a result map, a parameter map, a cache or an SQL fragment.
+ * <p>
+ * Each element is parked by the reference it is waiting on, as reported by
+ * {@link IncompleteElementException#getMissingReference()}, and is only retried once that reference has been
+ * registered. Elements that were added without a reference are retried on every attempt.
+ * <p>
+ * The elements are retried without holding the lock of this collection, as resolving an element registers new
+ * references, which notifies the other collections of incomplete elements. A reference registered while an element
+ * is being retried makes it ready again if it fails on that reference. {@link #size()} and {@link #isEmpty()}
+ * do not lock at all.
+ *
+ * @since 3.5.1
+ */
+public class IncompleteElements<E> extends AbstractCollection<E> {
+
+  private final Map<E, IncompleteElementException> elements = new LinkedHashMap<>();
+  private final Map<String, List<E>> waitingElements = new HashMap<>();
+  private final Set<E> readyElements = new LinkedHashSet<>();
+  private final Map<E, Claim> resolvingElements = new HashMap<>();
+  private volatile int size;
+  private volatile int resolvingCount;
+
+  /**
+   * Returns the reference to the element of the given type, e.g. {@code resultMap}, {@code parameterMap},
+   * {@code cache} or {@code sql}, registered with the given id.
+   */
+  public static String reference(String type, String id) {
+    return type + ":" + id;
+  }
+
+  @Override
+  public boolean add(E element) {
+    return add(element, null);
+  }
+
+  /**
+   * Parks the element by the reference that is missing according to the cause, a {@code null} cause or a cause
+   * without a missing reference means the element is retried on every attempt.
+   */
+  public synchronized boolean add(E element, IncompleteElementException cause) {
+    final String missingReference = cause == null ? null : cause.getMissingReference();
+    elements.put(element, cause);
+    size = elements.size();
+    if (missingReference == null) {
+      readyElements.add(element);
+    } else {
+      readyElements.remove(element);
+      waitingElements.computeIfAbsent(missingReference, k -> new ArrayList<>()).add(element);
+    }
+    return true;
+  }
+
+  /**
+   * Marks the elements waiting on the reference as ready to be retried.
+   */
+  public void referenceRegistered(String reference) {
+    if (size == 0 && resolvingCount == 0) {
+      return;
+    }
+    synchronized (this) {
+      // an element being resolved may have missed the reference, it is retried if it fails on it
+      for (Claim claim : resolvingElements.values()) {
+        claim.registeredReferences.add(reference);
+      }
+      final List<E> waiting = waitingElements.remove(reference);
+      if (waiting != null) {
+        for (E element : waiting) {
+          IncompleteElementException cause = elements.get(element);
+          // the element may have been resolved or parked again by another reference meanwhile
+          if (cause != null && reference.equals(cause.getMissingReference())) {
+            readyElements.add(element);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Retries the elements that are ready, until none of them can be resolved anymore.
+   * An element that is still incomplete is parked again by the reference it is now missing.
+   * An element whose resolution fails otherwise is kept as it was and the failure is rethrown.
+   */
+  public void resolve(Consumer<E> resolver) {
+    boolean resolved = true;
+    while (resolved) {
+      resolved = false;
+      for (E element : readyElementsSnapshot()) {
+        // an element is taken out while it is being resolved, so that no other thread resolves it too
+        if (!claim(element)) {
+          continue;
+        }
+        try {
+          resolver.accept(element);
+          release(element);
+          resolved = true;
+        } catch (IncompleteElementException e) {
+          if (park(element, e)) {
+            resolved = true;
+          }
+        } catch (RuntimeException | Error e) {
+          restore(element);
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Retries all elements, whether their missing reference has been registered or not.
+   */
+  public void resolveAll(Consumer<E> resolver) {
+    if (size == 0) {
+      return;
+    }
+    synchronized (this) {
+      readyElements.addAll(elements.keySet());
+    }
+    resolve(resolver);
+  }
+
+  private synchronized List<E> readyElementsSnapshot() {
+    return new ArrayList<>(readyElements);
+  }
+
+  private synchronized boolean claim(E element) {
+    if (!readyElements.remove(element)) {
+      return false;
+    }
+    resolvingElements.put(element, new Claim(elements.remove(element)));
+    size = elements.size();
+    resolvingCount = resolvingElements.size();
+    return true;
+  }
+
+  private synchronized Claim release(E element) {
+    final Claim claim = resolvingElements.remove(element);
+    resolvingCount = resolvingElements.size();
+    return claim;
+  }
+
+  /**
+   * Adds back an element that is still incomplete.
+   *
+   * @return true if the reference it is missing was registered while it was being resolved, so it is ready again
+   */
+  private synchronized boolean park(E element, IncompleteElementException cause) {
+    final Claim claim = release(element);
+    add(element, cause);
+    final String missingReference = cause.getMissingReference();
+    if (missingReference != null && claim != null && claim.registeredReferences.contains(missingReference)) {
+      readyElements.add(element);
+      return true;
+    }
+    return false;
+  }
+
+  private synchronized void restore(E element) {
+    elements.put(element, release(element).cause);
+    size = elements.size();
+    readyElements.add(element);
+  }
+
+  /**
+   * Returns the last failure of each element that is still incomplete, except for the elements that have not been
+   * retried since they were added without a cause.
+   */
+  public synchronized List<IncompleteElementException> getCauses() {
+    final List<IncompleteElementException> causes = new ArrayList<>(elements.size());
+    for (IncompleteElementException cause : elements.values()) {
+      if (cause != null) {
+        causes.add(cause);
+      }
+    }
+    return causes;
+  }
+
+  @Override
+  public synchronized boolean remove(Object element) {
+    if (!elements.containsKey(element)) {
+      return false;
+    }
+    elements.remove(element);
+    size = elements.size();
+    readyElements.remove(element);
+    return true;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    final Iterator<E> iterator = elements.keySet().iterator();
+    return new Iterator<E>() {
+      private E current;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public E next() {
+        current = iterator.next();
+        return current;
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+        size = elements.size();
+        readyElements.remove(current);
+      }
+    };
+  }
+
+  private static class Claim {
+    private final IncompleteElementException cause;
+    private final Set<String> registeredReferences = new HashSet<>();
+
+    Claim(IncompleteElementException cause) {
+      this.cause = cause;
+    }
+  }
+
+}
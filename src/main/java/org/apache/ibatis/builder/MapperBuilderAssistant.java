@@ -58,6 +58,7 @@ public class MapperBuilderAssistant extends BaseBuilder {
   private final String resource;
   private Cache currentCache;
   private boolean unresolvedCacheRef; // issue #676
+  private String unresolvedCacheRefNamespace;
 
   public MapperBuilderAssistant(Configuration configuration, String resource) {
     super(configuration);
@@ -109,15 +110,18 @@ public class MapperBuilderAssistant extends BaseBuilder {
     }
     try {
       unresolvedCacheRef = true;
+      unresolvedCacheRefNamespace = namespace;
       Cache cache = configuration.getCache(namespace);
       if (cache == null) {
-        throw new IncompleteElementException("No cache for namespace '" + namespace + "' could be found.");
+        throw new IncompleteElementException("No cache for namespace '" + namespace + "' could be found.",
+            IncompleteElements.reference("cache", namespace));
       }
       currentCache = cache;
       unresolvedCacheRef = false;
       return cache;
     } catch (IllegalArgumentException e) {
-      throw new IncompleteElementException("No cache for namespace '" + namespace + "' could be found.", e);
+      throw new IncompleteElementException("No cache for namespace '" + namespace + "' could be found.",
+          IncompleteElements.reference("cache", namespace), e);
     }
   }
 
@@ -188,7 +192,8 @@ public class MapperBuilderAssistant extends BaseBuilder {
 
     if (extend != null) {
       if (!configuration.hasResultMap(extend)) {
-        throw new IncompleteElementException("Could not find a parent resultmap with id '" + extend + "'");
+        throw new IncompleteElementException("Could not find a parent resultmap with id '" + extend + "'",
+            IncompleteElements.reference("resultMap", extend));
       }
       ResultMap resultMap = configuration.getResultMap(extend);
       List<ResultMapping> extendedResultMappings = new ArrayList<>(resultMap.getResultMappings());
@@ -272,7 +277,8 @@ public class MapperBuilderAssistant extends BaseBuilder {
       String resultSets) {
 
     if (unresolvedCacheRef) {
-      throw new IncompleteElementException("Cache-ref not yet resolved");
+      throw new IncompleteElementException("Cache-ref not yet resolved",
+          IncompleteElements.reference("cache", unresolvedCacheRefNamespace));
     }
 
     id = applyCurrentNamespace(id, false);
@@ -320,7 +326,8 @@ public class MapperBuilderAssistant extends BaseBuilder {
       try {
         parameterMap = configuration.getParameterMap(parameterMapName);
       } catch (IllegalArgumentException e) {
-        throw new IncompleteElementException("Could not find parameter map " + parameterMapName, e);
+        throw new IncompleteElementException("Could not find parameter map " + parameterMapName,
+            IncompleteElements.reference("parameterMap", parameterMapName), e);
       }
     } else if (parameterTypeClass != null) {
       List<ParameterMapping> parameterMappings = new ArrayList<>();
@@ -346,7 +353,8 @@ public class MapperBuilderAssistant extends BaseBuilder {
         try {
           resultMaps.add(configuration.getResultMap(resultMapName.trim()));
         } catch (IllegalArgumentException e) {
-          throw new IncompleteElementException("Could not find result map " + resultMapName, e);
+          throw new IncompleteElementException("Could not find result map " + resultMapName,
+              IncompleteElements.reference("resultMap", resultMapName.trim()), e);
         }
       }
     } else if (resultType != null) {
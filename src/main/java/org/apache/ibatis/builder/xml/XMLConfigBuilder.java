@@ -15,9 +15,16 @@
  */
 package org.apache.ibatis.builder.xml;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 import javax.sql.DataSource;
 
 import org.apache.ibatis.builder.BaseBuilder;
@@ -269,6 +276,7 @@ public class XMLConfigBuilder extends BaseBuilder {
     configuration.setDefaultExecutorType(ExecutorType.valueOf(props.getProperty("defaultExecutorType", "SIMPLE")));
     configuration.setDefaultStatementTimeout(integerValueOf(props.getProperty("defaultStatementTimeout"), null));
     configuration.setDefaultFetchSize(integerValueOf(props.getProperty("defaultFetchSize"), null));
+    configuration.setCursorPrefetchSize(integerValueOf(props.getProperty("cursorPrefetchSize"), null));
     configuration.setMapUnderscoreToCamelCase(booleanValueOf(props.getProperty("mapUnderscoreToCamelCase"), false));
     configuration.setSafeRowBoundsEnabled(booleanValueOf(props.getProperty("safeRowBoundsEnabled"), false));
     configuration.setLocalCacheScope(LocalCacheScope.valueOf(props.getProperty("localCacheScope", "SESSION")));
@@ -280,6 +288,12 @@ public class XMLConfigBuilder extends BaseBuilder {
     configuration.setCallSettersOnNulls(booleanValueOf(props.getProperty("callSettersOnNulls"), false));
     configuration.setUseActualParamName(booleanValueOf(props.getProperty("useActualParamName"), true));
     configuration.setReturnInstanceForEmptyRow(booleanValueOf(props.getProperty("returnInstanceForEmptyRow"), false));
+    configuration.setResultSetMetaDataCacheEnabled(booleanValueOf(props.getProperty("resultSetMetaDataCacheEnabled"), false));
+    configuration.setParallelResultMappingEnabled(booleanValueOf(props.getProperty("parallelResultMappingEnabled"), false));
+    configuration.setNativeJavaTimeEnabled(booleanValueOf(props.getProperty("nativeJavaTimeEnabled"), false));
+    configuration.setMapperClassGenerationEnabled(booleanValueOf(props.getProperty("mapperClassGenerationEnabled"), false));
+    configuration.setParallelMapperLoadingEnabled(booleanValueOf(props.getProperty("parallelMapperLoadingEnabled"), false));
+    configuration.setCompiledSqlEnabled(booleanValueOf(props.getProperty("compiledSqlEnabled"), false));
     configuration.setLogPrefix(props.getProperty("logPrefix"));
     configuration.setConfigurationFactory(resolveClass(props.getProperty("configurationFactory")));
   }
@@ -374,32 +388,103 @@ public class XMLConfigBuilder extends BaseBuilder {
 
   private void mapperElement(XNode parent) throws Exception {
     if (parent != null) {
-      for (XNode child : parent.getChildren()) {
-        if ("package".equals(child.getName())) {
-          String mapperPackage = child.getStringAttribute("name");
-          configuration.addMappers(mapperPackage);
-        } else {
-          String resource = child.getStringAttribute("resource");
-          String url = child.getStringAttribute("url");
-          String mapperClass = child.getStringAttribute("class");
-          if (resource != null && url == null && mapperClass == null) {
-            ErrorContext.instance().resource(resource);
-            InputStream inputStream = Resources.getResourceAsStream(resource);
-            XMLMapperBuilder mapperParser = new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments());
-            mapperParser.parse();
-          } else if (resource == null && url != null && mapperClass == null) {
-            ErrorContext.instance().resource(url);
-            InputStream inputStream = Resources.getUrlAsStream(url);
-            XMLMapperBuilder mapperParser = new XMLMapperBuilder(inputStream, configuration, url, configuration.getSqlFragments());
-            mapperParser.parse();
-          } else if (resource == null && url == null && mapperClass != null) {
-            Class<?> mapperInterface = Resources.classForName(mapperClass);
-            configuration.addMapper(mapperInterface);
+      final List<XNode> children = parent.getChildren();
+      final ForkJoinPool pool = configuration.isParallelMapperLoadingEnabled() ? new ForkJoinPool() : null;
+      try {
+        final List<CompletableFuture<XMLMapperBuilder>> mapperBuilders = pool == null ? null : new ArrayList<>(Collections.nCopies(children.size(), null));
+        int parsed = 0;
+        for (int i = 0; i < children.size(); i++) {
+          if (pool != null) {
+            parsed = parseMappers(children, mapperBuilders, parsed, i + 2 * pool.getParallelism(), pool);
+          }
+          XNode child = children.get(i);
+          if ("package".equals(child.getName())) {
+            String mapperPackage = child.getStringAttribute("name");
+            configuration.addMappers(mapperPackage);
           } else {
-            throw new BuilderException("A mapper element may only specify a url, resource or class, but not more than one.");
+            String resource = child.getStringAttribute("resource");
+            String url = child.getStringAttribute("url");
+            String mapperClass = child.getStringAttribute("class");
+            if (resource != null && url == null && mapperClass == null) {
+              ErrorContext.instance().resource(resource);
+              XMLMapperBuilder mapperParser = mapperBuilders == null ? newMapperBuilder(resource, null) : join(mapperBuilders.set(i, null));
+              mapperParser.parse();
+            } else if (resource == null && url != null && mapperClass == null) {
+              ErrorContext.instance().resource(url);
+              XMLMapperBuilder mapperParser = mapperBuilders == null ? newMapperBuilder(null, url) : join(mapperBuilders.set(i, null));
+              mapperParser.parse();
+            } else if (resource == null && url == null && mapperClass != null) {
+              Class<?> mapperInterface = Resources.classForName(mapperClass);
+              configuration.addMapper(mapperInterface);
+            } else {
+              throw new BuilderException("A mapper element may only specify a url, resource or class, but not more than one.");
+            }
           }
         }
+      } finally {
+        if (pool != null) {
+          pool.shutdownNow();
+        }
+      }
+    }
+  }
+
+  private XMLMapperBuilder newMapperBuilder(String resource, String url) throws IOException {
+    if (resource != null) {
+      InputStream inputStream = Resources.getResourceAsStream(resource);
+      return new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments());
+    } else {
+      InputStream inputStream = Resources.getUrlAsStream(url);
+      return new XMLMapperBuilder(inputStream, configuration, url, configuration.getSqlFragments());
+    }
+  }
+
+  /**
+   * Starts parsing the documents of the XML mappers listed from index {@code from} up to, but excluding, index
+   * {@code to} on the given pool. Only reading the documents runs concurrently, the mappers are still built into the
+   * configuration one by one in the order they are listed, so that names, errors and the resolution of references are
+   * the same as when loading them sequentially. The caller only lets parsing run a few documents ahead of building,
+   * so that the parsed documents that wait to be built do not all have to be held in memory at the same time.
+   *
+   * @return the index of the first mapper whose document has not been submitted yet
+   */
+  private int parseMappers(List<XNode> children, List<CompletableFuture<XMLMapperBuilder>> mapperBuilders,
+      int from, int to, ForkJoinPool pool) {
+    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    final int end = Math.min(to, children.size());
+    for (int i = from; i < end; i++) {
+      final XNode child = children.get(i);
+      final String resource = child.getStringAttribute("resource");
+      final String url = child.getStringAttribute("url");
+      if (!"package".equals(child.getName()) && (resource == null) != (url == null) && child.getStringAttribute("class") == null) {
+        mapperBuilders.set(i, CompletableFuture.supplyAsync(() -> {
+          final Thread thread = Thread.currentThread();
+          final ClassLoader workerClassLoader = thread.getContextClassLoader();
+          thread.setContextClassLoader(contextClassLoader);
+          try {
+            return newMapperBuilder(resource, url);
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          } finally {
+            thread.setContextClassLoader(workerClassLoader);
+          }
+        }, pool));
+      }
+    }
+    return Math.max(from, end);
+  }
+
+  private static XMLMapperBuilder join(CompletableFuture<XMLMapperBuilder> mapperBuilder) throws Exception {
+    try {
+      return mapperBuilder.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
       }
+      throw e;
     }
   }
 
@@ -21,6 +21,7 @@ import java.util.Properties;
 
 import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.builder.IncompleteElementException;
+import org.apache.ibatis.builder.IncompleteElements;
 import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.apache.ibatis.parsing.PropertyParser;
 import org.apache.ibatis.parsing.XNode;
@@ -96,7 +97,8 @@ public class XMLIncludeTransformer {
       XNode nodeToInclude = configuration.getSqlFragments().get(refid);
       return nodeToInclude.getNode().cloneNode(true);
     } catch (IllegalArgumentException e) {
-      throw new IncompleteElementException("Could not find SQL statement to include with refid '" + refid + "'", e);
+      throw new IncompleteElementException("Could not find SQL statement to include with refid '" + refid + "'",
+          IncompleteElements.reference("sql", refid), e);
     }
   }
 
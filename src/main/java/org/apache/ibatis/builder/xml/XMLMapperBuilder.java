@@ -15,13 +15,14 @@
  */
 package org.apache.ibatis.builder.xml;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -35,6 +36,8 @@ import org.apache.ibatis.builder.ResultMapResolver;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.mapping.Discriminator;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
@@ -44,6 +47,7 @@ import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.parsing.XNode;
 import org.apache.ibatis.parsing.XPathParser;
 import org.apache.ibatis.reflection.MetaClass;
+import org.apache.ibatis.scripting.xmltags.CompiledSqlSources;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeHandler;
@@ -54,10 +58,14 @@ import org.apache.ibatis.type.TypeHandler;
  */
 public class XMLMapperBuilder extends BaseBuilder {
 
+  private static final Log log = LogFactory.getLog(XMLMapperBuilder.class);
+
   private final XPathParser parser;
   private final MapperBuilderAssistant builderAssistant;
   private final Map<String, XNode> sqlFragments;
   private final String resource;
+  private CompiledSqlSources compiledSqlSources;
+  private Long checksum;
 
   @Deprecated
   public XMLMapperBuilder(Reader reader, Configuration configuration, String resource, Map<String, XNode> sqlFragments, String namespace) {
@@ -77,8 +85,15 @@ public class XMLMapperBuilder extends BaseBuilder {
   }
 
   public XMLMapperBuilder(InputStream inputStream, Configuration configuration, String resource, Map<String, XNode> sqlFragments) {
-    this(new XPathParser(inputStream, true, configuration.getVariables(), new XMLMapperEntityResolver()),
-        configuration, resource, sqlFragments);
+    this(configuration.isCompiledSqlEnabled() ? readContent(inputStream, resource) : null, inputStream, configuration,
+        resource, sqlFragments);
+  }
+
+  private XMLMapperBuilder(byte[] content, InputStream inputStream, Configuration configuration, String resource, Map<String, XNode> sqlFragments) {
+    this(new XPathParser(content == null ? inputStream : new ByteArrayInputStream(content), true,
+        configuration.getVariables(), new XMLMapperEntityResolver()), configuration, resource, sqlFragments);
+    // the checksum of the file tells whether the compiled SQL sources still match it
+    this.checksum = content == null ? null : CompiledSqlSources.checksum(content);
   }
 
   private XMLMapperBuilder(XPathParser parser, Configuration configuration, String resource, Map<String, XNode> sqlFragments) {
@@ -130,6 +145,9 @@ public class XMLMapperBuilder extends BaseBuilder {
       // 解析＜ sql ＞节点
       sqlElement(context.evalNodes("/mapper/sql"));
       // 解析＜ select ＞、＜ insert＞、＜update＞、＜delete ＞等 SQL 节点
+      if (configuration.isCompiledSqlEnabled()) {
+        compiledSqlSources = loadCompiledSqlSources(namespace);
+      }
       buildStatementFromContext(context.evalNodes("select|insert|update|delete"));
     } catch (Exception e) {
       throw new BuilderException("Error parsing Mapper XML. The XML location is '" + resource + "'. Cause: " + e, e);
@@ -145,58 +163,25 @@ public class XMLMapperBuilder extends BaseBuilder {
 
   private void buildStatementFromContext(List<XNode> list, String requiredDatabaseId) {
     for (XNode context : list) {
-      final XMLStatementBuilder statementParser = new XMLStatementBuilder(configuration, builderAssistant, context, requiredDatabaseId);
+      final XMLStatementBuilder statementParser = new XMLStatementBuilder(configuration, builderAssistant, context, requiredDatabaseId, compiledSqlSources);
       try {
         statementParser.parseStatementNode();
       } catch (IncompleteElementException e) {
-        configuration.addIncompleteStatement(statementParser);
+        configuration.addIncompleteStatement(statementParser, e);
       }
     }
   }
 
   private void parsePendingResultMaps() {
-    Collection<ResultMapResolver> incompleteResultMaps = configuration.getIncompleteResultMaps();
-    synchronized (incompleteResultMaps) {
-      Iterator<ResultMapResolver> iter = incompleteResultMaps.iterator();
-      while (iter.hasNext()) {
-        try {
-          iter.next().resolve();
-          iter.remove();
-        } catch (IncompleteElementException e) {
-          // ResultMap is still missing a resource...
-        }
-      }
-    }
+    configuration.resolveIncompleteResultMaps();
   }
 
   private void parsePendingCacheRefs() {
-    Collection<CacheRefResolver> incompleteCacheRefs = configuration.getIncompleteCacheRefs();
-    synchronized (incompleteCacheRefs) {
-      Iterator<CacheRefResolver> iter = incompleteCacheRefs.iterator();
-      while (iter.hasNext()) {
-        try {
-          iter.next().resolveCacheRef();
-          iter.remove();
-        } catch (IncompleteElementException e) {
-          // Cache ref is still missing a resource...
-        }
-      }
-    }
+    configuration.resolveIncompleteCacheRefs();
   }
 
   private void parsePendingStatements() {
-    Collection<XMLStatementBuilder> incompleteStatements = configuration.getIncompleteStatements();
-    synchronized (incompleteStatements) {
-      Iterator<XMLStatementBuilder> iter = incompleteStatements.iterator();
-      while (iter.hasNext()) {
-        try {
-          iter.next().parseStatementNode();
-          iter.remove();
-        } catch (IncompleteElementException e) {
-          // Statement is still missing a resource...
-        }
-      }
-    }
+    configuration.resolveIncompleteStatements();
   }
 
   private void cacheRefElement(XNode context) {
@@ -206,7 +191,7 @@ public class XMLMapperBuilder extends BaseBuilder {
       try {
         cacheRefResolver.resolveCacheRef();
       } catch (IncompleteElementException e) {
-        configuration.addIncompleteCacheRef(cacheRefResolver);
+        configuration.addIncompleteCacheRef(cacheRefResolver, e);
       }
     }
   }
@@ -305,7 +290,7 @@ public class XMLMapperBuilder extends BaseBuilder {
     try {
       return resultMapResolver.resolve();
     } catch (IncompleteElementException  e) {
-      configuration.addIncompleteResultMap(resultMapResolver);
+      configuration.addIncompleteResultMap(resultMapResolver, e);
       throw e;
     }
   }
@@ -440,6 +425,73 @@ public class XMLMapperBuilder extends BaseBuilder {
     }
   }
 
+  /**
+   * Looks for the class generated by {@link XMLMapperCompiler} for the namespace. The class is only used when the
+   * mapper file, and the files whose fragments it includes, have not changed since it was generated. The checksums are
+   * compared once per mapper file; the mapper file is read anyway and the included ones are read only when some
+   * statements include fragments of another file.
+   */
+  private CompiledSqlSources loadCompiledSqlSources(String namespace) {
+    if (checksum == null) {
+      // built from a Reader: the content of the file cannot be checked
+      return null;
+    }
+    Class<?> compiledType;
+    try {
+      compiledType = Resources.classForName(namespace + CompiledSqlSources.CLASS_NAME_SUFFIX);
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+    if (!CompiledSqlSources.class.isAssignableFrom(compiledType)) {
+      return null;
+    }
+    CompiledSqlSources sources;
+    try {
+      sources = (CompiledSqlSources) compiledType.getDeclaredConstructor().newInstance();
+    } catch (Exception e) {
+      throw new BuilderException("Error instantiating compiled SQL sources " + compiledType.getName() + ". Cause: " + e, e);
+    }
+    String changed = null;
+    if (sources.getChecksum() != checksum) {
+      changed = resource;
+    } else {
+      for (Map.Entry<String, Long> included : sources.getIncludedChecksums().entrySet()) {
+        if (!included.getValue().equals(checksumOf(included.getKey()))) {
+          changed = included.getKey();
+          break;
+        }
+      }
+    }
+    if (changed != null) {
+      log.warn(compiledType.getName() + " is ignored because " + changed + " has changed since it was generated."
+          + " Regenerate it with " + XMLMapperCompiler.class.getName() + ".");
+      return null;
+    }
+    return sources;
+  }
+
+  private Long checksumOf(String includedResource) {
+    try (InputStream inputStream = Resources.getResourceAsStream(includedResource)) {
+      return CompiledSqlSources.checksum(readContent(inputStream, includedResource));
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  static byte[] readContent(InputStream inputStream, String resource) {
+    try {
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int n;
+      while ((n = inputStream.read(buffer)) != -1) {
+        content.write(buffer, 0, n);
+      }
+      return content.toByteArray();
+    } catch (IOException e) {
+      throw new BuilderException("Error reading mapper XML " + resource + ". Cause: " + e, e);
+    }
+  }
+
   private void bindMapperForNamespace() {
     String namespace = builderAssistant.getCurrentNamespace();
     if (namespace != null) {
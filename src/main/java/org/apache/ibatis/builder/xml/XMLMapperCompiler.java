@@ -0,0 +1,446 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.executor.keygen.SelectKeyGenerator;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.parsing.XNode;
+import org.apache.ibatis.parsing.XPathParser;
+import org.apache.ibatis.scripting.xmltags.CompiledSqlSources;
+import org.apache.ibatis.session.Configuration;
+import org.w3c.dom.CharacterData;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Generates the Java source of a {@link CompiledSqlSources} class for each mapper XML file, to be run at build time,
+ * e.g. with the exec-maven-plugin in the process-resources phase (see the Compiled SQL section of the mapper
+ * documentation):
+ *
+ * <pre>
+ * java org.apache.ibatis.builder.xml.XMLMapperCompiler target/generated-sources/mybatis org/example/UserMapper.xml ...
+ * </pre>
+ *
+ * When the compiled classes are on the classpath, {@link XMLMapperBuilder} takes the SQL of the statements from them
+ * and only reads the attributes of the statements from the XML. Statements that depend on the configuration are left
+ * to be parsed at runtime: those containing {@code ${...}} placeholders, those using another language driver and
+ * those including {@code <sql>} fragments that are declared per database id. The class carries the checksums of the
+ * mapper files it was compiled from; when one of them changed since, all the statements of the mapper are parsed from
+ * the XML again, with a warning. Statements that cannot be compiled fail the generation.
+ *
+ * @since 3.5.1
+ */
+public class XMLMapperCompiler {
+
+  private static final String NODES_PACKAGE = "org.apache.ibatis.scripting.xmltags.";
+
+  private final Configuration configuration;
+  private final Map<String, XNode> mappers = new LinkedHashMap<>();
+  private final Set<String> databaseSpecificFragments = new HashSet<>();
+  private final Map<String, Long> checksums = new HashMap<>();
+  private final Map<String, String> fragmentResources = new HashMap<>();
+
+  public XMLMapperCompiler(Configuration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * Reads a mapper file. All the mappers whose fragments are included have to be added before generating the sources.
+   */
+  public void addMapper(String resource, InputStream inputStream) {
+    byte[] content = XMLMapperBuilder.readContent(inputStream, resource);
+    XPathParser parser = new XPathParser(new ByteArrayInputStream(content), true, configuration.getVariables(),
+        new XMLMapperEntityResolver());
+    XNode mapper = parser.evalNode("/mapper");
+    String namespace = mapper.getStringAttribute("namespace");
+    if (namespace == null || namespace.isEmpty()) {
+      throw new BuilderException("Mapper's namespace cannot be empty in " + resource);
+    }
+    mappers.put(resource, mapper);
+    checksums.put(resource, CompiledSqlSources.checksum(content));
+    for (XNode fragment : mapper.evalNodes("/mapper/sql")) {
+      String id = namespace + "." + fragment.getStringAttribute("id");
+      if (fragment.getStringAttribute("databaseId") != null) {
+        databaseSpecificFragments.add(id);
+      } else if (!configuration.getSqlFragments().containsKey(id)) {
+        configuration.getSqlFragments().put(id, fragment);
+        fragmentResources.put(id, resource);
+      }
+    }
+  }
+
+  /**
+   * @return the Java sources keyed by the fully qualified class names
+   */
+  public Map<String, String> generateSources() {
+    Map<String, String> sources = new LinkedHashMap<>();
+    List<String> failures = new ArrayList<>();
+    RuntimeException firstFailure = null;
+    for (Map.Entry<String, XNode> mapper : mappers.entrySet()) {
+      String className = mapper.getValue().getStringAttribute("namespace") + CompiledSqlSources.CLASS_NAME_SUFFIX;
+      if (isJavaClassName(className)) {
+        Map<String, RuntimeException> mapperFailures = new LinkedHashMap<>();
+        sources.put(className, generateSource(mapper.getKey(), mapper.getValue(), className, mapperFailures));
+        for (Map.Entry<String, RuntimeException> failure : mapperFailures.entrySet()) {
+          failures.add(mapper.getKey() + " (" + failure.getKey() + "): " + failure.getValue().getMessage());
+          if (firstFailure == null) {
+            firstFailure = failure.getValue();
+          }
+        }
+      }
+    }
+    if (!failures.isEmpty()) {
+      throw new BuilderException("Could not compile " + failures.size() + " statement(s):\n  "
+          + String.join("\n  ", failures), firstFailure);
+    }
+    return sources;
+  }
+
+  public void generateSources(File outputDirectory) throws IOException {
+    for (Map.Entry<String, String> source : generateSources().entrySet()) {
+      File file = new File(outputDirectory, source.getKey().replace('.', File.separatorChar) + ".java");
+      file.getParentFile().mkdirs();
+      try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+        writer.write(source.getValue());
+      }
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("Usage: XMLMapperCompiler <output directory> <mapper resource>...");
+    }
+    XMLMapperCompiler compiler = new XMLMapperCompiler(new Configuration());
+    for (int i = 1; i < args.length; i++) {
+      try (InputStream inputStream = Resources.getResourceAsStream(args[i])) {
+        compiler.addMapper(args[i], inputStream);
+      }
+    }
+    compiler.generateSources(new File(args[0]));
+  }
+
+  private String generateSource(String resource, XNode mapper, String className, Map<String, RuntimeException> failures) {
+    String namespace = mapper.getStringAttribute("namespace");
+    MapperBuilderAssistant builderAssistant = new MapperBuilderAssistant(configuration, resource);
+    builderAssistant.setCurrentNamespace(namespace);
+    Map<String, String> methods = new LinkedHashMap<>();
+    Set<String> includedResources = new TreeSet<>();
+    for (XNode statement : mapper.evalNodes("select|insert|update|delete")) {
+      String id = statement.getStringAttribute("id");
+      String databaseId = statement.getStringAttribute("databaseId");
+      if (statement.getStringAttribute("lang") != null || methods.containsKey(key(id, databaseId))) {
+        continue;
+      }
+      Node copy = statement.getNode().cloneNode(true);
+      Map<String, String> statementMethods = new LinkedHashMap<>();
+      Set<String> statementResources = new HashSet<>();
+      try {
+        if (!hasStaticIncludes(copy, builderAssistant, new HashSet<>(), statementResources)) {
+          continue;
+        }
+        new XMLIncludeTransformer(configuration, builderAssistant).applyIncludes(copy);
+        if (containsPlaceholder(copy)) {
+          continue;
+        }
+        for (Node selectKey : childElements(copy, "selectKey")) {
+          String selectKeyId = id + SelectKeyGenerator.SELECT_KEY_SUFFIX;
+          statementMethods.put(key(selectKeyId, attribute(selectKey, "databaseId")), generateSqlSource(selectKey));
+          copy.removeChild(selectKey);
+        }
+        statementMethods.put(key(id, databaseId), generateSqlSource(copy));
+      } catch (RuntimeException e) {
+        failures.put(key(id, databaseId), e);
+        continue;
+      }
+      methods.putAll(statementMethods);
+      includedResources.addAll(statementResources);
+    }
+    includedResources.remove(resource);
+    return generateClass(resource, className, methods, includedResources);
+  }
+
+  private String generateClass(String resource, String className, Map<String, String> methods, Set<String> includedResources) {
+    int lastDot = className.lastIndexOf('.');
+    StringBuilder source = new StringBuilder();
+    if (lastDot > 0) {
+      source.append("package ").append(className, 0, lastDot).append(";\n\n");
+    }
+    source.append("import java.util.ArrayList;\n");
+    source.append("import java.util.Arrays;\n");
+    source.append("import java.util.HashMap;\n");
+    source.append("import java.util.List;\n");
+    source.append("import java.util.Map;\n\n");
+    source.append("import org.apache.ibatis.mapping.SqlSource;\n");
+    for (String nodeType : new String[] {"ChooseSqlNode", "CompiledSqlSources", "ForEachSqlNode", "IfSqlNode", "SetSqlNode",
+        "SqlNode", "StaticTextSqlNode", "TrimSqlNode", "VarDeclSqlNode", "WhereSqlNode"}) {
+      source.append("import ").append(NODES_PACKAGE).append(nodeType).append(";\n");
+    }
+    source.append("import org.apache.ibatis.session.Configuration;\n\n");
+    source.append("/**\n * Generated by XMLMapperCompiler from ").append(resource).append(", do not edit.\n */\n");
+    source.append("public final class ").append(className.substring(lastDot + 1)).append(" extends CompiledSqlSources {\n\n");
+    source.append("  @Override\n");
+    source.append("  public SqlSource createSqlSource(Configuration c, String id, String databaseId, Class<?> parameterType) {\n");
+    source.append("    switch (key(id, databaseId)) {\n");
+    int i = 0;
+    for (String key : methods.keySet()) {
+      source.append("      case ").append(literal(key)).append(":\n");
+      source.append("        return sqlSource").append(i++).append("(c, parameterType);\n");
+    }
+    source.append("      default:\n");
+    source.append("        return null;\n");
+    source.append("    }\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public long getChecksum() {\n");
+    source.append("    return ").append(checksums.get(resource)).append("L;\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public Map<String, Long> getIncludedChecksums() {\n");
+    source.append("    Map<String, Long> checksums = new HashMap<>();\n");
+    for (String includedResource : includedResources) {
+      source.append("    checksums.put(").append(literal(includedResource)).append(", ")
+          .append(checksums.get(includedResource)).append("L);\n");
+    }
+    source.append("    return checksums;\n");
+    source.append("  }\n");
+    i = 0;
+    for (String method : methods.values()) {
+      source.append("\n  private static SqlSource sqlSource").append(i++).append("(Configuration c, Class<?> parameterType) {\n");
+      source.append(method);
+      source.append("  }\n");
+    }
+    source.append("\n}\n");
+    return source.toString();
+  }
+
+  /**
+   * Mirrors {@link org.apache.ibatis.scripting.xmltags.XMLScriptBuilder#parseScriptNode()}.
+   */
+  private String generateSqlSource(Node node) {
+    boolean dynamic = !childElements(node, null).isEmpty();
+    StringBuilder method = new StringBuilder();
+    method.append("    List<ForEachSqlNode> chunked = new ArrayList<>();\n");
+    method.append("    SqlNode root = ").append(generateMixedSqlNode(node)).append(";\n");
+    if (dynamic) {
+      method.append("    return dynamic(c, root, chunked);\n");
+    } else {
+      method.append("    return raw(c, root, parameterType);\n");
+    }
+    return method.toString();
+  }
+
+  /**
+   * Mirrors {@link org.apache.ibatis.scripting.xmltags.XMLScriptBuilder#parseDynamicTags(XNode)}.
+   */
+  private String generateMixedSqlNode(Node node) {
+    List<String> contents = new ArrayList<>();
+    NodeList children = node.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      Node child = children.item(i);
+      if (child.getNodeType() == Node.CDATA_SECTION_NODE || child.getNodeType() == Node.TEXT_NODE) {
+        contents.add("new StaticTextSqlNode(" + literal(((CharacterData) child).getData()) + ")");
+      } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+        contents.add(generateSqlNode(child));
+      }
+    }
+    return "mixed(" + String.join(", ", contents) + ")";
+  }
+
+  private String generateSqlNode(Node node) {
+    switch (node.getNodeName()) {
+      case "trim":
+        return "new TrimSqlNode(c, " + generateMixedSqlNode(node) + ", " + attributeLiteral(node, "prefix") + ", "
+            + attributeLiteral(node, "prefixOverrides") + ", " + attributeLiteral(node, "suffix") + ", "
+            + attributeLiteral(node, "suffixOverrides") + ")";
+      case "where":
+        return "new WhereSqlNode(c, " + generateMixedSqlNode(node) + ")";
+      case "set":
+        return "new SetSqlNode(c, " + generateMixedSqlNode(node) + ")";
+      case "foreach":
+        String chunkSize = attribute(node, "chunkSize");
+        String forEach = "new ForEachSqlNode(c, " + generateMixedSqlNode(node) + ", " + attributeLiteral(node, "collection") + ", "
+            + attributeLiteral(node, "index") + ", " + attributeLiteral(node, "item") + ", " + attributeLiteral(node, "open") + ", "
+            + attributeLiteral(node, "close") + ", " + attributeLiteral(node, "separator") + ", "
+            + Boolean.valueOf(attribute(node, "bindAsArray")) + ", " + Boolean.valueOf(attribute(node, "padding")) + ", "
+            + (chunkSize == null ? 0 : Integer.parseInt(chunkSize)) + ")";
+        return chunkSize == null || Integer.parseInt(chunkSize) <= 0 ? forEach : "chunked(chunked, " + forEach + ")";
+      case "if":
+      case "when":
+        return "new IfSqlNode(" + generateMixedSqlNode(node) + ", " + attributeLiteral(node, "test") + ")";
+      case "otherwise":
+        return generateMixedSqlNode(node);
+      case "choose":
+        List<String> whenSqlNodes = new ArrayList<>();
+        String defaultSqlNode = null;
+        for (Node child : childElements(node, null)) {
+          String name = child.getNodeName();
+          if (name.equals("if") || name.equals("when")) {
+            whenSqlNodes.add(generateSqlNode(child));
+          } else if (name.equals("otherwise")) {
+            if (defaultSqlNode != null) {
+              throw new BuilderException("Too many default (otherwise) elements in choose statement.");
+            }
+            defaultSqlNode = generateSqlNode(child);
+          }
+        }
+        return "new ChooseSqlNode(Arrays.<SqlNode>asList(" + String.join(", ", whenSqlNodes) + "), " + defaultSqlNode + ")";
+      case "bind":
+        return "new VarDeclSqlNode(" + attributeLiteral(node, "name") + ", " + attributeLiteral(node, "value") + ")";
+      default:
+        throw new BuilderException("Unknown element <" + node.getNodeName() + "> in SQL statement.");
+    }
+  }
+
+  /**
+   * Checks that the fragments included by the node do not depend on the database id or on variables.
+   */
+  private boolean hasStaticIncludes(Node node, MapperBuilderAssistant builderAssistant, Set<String> visited, Set<String> resources) {
+    if (node.getNodeName().equals("include")) {
+      String refid = attribute(node, "refid");
+      if (refid == null || refid.contains("${")) {
+        return false;
+      }
+      refid = builderAssistant.applyCurrentNamespace(refid, true);
+      if (databaseSpecificFragments.contains(refid) || !configuration.getSqlFragments().containsKey(refid) || !visited.add(refid)) {
+        return false;
+      }
+      resources.add(fragmentResources.get(refid));
+      boolean result = hasStaticIncludes(configuration.getSqlFragments().get(refid).getNode(), builderAssistant, visited, resources);
+      visited.remove(refid);
+      return result;
+    }
+    NodeList children = node.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      if (!hasStaticIncludes(children.item(i), builderAssistant, visited, resources)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean containsPlaceholder(Node node) {
+    if (node.getNodeType() == Node.CDATA_SECTION_NODE || node.getNodeType() == Node.TEXT_NODE) {
+      return ((CharacterData) node).getData().contains("${");
+    }
+    if (node.getAttributes() != null) {
+      for (int i = 0; i < node.getAttributes().getLength(); i++) {
+        if (node.getAttributes().item(i).getNodeValue().contains("${")) {
+          return true;
+        }
+      }
+    }
+    NodeList children = node.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      if (containsPlaceholder(children.item(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<Node> childElements(Node node, String name) {
+    List<Node> elements = new ArrayList<>();
+    NodeList children = node.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      Node child = children.item(i);
+      if (child.getNodeType() == Node.ELEMENT_NODE && (name == null || name.equals(child.getNodeName()))) {
+        elements.add(child);
+      }
+    }
+    return elements;
+  }
+
+  private static String attribute(Node node, String name) {
+    Node attribute = node.getAttributes().getNamedItem(name);
+    return attribute == null ? null : attribute.getNodeValue();
+  }
+
+  private static String attributeLiteral(Node node, String name) {
+    return literal(attribute(node, name));
+  }
+
+  private static String key(String id, String databaseId) {
+    return databaseId == null ? id : id + "@" + databaseId;
+  }
+
+  private static boolean isJavaClassName(String className) {
+    for (String identifier : className.split("\\.", -1)) {
+      if (identifier.isEmpty() || !Character.isJavaIdentifierStart(identifier.charAt(0))) {
+        return false;
+      }
+      for (int i = 1; i < identifier.length(); i++) {
+        if (!Character.isJavaIdentifierPart(identifier.charAt(i))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static String literal(String value) {
+    if (value == null) {
+      return "null";
+    }
+    StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          literal.append("\\\"");
+          break;
+        case '\\':
+          literal.append("\\\\");
+          break;
+        case '\n':
+          literal.append("\\n");
+          break;
+        case '\r':
+          literal.append("\\r");
+          break;
+        case '\t':
+          literal.append("\\t");
+          break;
+        default:
+          if (c < ' ' || c > '~') {
+            literal.append(String.format("\\u%04x", (int) c));
+          } else {
+            literal.append(c);
+          }
+      }
+    }
+    return literal.append('"').toString();
+  }
+
+}
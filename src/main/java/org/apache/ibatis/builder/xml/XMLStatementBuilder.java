@@ -31,6 +31,8 @@ import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.parsing.XNode;
 import org.apache.ibatis.scripting.LanguageDriver;
+import org.apache.ibatis.scripting.xmltags.CompiledSqlSources;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -41,16 +43,29 @@ public class XMLStatementBuilder extends BaseBuilder {
   private final MapperBuilderAssistant builderAssistant;
   private final XNode context;
   private final String requiredDatabaseId;
+  private final CompiledSqlSources compiledSqlSources;
+  private boolean includesApplied;
+  private boolean compiled;
 
   public XMLStatementBuilder(Configuration configuration, MapperBuilderAssistant builderAssistant, XNode context) {
     this(configuration, builderAssistant, context, null);
   }
 
   public XMLStatementBuilder(Configuration configuration, MapperBuilderAssistant builderAssistant, XNode context, String databaseId) {
+    this(configuration, builderAssistant, context, databaseId, null);
+  }
+
+  /**
+   * @param compiledSqlSources the SQL sources generated from the unchanged mapper XML, or null
+   * @since 3.5.1
+   */
+  public XMLStatementBuilder(Configuration configuration, MapperBuilderAssistant builderAssistant, XNode context, String databaseId,
+      CompiledSqlSources compiledSqlSources) {
     super(configuration);
     this.builderAssistant = builderAssistant;
     this.context = context;
     this.requiredDatabaseId = databaseId;
+    this.compiledSqlSources = compiledSqlSources;
   }
 
   public void parseStatementNode() {
@@ -68,16 +83,19 @@ public class XMLStatementBuilder extends BaseBuilder {
     boolean useCache = context.getBooleanAttribute("useCache", isSelect);
     boolean resultOrdered = context.getBooleanAttribute("resultOrdered", false);
 
-    // Include Fragments before parsing
-    XMLIncludeTransformer includeParser = new XMLIncludeTransformer(configuration, builderAssistant);
-    includeParser.applyIncludes(context.getNode());
-
     String parameterType = context.getStringAttribute("parameterType");
     Class<?> parameterTypeClass = resolveClass(parameterType);
 
     String lang = context.getStringAttribute("lang");
     LanguageDriver langDriver = getLanguageDriver(lang);
 
+    // a compiled statement needs neither its includes nor its dynamic elements to be parsed
+    SqlSource sqlSource = createCompiledSqlSource(id, databaseId, parameterTypeClass, langDriver);
+    if (sqlSource == null) {
+      // Include Fragments before parsing
+      applyIncludes(context);
+    }
+
     // Parse selectKey after includes and remove them.
     processSelectKeyNodes(id, parameterTypeClass, langDriver);
 
@@ -93,7 +111,9 @@ public class XMLStatementBuilder extends BaseBuilder {
           ? Jdbc3KeyGenerator.INSTANCE : NoKeyGenerator.INSTANCE;
     }
 
-    SqlSource sqlSource = langDriver.createSqlSource(configuration, context, parameterTypeClass);
+    if (sqlSource == null) {
+      sqlSource = langDriver.createSqlSource(configuration, context, parameterTypeClass);
+    }
     StatementType statementType = StatementType.valueOf(context.getStringAttribute("statementType", StatementType.PREPARED.toString()));
     Integer fetchSize = context.getIntAttribute("fetchSize");
     Integer timeout = context.getIntAttribute("timeout");
@@ -151,7 +171,12 @@ public class XMLStatementBuilder extends BaseBuilder {
     String resultMap = null;
     ResultSetType resultSetTypeEnum = null;
 
-    SqlSource sqlSource = langDriver.createSqlSource(configuration, nodeToHandle, parameterTypeClass);
+    // the select key is compiled along with its statement
+    SqlSource sqlSource = compiled ? compiledSqlSources.createSqlSource(configuration, id, databaseId, parameterTypeClass) : null;
+    if (sqlSource == null) {
+      applyIncludes(nodeToHandle);
+      sqlSource = langDriver.createSqlSource(configuration, nodeToHandle, parameterTypeClass);
+    }
     SqlCommandType sqlCommandType = SqlCommandType.SELECT;
 
     builderAssistant.addMappedStatement(id, sqlSource, statementType, sqlCommandType,
@@ -165,6 +190,23 @@ public class XMLStatementBuilder extends BaseBuilder {
     configuration.addKeyGenerator(id, new SelectKeyGenerator(keyStatement, executeBefore));
   }
 
+  private SqlSource createCompiledSqlSource(String id, String databaseId, Class<?> parameterTypeClass, LanguageDriver langDriver) {
+    if (compiledSqlSources == null || langDriver.getClass() != XMLLanguageDriver.class) {
+      return null;
+    }
+    SqlSource sqlSource = compiledSqlSources.createSqlSource(configuration, id, databaseId, parameterTypeClass);
+    compiled = sqlSource != null;
+    return sqlSource;
+  }
+
+  private void applyIncludes(XNode node) {
+    if (!includesApplied) {
+      XMLIncludeTransformer includeParser = new XMLIncludeTransformer(configuration, builderAssistant);
+      includeParser.applyIncludes(node.getNode());
+      includesApplied = node == context;
+    }
+  }
+
   private void removeSelectKeyNodes(List<XNode> selectKeyNodes) {
     for (XNode nodeToHandle : selectKeyNodes) {
       nodeToHandle.getParent().getNode().removeChild(nodeToHandle.getNode());
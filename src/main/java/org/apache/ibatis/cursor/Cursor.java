@@ -16,6 +16,9 @@
 package org.apache.ibatis.cursor;
 
 import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Cursor contract to handle fetching items lazily using an Iterator.
@@ -43,4 +46,47 @@ public interface Cursor<T> extends Closeable, Iterable<T> {
    * @return -1 if the first cursor item has not been retrieved. The index of the current item retrieved.
    */
   int getCurrentIndex();
+
+  /**
+   * Fetches the next items in one call, mapping them in a single pass over the result set.
+   * The returned list is smaller than {@code size} only when the cursor has been consumed or closed.
+   * Like {@link #iterator()}, fetching shares the position of this cursor, and it can be called any number of times.
+   *
+   * @param size the maximum number of items to fetch, must be positive
+   * @return the fetched items, an empty list when no item is left
+   * @since 3.5.1
+   */
+  List<T> fetch(int size);
+
+  /**
+   * Returns an {@link Iterable} that fetches the remaining items in lists of up to {@code size} items.
+   * Like {@link #iterator()}, chunks share the position of this cursor.
+   *
+   * @param size the maximum number of items in each chunk, must be positive
+   * @return the chunks of remaining items
+   * @since 3.5.1
+   */
+  default Iterable<List<T>> chunks(int size) {
+    return () -> new Iterator<List<T>>() {
+      private List<T> chunk;
+
+      @Override
+      public boolean hasNext() {
+        if (chunk == null) {
+          chunk = fetch(size);
+        }
+        return !chunk.isEmpty();
+      }
+
+      @Override
+      public List<T> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        List<T> next = chunk;
+        chunk = null;
+        return next;
+      }
+    };
+  }
 }
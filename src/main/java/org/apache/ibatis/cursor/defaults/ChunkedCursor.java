@@ -0,0 +1,143 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor.defaults;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import org.apache.ibatis.cursor.Cursor;
+
+/**
+ * A cursor over the results of a statement that is executed once per chunk of a {@code <foreach>} collection.
+ * The cursor of the next chunk is only opened once the cursor of the previous one has been consumed.
+ * This implementation is not thread safe.
+ *
+ * @since 3.5.1
+ */
+public class ChunkedCursor<T> implements Cursor<T> {
+
+  private final Iterator<Supplier<Cursor<T>>> chunkCursors;
+  private final ChunkedIterator chunkedIterator = new ChunkedIterator();
+  private boolean iteratorRetrieved;
+
+  private Cursor<T> cursor;
+  private Iterator<T> cursorIterator;
+  private boolean closed;
+  private boolean consumed;
+  private int currentIndex = -1;
+
+  /**
+   * @param chunkCursors the suppliers opening the cursor of each chunk, in order
+   */
+  public ChunkedCursor(List<Supplier<Cursor<T>>> chunkCursors) {
+    this.chunkCursors = chunkCursors.iterator();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return cursor != null && !closed && !consumed;
+  }
+
+  @Override
+  public boolean isConsumed() {
+    return consumed;
+  }
+
+  @Override
+  public int getCurrentIndex() {
+    return currentIndex;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    if (iteratorRetrieved) {
+      throw new IllegalStateException("Cannot open more than one iterator on a Cursor");
+    }
+    if (closed || consumed) {
+      throw new IllegalStateException("A Cursor is already closed.");
+    }
+    iteratorRetrieved = true;
+    return chunkedIterator;
+  }
+
+  @Override
+  public List<T> fetch(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("The fetch size must be positive but was " + size);
+    }
+    final List<T> items = new ArrayList<>(Math.min(size, DefaultCursor.MAX_INITIAL_CHUNK_CAPACITY));
+    while (items.size() < size && chunkedIterator.hasNext()) {
+      items.add(chunkedIterator.next());
+    }
+    return items;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed || consumed) {
+      return;
+    }
+    closed = true;
+    if (cursor != null) {
+      cursor.close();
+    }
+  }
+
+  /**
+   * Moves to the cursor of the next chunk until one has an item left.
+   */
+  private boolean hasNextItem() {
+    while (cursorIterator == null || !cursorIterator.hasNext()) {
+      if (closed || consumed) {
+        return false;
+      }
+      if (!chunkCursors.hasNext()) {
+        consumed = true;
+        return false;
+      }
+      cursor = chunkCursors.next().get();
+      cursorIterator = cursor.iterator();
+    }
+    return !closed;
+  }
+
+  private class ChunkedIterator implements Iterator<T> {
+
+    @Override
+    public boolean hasNext() {
+      return hasNextItem();
+    }
+
+    @Override
+    public T next() {
+      if (!hasNextItem()) {
+        throw new NoSuchElementException();
+      }
+      currentIndex++;
+      return cursorIterator.next();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("Cannot remove element from Cursor");
+    }
+  }
+
+}
@@ -15,14 +15,28 @@
  */
 package org.apache.ibatis.cursor.defaults;
 
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetWrapper;
+import org.apache.ibatis.executor.statement.StatementUtil;
 import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
@@ -31,6 +45,13 @@ import org.apache.ibatis.session.RowBounds;
 /**
  * This is the default implementation of a MyBatis Cursor.
  * This implementation is not thread safe.
+ * <p>
+ * When created with a positive prefetch size, rows are read and mapped on a shared pool of daemon threads,
+ * up to that many objects ahead of the consumer. The connection is then used by two threads, so the result map
+ * must not use nested selects, which would run through the executor of the session, nor map values that stay
+ * bound to the row or the connection, such as the streams of {@code BlobInputStreamTypeHandler} and
+ * {@code ClobReaderTypeHandler}: the consumer would read them while the result set moves on.
+ * The prefetching stops when the cursor is closed, or when it is no longer referenced.
  *
  * @author Guillaume Darmont / guillaume@dropinocean.com
  */
@@ -41,6 +62,7 @@ public class DefaultCursor<T> implements Cursor<T> {
   private final ResultMap resultMap;
   private final ResultSetWrapper rsw;
   private final RowBounds rowBounds;
+  private final int prefetchSize;
   private final ObjectWrapperResultHandler<T> objectWrapperResultHandler = new ObjectWrapperResultHandler<>();
 
   private final CursorIterator cursorIterator = new CursorIterator();
@@ -48,6 +70,10 @@ public class DefaultCursor<T> implements Cursor<T> {
 
   private CursorStatus status = CursorStatus.CREATED;
   private int indexWithRowBound = -1;
+  private Prefetcher<T> prefetcher;
+
+  private static final Object END_OF_ROWS = new Object();
+  static final int MAX_INITIAL_CHUNK_CAPACITY = 1024;
 
   private enum CursorStatus {
 
@@ -70,10 +96,18 @@ public class DefaultCursor<T> implements Cursor<T> {
   }
 
   public DefaultCursor(DefaultResultSetHandler resultSetHandler, ResultMap resultMap, ResultSetWrapper rsw, RowBounds rowBounds) {
+    this(resultSetHandler, resultMap, rsw, rowBounds, 0);
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public DefaultCursor(DefaultResultSetHandler resultSetHandler, ResultMap resultMap, ResultSetWrapper rsw, RowBounds rowBounds, int prefetchSize) {
     this.resultSetHandler = resultSetHandler;
     this.resultMap = resultMap;
     this.rsw = rsw;
     this.rowBounds = rowBounds;
+    this.prefetchSize = prefetchSize;
   }
 
   @Override
@@ -103,20 +137,58 @@ public class DefaultCursor<T> implements Cursor<T> {
     return cursorIterator;
   }
 
+  @Override
+  public List<T> fetch(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("The fetch size must be positive but was " + size);
+    }
+    if (isClosed() && cursorIterator.object == null) {
+      return Collections.emptyList();
+    }
+    final List<T> chunk = new ArrayList<>(Math.min(size, MAX_INITIAL_CHUNK_CAPACITY));
+    // an item already fetched by hasNext() comes first
+    if (cursorIterator.object != null) {
+      chunk.add(cursorIterator.object);
+      cursorIterator.object = null;
+    }
+    // the offset rows and prefetched rows are read one at a time, the others in a single pass
+    while (chunk.size() < size && !isClosed() && (prefetchSize > 0 || indexWithRowBound + 1 < rowBounds.getOffset())) {
+      T next = fetchNextUsingRowBound();
+      if (next == null) {
+        break;
+      }
+      chunk.add(next);
+    }
+    if (chunk.size() < size && !isClosed()) {
+      fetchChunkFromDatabase(chunk, size - chunk.size());
+    }
+    cursorIterator.iteratorIndex += chunk.size();
+    return chunk;
+  }
+
   @Override
   public void close() {
     if (isClosed()) {
       return;
     }
 
+    if (prefetcher != null) {
+      prefetcher.stop();
+    }
     ResultSet rs = rsw.getResultSet();
+    Statement statement = null;
     try {
       if (rs != null) {
+        statement = rs.getStatement();
         rs.close();
       }
     } catch (SQLException e) {
       // ignore
     } finally {
+      if (statement != null) {
+        // the statement closes on completion, without the executor
+        StatementUtil.closeResources(statement);
+      }
       status = CursorStatus.CLOSED;
     }
   }
@@ -134,29 +206,65 @@ public class DefaultCursor<T> implements Cursor<T> {
       return null;
     }
 
+    status = CursorStatus.OPEN;
+    T next = prefetchSize > 0 ? takePrefetchedObject() : fetchNextRow(objectWrapperResultHandler);
+    if (next != null) {
+      indexWithRowBound++;
+    }
+    // No more object or limit reached
+    if (next == null || getReadItemsCount() == rowBounds.getOffset() + rowBounds.getLimit()) {
+      close();
+      status = CursorStatus.CONSUMED;
+    }
+
+    return next;
+  }
+
+  private void fetchChunkFromDatabase(List<T> chunk, int size) {
+    final int limit = (int) Math.min(size, (long) rowBounds.getOffset() + rowBounds.getLimit() - getReadItemsCount());
+    final ChunkResultHandler<T> chunkResultHandler = new ChunkResultHandler<>(chunk);
     try {
       status = CursorStatus.OPEN;
       if (!rsw.getResultSet().isClosed()) {
-        resultSetHandler.handleRowValues(rsw, resultMap, objectWrapperResultHandler, RowBounds.DEFAULT, null);
+        resultSetHandler.handleRowValues(rsw, resultMap, chunkResultHandler, new RowBounds(0, limit), null);
       }
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
-
-    T next = objectWrapperResultHandler.result;
-    if (next != null) {
-      indexWithRowBound++;
-    }
+    indexWithRowBound += chunkResultHandler.count;
     // No more object or limit reached
-    if (next == null || getReadItemsCount() == rowBounds.getOffset() + rowBounds.getLimit()) {
+    if (chunkResultHandler.count < limit || getReadItemsCount() == rowBounds.getOffset() + rowBounds.getLimit()) {
       close();
       status = CursorStatus.CONSUMED;
     }
-    objectWrapperResultHandler.result = null;
+  }
+
+  private T fetchNextRow(ObjectWrapperResultHandler<T> resultHandler) {
+    return fetchNextRow(resultSetHandler, resultMap, rsw, resultHandler);
+  }
 
+  private static <T> T fetchNextRow(DefaultResultSetHandler resultSetHandler, ResultMap resultMap, ResultSetWrapper rsw,
+      ObjectWrapperResultHandler<T> resultHandler) {
+    try {
+      if (!rsw.getResultSet().isClosed()) {
+        resultSetHandler.handleRowValues(rsw, resultMap, resultHandler, RowBounds.DEFAULT, null);
+      }
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+    T next = resultHandler.result;
+    resultHandler.result = null;
     return next;
   }
 
+  private T takePrefetchedObject() {
+    if (prefetcher == null) {
+      prefetcher = new Prefetcher<>(this);
+      PrefetchThreads.EXECUTOR.execute(prefetcher);
+    }
+    return prefetcher.take();
+  }
+
   private boolean isClosed() {
     return status == CursorStatus.CLOSED || status == CursorStatus.CONSUMED;
   }
@@ -176,6 +284,165 @@ public class DefaultCursor<T> implements Cursor<T> {
     }
   }
 
+  /**
+   * The daemon threads shared by all the prefetching cursors, created on demand and released after a minute idle.
+   */
+  private static class PrefetchThreads {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "mybatis-cursor-prefetch-" + THREAD_COUNT.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Reads and maps rows on a pooled thread and hands them over through a bounded queue.
+   * The task stops at the end of the result set, at the row bounds limit, when the cursor is closed, or when the
+   * cursor is no longer referenced. It only holds the cursor weakly for that purpose.
+   */
+  private static class Prefetcher<T> implements Runnable {
+
+    private final WeakReference<DefaultCursor<T>> cursor;
+    private final DefaultResultSetHandler resultSetHandler;
+    private final ResultMap resultMap;
+    private final ResultSetWrapper rsw;
+    private final long maxRows;
+    private final BlockingQueue<Object> queue;
+    private final ObjectWrapperResultHandler<T> resultHandler = new ObjectWrapperResultHandler<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile boolean stopped;
+    private volatile Throwable failure;
+
+    Prefetcher(DefaultCursor<T> cursor) {
+      this.cursor = new WeakReference<>(cursor);
+      this.resultSetHandler = cursor.resultSetHandler;
+      this.resultMap = cursor.resultMap;
+      this.rsw = cursor.rsw;
+      this.maxRows = (long) cursor.rowBounds.getOffset() + cursor.rowBounds.getLimit();
+      this.queue = new ArrayBlockingQueue<>(cursor.prefetchSize);
+    }
+
+    @Override
+    public void run() {
+      if (!started.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        long rows = 0;
+        while (!stopped && rows < maxRows) {
+          T next = fetchNextRow(resultSetHandler, resultMap, rsw, resultHandler);
+          if (next == null || !put(next)) {
+            break;
+          }
+          rows++;
+        }
+      } catch (Throwable t) {
+        if (!stopped) {
+          failure = t;
+        }
+      } finally {
+        put(END_OF_ROWS);
+        finished.countDown();
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    T take() {
+      final Object next;
+      try {
+        next = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for the next prefetched row.", e);
+      }
+      if (next == END_OF_ROWS) {
+        if (failure instanceof RuntimeException) {
+          throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+          throw (Error) failure;
+        } else if (failure != null) {
+          throw new RuntimeException("Error prefetching the next row. Cause: " + failure, failure);
+        }
+        return null;
+      }
+      return (T) next;
+    }
+
+    /**
+     * Cancels the statement if the task is still reading rows and waits for it to finish,
+     * so the result set is no longer in use when it gets closed.
+     */
+    void stop() {
+      stopped = true;
+      queue.clear();
+      if (started.compareAndSet(false, true)) {
+        // the task has not run yet and never will
+        return;
+      }
+      if (finished.getCount() > 0) {
+        cancelStatement();
+      }
+      boolean interrupted = false;
+      while (finished.getCount() > 0) {
+        try {
+          finished.await();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void cancelStatement() {
+      try {
+        Statement statement = rsw.getResultSet().getStatement();
+        if (statement != null) {
+          statement.cancel();
+        }
+      } catch (SQLException e) {
+        // ignore, the task stops after the row being read
+      }
+    }
+
+    /**
+     * Waits for room in the queue, as long as the cursor is open and still referenced by its consumer.
+     */
+    private boolean put(Object object) {
+      try {
+        while (!queue.offer(object, 100, TimeUnit.MILLISECONDS)) {
+          if (stopped || cursor.get() == null) {
+            return false;
+          }
+        }
+        return true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+  }
+
+  private static class ChunkResultHandler<T> implements ResultHandler<T> {
+
+    private final List<T> chunk;
+    private int count;
+
+    ChunkResultHandler(List<T> chunk) {
+      this.chunk = chunk;
+    }
+
+    @Override
+    public void handleResult(ResultContext<? extends T> context) {
+      chunk.add(context.getResultObject());
+      count++;
+    }
+  }
+
   private class CursorIterator implements Iterator<T> {
 
     /**
@@ -285,6 +285,8 @@ public abstract class BaseExecutor implements Executor {
         statement.close();
       } catch (SQLException e) {
         // ignore
+      } finally {
+        StatementUtil.closeResources(statement);
       }
     }
   }
@@ -0,0 +1,743 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * Read-only, forward-only ResultSet over rows that have already been read from the database,
+ * so that they can be mapped on another thread.
+ * <p>
+ * Only columns whose values are strings, numbers, booleans or JDBC dates and times are buffered, each column
+ * holding values of the class reported by {@link ResultSetMetaData#getColumnClassName(int)}.
+ * The getters only apply the conversions of the JDBC specification between those classes, any other
+ * value has to be converted by the driver, so result sets with other columns are mapped sequentially.
+ * </p>
+ *
+ * @since 3.5.1
+ */
+final class BufferedResultSet extends ReadOnlyResultSet {
+
+  /**
+   * Column types whose values may not be usable once the cursor of the original result set has moved,
+   * or whose conversions depend on the driver.
+   */
+  private static final Set<JdbcType> UNBUFFERABLE_TYPES = EnumSet.of(JdbcType.ARRAY, JdbcType.BLOB, JdbcType.CLOB,
+      JdbcType.NCLOB, JdbcType.STRUCT, JdbcType.SQLXML, JdbcType.DATALINK, JdbcType.CURSOR,
+      JdbcType.BINARY, JdbcType.VARBINARY, JdbcType.LONGVARBINARY,
+      JdbcType.TIME_WITH_TIMEZONE, JdbcType.TIMESTAMP_WITH_TIMEZONE);
+
+  /**
+   * The column classes whose values can be buffered, by name.
+   */
+  private static final Map<String, Class<?>> BUFFERABLE_CLASSES = new HashMap<>();
+
+  static {
+    for (Class<?> type : Arrays.asList(String.class, Boolean.class, Byte.class, Short.class, Integer.class,
+        Long.class, Float.class, Double.class, BigDecimal.class, BigInteger.class, Date.class, Time.class,
+        Timestamp.class)) {
+      BUFFERABLE_CLASSES.put(type.getName(), type);
+    }
+  }
+
+  /**
+   * Java types whose conversion from a column value depends on the driver, so that it cannot be reproduced
+   * from the buffered value.
+   */
+  private static final Set<Class<?>> DRIVER_CONVERTED_TYPES = new HashSet<>(Arrays.asList(
+      OffsetDateTime.class, ZonedDateTime.class, OffsetTime.class));
+
+  private final ResultSetWrapper rsw;
+  private final Map<String, Integer> columnIndexes;
+  private final List<Object[]> rows;
+  private int rowIndex = -1;
+  private Object[] row;
+  private boolean wasNull;
+
+  BufferedResultSet(ResultSetWrapper rsw, Map<String, Integer> columnIndexes, List<Object[]> rows) {
+    this.rsw = rsw;
+    this.columnIndexes = columnIndexes;
+    this.rows = rows;
+  }
+
+  /**
+   * Returns true when all the columns of the result set can be buffered.
+   */
+  static boolean canBuffer(ResultSetWrapper rsw) {
+    for (JdbcType jdbcType : rsw.getJdbcTypes()) {
+      if (jdbcType == null || UNBUFFERABLE_TYPES.contains(jdbcType)) {
+        return false;
+      }
+    }
+    for (String className : rsw.getClassNames()) {
+      if (!BUFFERABLE_CLASSES.containsKey(className)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns true when values of the java type can only be read from the driver itself, with
+   * {@link ResultSet#getObject(int, Class)}.
+   */
+  static boolean isDriverConverted(Class<?> javaType) {
+    return javaType != null && DRIVER_CONVERTED_TYPES.contains(javaType);
+  }
+
+  /**
+   * Returns the classes of the columns of a result set that {@link #canBuffer(ResultSetWrapper) can be buffered}.
+   */
+  static Class<?>[] columnClasses(ResultSetWrapper rsw) {
+    final List<String> classNames = rsw.getClassNames();
+    final Class<?>[] columnClasses = new Class<?>[classNames.size()];
+    for (int i = 0; i < columnClasses.length; i++) {
+      columnClasses[i] = BUFFERABLE_CLASSES.get(classNames.get(i));
+    }
+    return columnClasses;
+  }
+
+  /**
+   * Reads the current row. A value that the driver does not return as an instance of the column class
+   * is read again with the getter of that class, so that the driver converts it.
+   */
+  static Object[] readRow(ResultSet rs, Class<?>[] columnClasses) throws SQLException {
+    final Object[] row = new Object[columnClasses.length];
+    for (int i = 0; i < columnClasses.length; i++) {
+      final Object value = rs.getObject(i + 1);
+      row[i] = value == null || columnClasses[i].isInstance(value) ? value : readValue(rs, i + 1, columnClasses[i]);
+    }
+    return row;
+  }
+
+  private static Object readValue(ResultSet rs, int columnIndex, Class<?> type) throws SQLException {
+    final Object value;
+    if (type == String.class) {
+      value = rs.getString(columnIndex);
+    } else if (type == Boolean.class) {
+      value = rs.getBoolean(columnIndex);
+    } else if (type == Byte.class) {
+      value = rs.getByte(columnIndex);
+    } else if (type == Short.class) {
+      value = rs.getShort(columnIndex);
+    } else if (type == Integer.class) {
+      value = rs.getInt(columnIndex);
+    } else if (type == Long.class) {
+      value = rs.getLong(columnIndex);
+    } else if (type == Float.class) {
+      value = rs.getFloat(columnIndex);
+    } else if (type == Double.class) {
+      value = rs.getDouble(columnIndex);
+    } else if (type == BigDecimal.class) {
+      value = rs.getBigDecimal(columnIndex);
+    } else if (type == BigInteger.class) {
+      final BigDecimal decimal = rs.getBigDecimal(columnIndex);
+      value = decimal == null ? null : decimal.toBigInteger();
+    } else if (type == Date.class) {
+      value = rs.getDate(columnIndex);
+    } else if (type == Time.class) {
+      value = rs.getTime(columnIndex);
+    } else {
+      value = rs.getTimestamp(columnIndex);
+    }
+    return rs.wasNull() ? null : value;
+  }
+
+  /**
+   * Returns the index of each column by label, both as reported by the driver and in upper case.
+   */
+  static Map<String, Integer> columnIndexes(ResultSetWrapper rsw) {
+    final List<String> columnNames = rsw.getColumnNames();
+    final Map<String, Integer> columnIndexes = new HashMap<>();
+    for (int i = columnNames.size(); i > 0; i--) {
+      // the first column wins when labels are duplicated, as in most drivers
+      columnIndexes.put(columnNames.get(i - 1), i);
+      columnIndexes.put(columnNames.get(i - 1).toUpperCase(Locale.ENGLISH), i);
+    }
+    return columnIndexes;
+  }
+
+  @Override
+  public boolean next() {
+    if (++rowIndex < rows.size()) {
+      row = rows.get(rowIndex);
+      return true;
+    }
+    rowIndex = rows.size();
+    row = null;
+    return false;
+  }
+
+  @Override
+  public int getRow() {
+    return row == null ? 0 : rowIndex + 1;
+  }
+
+  @Override
+  public boolean wasNull() {
+    return wasNull;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return false;
+  }
+
+  @Override
+  public void close() {
+    // nothing to release
+  }
+
+  @Override
+  public SQLWarning getWarnings() {
+    return null;
+  }
+
+  @Override
+  public void clearWarnings() {
+    // no warnings
+  }
+
+  @Override
+  public Statement getStatement() {
+    // the rows were not produced by a statement of this thread, as allowed by the JDBC contract
+    return null;
+  }
+
+  @Override
+  public int getType() {
+    return ResultSet.TYPE_FORWARD_ONLY;
+  }
+
+  @Override
+  public int getConcurrency() {
+    return ResultSet.CONCUR_READ_ONLY;
+  }
+
+  @Override
+  public int getFetchDirection() {
+    return ResultSet.FETCH_FORWARD;
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() {
+    final InvocationHandler handler = (proxy, method, params) -> {
+      switch (method.getName()) {
+        case "getColumnCount":
+          return rsw.getColumnNames().size();
+        case "getColumnLabel":
+        case "getColumnName":
+          return rsw.getColumnNames().get((Integer) params[0] - 1);
+        case "getColumnType":
+          return rsw.getJdbcTypes().get((Integer) params[0] - 1).TYPE_CODE;
+        case "getColumnClassName":
+          return rsw.getClassNames().get((Integer) params[0] - 1);
+        default:
+          if (Object.class.equals(method.getDeclaringClass())) {
+            return method.invoke(this, params);
+          }
+          throw new SQLFeatureNotSupportedException("ResultSetMetaData." + method.getName() + " is not supported on buffered rows");
+      }
+    };
+    ClassLoader cl = ResultSetMetaData.class.getClassLoader();
+    return (ResultSetMetaData) Proxy.newProxyInstance(cl, new Class[]{ResultSetMetaData.class}, handler);
+  }
+
+  @Override
+  public int findColumn(String columnLabel) throws SQLException {
+    Integer index = columnIndexes.get(columnLabel);
+    if (index == null) {
+      index = columnIndexes.get(columnLabel.toUpperCase(Locale.ENGLISH));
+      if (index == null) {
+        throw new SQLException("Column '" + columnLabel + "' not found.");
+      }
+    }
+    return index;
+  }
+
+  private Object getValue(int columnIndex) throws SQLException {
+    if (row == null) {
+      throw new SQLException("The buffered result set is not positioned on a row.");
+    }
+    if (columnIndex < 1 || columnIndex > row.length) {
+      throw new SQLException("Column index " + columnIndex + " is out of range.");
+    }
+    final Object value = row[columnIndex - 1];
+    wasNull = value == null;
+    return value;
+  }
+
+  @Override
+  public Object getObject(int columnIndex) throws SQLException {
+    return getValue(columnIndex);
+  }
+
+  @Override
+  public Object getObject(String columnLabel) throws SQLException {
+    return getObject(findColumn(columnLabel));
+  }
+
+  @Override
+  public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+    // the type map only applies to user-defined types, which are not buffered
+    return getValue(columnIndex);
+  }
+
+  @Override
+  public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+    return getObject(findColumn(columnLabel), map);
+  }
+
+  @Override
+  public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+    return convert(getValue(columnIndex), type);
+  }
+
+  @Override
+  public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+    return getObject(findColumn(columnLabel), type);
+  }
+
+  @Override
+  public String getString(int columnIndex) throws SQLException {
+    final Object value = getValue(columnIndex);
+    return value == null ? null : value.toString();
+  }
+
+  @Override
+  public String getString(String columnLabel) throws SQLException {
+    return getString(findColumn(columnLabel));
+  }
+
+  @Override
+  public String getNString(int columnIndex) throws SQLException {
+    return getString(columnIndex);
+  }
+
+  @Override
+  public String getNString(String columnLabel) throws SQLException {
+    return getString(findColumn(columnLabel));
+  }
+
+  @Override
+  public boolean getBoolean(int columnIndex) throws SQLException {
+    final Object value = getValue(columnIndex);
+    return value != null && toBoolean(value);
+  }
+
+  @Override
+  public boolean getBoolean(String columnLabel) throws SQLException {
+    return getBoolean(findColumn(columnLabel));
+  }
+
+  @Override
+  public byte getByte(int columnIndex) throws SQLException {
+    final Object value = getValue(columnIndex);
+    return value == null ? 0 : toNumber(value).byteValue();
+  }
+
+  @Override
+  public byte getByte(String columnLabel) throws SQLException {
+    return getByte(findColumn(columnLabel));
+  }
+
+  @Override
+  public short getShort(int columnIndex) throws SQLException {
+    final Object value = getValue(columnIndex);
+    return value == null ? 0 : toNumber(value).shortValue();
+  }
+
+  @Override
+  public short getShort(String columnLabel) throws SQLException {
+    return getShort(findColumn(columnLabel));
+  }
+
+  @Override
+  public int getInt(int columnIndex) throws SQLException {
+    final Object value = getValue(columnIndex);
+    return value == null ? 0 : toNumber(value).intValue();
+  }
+
+  @Override
+  public int getInt(String columnLabel) throws SQLException {
+    return getInt(findColumn(columnLabel));
+  }
+
+  @Override
+  public long getLong(int columnIndex) throws SQLException {
+    final Object value = getValue(columnIndex);
+    return value == null ? 0L : toNumber(value).longValue();
+  }
+
+  @Override
+  public long getLong(String columnLabel) throws SQLException {
+    return getLong(findColumn(columnLabel));
+  }
+
+  @Override
+  public float getFloat(int columnIndex) throws SQLException {
+    final Object value = getValue(columnIndex);
+    return value == null ? 0f : toNumber(value).floatValue();
+  }
+
+  @Override
+  public float getFloat(String columnLabel) throws SQLException {
+    return getFloat(findColumn(columnLabel));
+  }
+
+  @Override
+  public double getDouble(int columnIndex) throws SQLException {
+    final Object value = getValue(columnIndex);
+    return value == null ? 0d : toNumber(value).doubleValue();
+  }
+
+  @Override
+  public double getDouble(String columnLabel) throws SQLException {
+    return getDouble(findColumn(columnLabel));
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+    final Object value = getValue(columnIndex);
+    return value == null ? null : toBigDecimal(value);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+    return getBigDecimal(findColumn(columnLabel));
+  }
+
+  @Override
+  @Deprecated
+  public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+    final BigDecimal value = getBigDecimal(columnIndex);
+    return value == null ? null : value.setScale(scale, RoundingMode.HALF_UP);
+  }
+
+  @Override
+  @Deprecated
+  public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+    return getBigDecimal(findColumn(columnLabel), scale);
+  }
+
+  @Override
+  public byte[] getBytes(int columnIndex) throws SQLException {
+    return convert(getValue(columnIndex), byte[].class);
+  }
+
+  @Override
+  public byte[] getBytes(String columnLabel) throws SQLException {
+    return getBytes(findColumn(columnLabel));
+  }
+
+  @Override
+  public InputStream getBinaryStream(int columnIndex) throws SQLException {
+    final byte[] value = getBytes(columnIndex);
+    return value == null ? null : new ByteArrayInputStream(value);
+  }
+
+  @Override
+  public InputStream getBinaryStream(String columnLabel) throws SQLException {
+    return getBinaryStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public Blob getBlob(int columnIndex) throws SQLException {
+    final byte[] value = getBytes(columnIndex);
+    return value == null ? null : new SerialBlob(value);
+  }
+
+  @Override
+  public Blob getBlob(String columnLabel) throws SQLException {
+    return getBlob(findColumn(columnLabel));
+  }
+
+  @Override
+  public Reader getCharacterStream(int columnIndex) throws SQLException {
+    final String value = getString(columnIndex);
+    return value == null ? null : new StringReader(value);
+  }
+
+  @Override
+  public Reader getCharacterStream(String columnLabel) throws SQLException {
+    return getCharacterStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public Reader getNCharacterStream(int columnIndex) throws SQLException {
+    return getCharacterStream(columnIndex);
+  }
+
+  @Override
+  public Reader getNCharacterStream(String columnLabel) throws SQLException {
+    return getCharacterStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public Clob getClob(int columnIndex) throws SQLException {
+    final String value = getString(columnIndex);
+    return value == null ? null : new SerialClob(value.toCharArray());
+  }
+
+  @Override
+  public Clob getClob(String columnLabel) throws SQLException {
+    return getClob(findColumn(columnLabel));
+  }
+
+  @Override
+  public Date getDate(int columnIndex) throws SQLException {
+    return convert(getValue(columnIndex), Date.class);
+  }
+
+  @Override
+  public Date getDate(String columnLabel) throws SQLException {
+    return getDate(findColumn(columnLabel));
+  }
+
+  @Override
+  public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+    final Date date = getDate(columnIndex);
+    if (date == null || cal == null) {
+      return date;
+    }
+    return new Date(toMillis(date.toLocalDate().atStartOfDay(), cal));
+  }
+
+  @Override
+  public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+    return getDate(findColumn(columnLabel), cal);
+  }
+
+  @Override
+  public Time getTime(int columnIndex) throws SQLException {
+    return convert(getValue(columnIndex), Time.class);
+  }
+
+  @Override
+  public Time getTime(String columnLabel) throws SQLException {
+    return getTime(findColumn(columnLabel));
+  }
+
+  @Override
+  public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+    final Time time = getTime(columnIndex);
+    if (time == null || cal == null) {
+      return time;
+    }
+    return new Time(toMillis(LocalDate.of(1970, 1, 1).atTime(time.toLocalTime()), cal));
+  }
+
+  @Override
+  public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+    return getTime(findColumn(columnLabel), cal);
+  }
+
+  @Override
+  public Timestamp getTimestamp(int columnIndex) throws SQLException {
+    return convert(getValue(columnIndex), Timestamp.class);
+  }
+
+  @Override
+  public Timestamp getTimestamp(String columnLabel) throws SQLException {
+    return getTimestamp(findColumn(columnLabel));
+  }
+
+  @Override
+  public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+    final Timestamp timestamp = getTimestamp(columnIndex);
+    if (timestamp == null || cal == null) {
+      return timestamp;
+    }
+    final Timestamp converted = new Timestamp(toMillis(timestamp.toLocalDateTime(), cal));
+    converted.setNanos(timestamp.getNanos());
+    return converted;
+  }
+
+  @Override
+  public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+    return getTimestamp(findColumn(columnLabel), cal);
+  }
+
+  /**
+   * Interprets the date and time read with the default time zone in the time zone of the calendar,
+   * as {@link ResultSet#getTimestamp(int, Calendar)} does.
+   */
+  private static long toMillis(LocalDateTime dateTime, Calendar calendar) {
+    final Calendar cal = (Calendar) calendar.clone();
+    cal.clear();
+    cal.set(dateTime.getYear(), dateTime.getMonthValue() - 1, dateTime.getDayOfMonth(),
+        dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond());
+    cal.set(Calendar.MILLISECOND, dateTime.getNano() / 1_000_000);
+    return cal.getTimeInMillis();
+  }
+
+  private static boolean toBoolean(Object value) {
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    if (value instanceof Number) {
+      return ((Number) value).intValue() != 0;
+    }
+    final String string = value.toString().trim();
+    return "1".equals(string) || "true".equalsIgnoreCase(string);
+  }
+
+  private static Number toNumber(Object value) throws SQLException {
+    if (value instanceof Number) {
+      return (Number) value;
+    }
+    if (value instanceof Boolean) {
+      return (Boolean) value ? 1 : 0;
+    }
+    return toBigDecimal(value);
+  }
+
+  private static BigDecimal toBigDecimal(Object value) throws SQLException {
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    if (value instanceof BigInteger) {
+      return new BigDecimal((BigInteger) value);
+    }
+    if (value instanceof java.util.Date) {
+      throw cannotConvert(value, BigDecimal.class);
+    }
+    try {
+      return new BigDecimal(value instanceof Boolean ? ((Boolean) value ? "1" : "0") : value.toString().trim());
+    } catch (NumberFormatException e) {
+      throw new SQLException("Cannot convert value '" + value + "' to a number.", e);
+    }
+  }
+
+  /**
+   * Applies the conversions of the JDBC specification between the buffered classes,
+   * and from dates and times to the java.time types of JDBC 4.2.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T convert(Object value, Class<T> type) throws SQLException {
+    if (value == null || type.isInstance(value)) {
+      return (T) value;
+    }
+    final Object converted;
+    if (type == String.class) {
+      converted = value.toString();
+    } else if (value instanceof Timestamp) {
+      converted = convertTimestamp((Timestamp) value, type);
+    } else if (value instanceof Date && type == Timestamp.class) {
+      converted = Timestamp.valueOf(((Date) value).toLocalDate().atStartOfDay());
+    } else if (value instanceof Date && type == LocalDate.class) {
+      converted = ((Date) value).toLocalDate();
+    } else if (value instanceof Time && type == Timestamp.class) {
+      converted = Timestamp.valueOf(LocalDate.of(1970, 1, 1).atTime(((Time) value).toLocalTime()));
+    } else if (value instanceof Time && type == LocalTime.class) {
+      converted = ((Time) value).toLocalTime();
+    } else if (!(value instanceof java.util.Date)
+        && (Number.class.isAssignableFrom(type) || type == Boolean.class)) {
+      converted = convertSimpleValue(value, type);
+    } else {
+      converted = null;
+    }
+    if (converted == null) {
+      throw cannotConvert(value, type);
+    }
+    return (T) converted;
+  }
+
+  private static Object convertTimestamp(Timestamp value, Class<?> type) {
+    if (type == Date.class) {
+      return Date.valueOf(value.toLocalDateTime().toLocalDate());
+    } else if (type == Time.class) {
+      return Time.valueOf(value.toLocalDateTime().toLocalTime());
+    } else if (type == LocalDateTime.class) {
+      return value.toLocalDateTime();
+    } else if (type == LocalDate.class) {
+      return value.toLocalDateTime().toLocalDate();
+    } else if (type == LocalTime.class) {
+      return value.toLocalDateTime().toLocalTime();
+    } else if (type == Instant.class) {
+      return value.toInstant();
+    }
+    return null;
+  }
+
+  private static Object convertSimpleValue(Object value, Class<?> type) throws SQLException {
+    if (type == Boolean.class) {
+      return toBoolean(value);
+    } else if (type == Byte.class) {
+      return toNumber(value).byteValue();
+    } else if (type == Short.class) {
+      return toNumber(value).shortValue();
+    } else if (type == Integer.class) {
+      return toNumber(value).intValue();
+    } else if (type == Long.class) {
+      return toNumber(value).longValue();
+    } else if (type == Float.class) {
+      return toNumber(value).floatValue();
+    } else if (type == Double.class) {
+      return toNumber(value).doubleValue();
+    } else if (type == BigDecimal.class) {
+      return toBigDecimal(value);
+    } else if (type == BigInteger.class) {
+      return toBigDecimal(value).toBigInteger();
+    }
+    return null;
+  }
+
+  private static SQLException cannotConvert(Object value, Class<?> type) {
+    return new SQLException("Cannot convert value of type " + value.getClass().getName() + " to " + type.getName() + ".");
+  }
+
+}
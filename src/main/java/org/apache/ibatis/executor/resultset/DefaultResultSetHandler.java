@@ -15,18 +15,31 @@
  */
 package org.apache.ibatis.executor.resultset;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.sql.Blob;
 import java.sql.CallableStatement;
+import java.sql.Clob;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLXML;
 import java.sql.Statement;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.ibatis.annotations.AutomapConstructor;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
@@ -61,6 +74,7 @@ import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
+import org.apache.ibatis.type.TypeReference;
 
 /**
  * @author Clinton Begin
@@ -71,6 +85,10 @@ import org.apache.ibatis.type.TypeHandlerRegistry;
 public class DefaultResultSetHandler implements ResultSetHandler {
 
   private static final Object DEFERRED = new Object();
+  private static final int PARALLEL_MAPPING_BATCH_SIZE = 256;
+  private static final Class<?>[] ROW_BOUND_TYPES = {
+      InputStream.class, Reader.class, Blob.class, Clob.class, SQLXML.class};
+  private static final Set<JdbcType> LOB_JDBC_TYPES = EnumSet.of(JdbcType.BLOB, JdbcType.CLOB, JdbcType.NCLOB, JdbcType.SQLXML);
 
   private final Executor executor;
   private final Configuration configuration;
@@ -95,6 +113,13 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   // Cached Automappings
   private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
 
+  // Cached unboxed property mappings by result map and column prefix, indexed like ResultMap#getPropertyResultMappings()
+  private final Map<ResultMap, Map<String, PrimitivePropertyMapping[]>> primitiveMappingsCache = new HashMap<>();
+
+  // Constructors chosen for automatic constructor mapping, by result type, for the rows of one result set
+  private final Map<Class<?>, Constructor<?>> automappingConstructors = new HashMap<>();
+  private ResultSetWrapper automappingConstructorsResultSet;
+
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
 
@@ -108,12 +133,15 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     private final String property;
     private final TypeHandler<?> typeHandler;
     private final boolean primitive;
+    private final PrimitivePropertyMapping primitiveMapping;
 
-    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive) {
+    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive,
+        PrimitivePropertyMapping primitiveMapping) {
       this.column = column;
       this.property = property;
       this.typeHandler = typeHandler;
       this.primitive = primitive;
+      this.primitiveMapping = primitiveMapping;
     }
   }
 
@@ -193,7 +221,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     while (rsw != null && resultMapCount > resultSetCount) {
       ResultMap resultMap = resultMaps.get(resultSetCount);
       handleResultSet(rsw, resultMap, multipleResults, null);
-      rsw = getNextResultSet(stmt);
+      rsw = getNextResultSet(stmt, resultSetCount + 1);
       cleanUpAfterHandlingResultSet();
       resultSetCount++;
     }
@@ -207,7 +235,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           ResultMap resultMap = configuration.getResultMap(nestedResultMapId);
           handleResultSet(rsw, resultMap, null, parentMapping);
         }
-        rsw = getNextResultSet(stmt);
+        rsw = getNextResultSet(stmt, resultSetCount + 1);
         cleanUpAfterHandlingResultSet();
         resultSetCount++;
       }
@@ -231,7 +259,91 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
 
     ResultMap resultMap = resultMaps.get(0);
-    return new DefaultCursor<>(this, resultMap, rsw, rowBounds);
+    Integer prefetchSize = configuration.getCursorPrefetchSize();
+    if (prefetchSize == null || hasLobColumns(rsw) || preventsPrefetch(resultMap, new HashSet<>())) {
+      prefetchSize = 0;
+    }
+    return new DefaultCursor<>(this, resultMap, rsw, rowBounds, prefetchSize);
+  }
+
+  /**
+   * Returns true when the rows of the result map cannot be read ahead on another thread: nested selects and lazy
+   * loads would share the executor and the connection with the session, and streams and LOBs stay bound to the row
+   * they were read from while the result set moves on.
+   */
+  private boolean preventsPrefetch(ResultMap resultMap, Set<String> visitedResultMapIds) {
+    if (!visitedResultMapIds.add(resultMap.getId())) {
+      return false;
+    }
+    if (resultMap.hasNestedQueries() || mapsRowBoundTypes(resultMap)) {
+      return true;
+    }
+    final Set<String> nestedResultMapIds = new HashSet<>();
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      if (resultMapping.getNestedResultMapId() != null) {
+        nestedResultMapIds.add(resultMapping.getNestedResultMapId());
+      }
+    }
+    if (resultMap.getDiscriminator() != null) {
+      nestedResultMapIds.addAll(resultMap.getDiscriminator().getDiscriminatorMap().values());
+    }
+    for (String nestedResultMapId : nestedResultMapIds) {
+      if (configuration.hasResultMap(nestedResultMapId)
+          && preventsPrefetch(configuration.getResultMap(nestedResultMapId), visitedResultMapIds)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true when the result map may read streams or LOBs, either through its result mappings or through the
+   * properties that auto-mapping could set.
+   */
+  private boolean mapsRowBoundTypes(ResultMap resultMap) {
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      final TypeHandler<?> typeHandler = resultMapping.getTypeHandler();
+      if (isRowBound(resultMapping.getJavaType())
+          || (typeHandler instanceof TypeReference && isRowBound(rawType((TypeReference<?>) typeHandler)))) {
+        return true;
+      }
+    }
+    final Class<?> resultType = resultMap.getType();
+    if (isRowBound(resultType)) {
+      return true;
+    }
+    if (shouldApplyAutomaticMappings(resultMap, false) && !typeHandlerRegistry.hasTypeHandler(resultType)
+        && !Map.class.isAssignableFrom(resultType)) {
+      final MetaClass metaClass = MetaClass.forClass(resultType, reflectorFactory);
+      for (String property : metaClass.getSetterNames()) {
+        if (isRowBound(metaClass.getSetterType(property))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasLobColumns(ResultSetWrapper rsw) {
+    if (rsw != null) {
+      for (JdbcType jdbcType : rsw.getJdbcTypes()) {
+        if (LOB_JDBC_TYPES.contains(jdbcType)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isRowBound(Class<?> javaType) {
+    if (javaType != null) {
+      for (Class<?> rowBoundType : ROW_BOUND_TYPES) {
+        if (rowBoundType.isAssignableFrom(javaType)) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   private ResultSetWrapper getFirstResultSet(Statement stmt) throws SQLException {
@@ -248,10 +360,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         }
       }
     }
-    return rs != null ? new ResultSetWrapper(rs, configuration) : null;
+    return rs != null ? newResultSetWrapper(rs, 0) : null;
   }
 
-  private ResultSetWrapper getNextResultSet(Statement stmt) {
+  private ResultSetWrapper getNextResultSet(Statement stmt, int resultSetIndex) {
     // Making this method tolerant of bad JDBC drivers
     try {
       if (stmt.getConnection().getMetaData().supportsMultipleResultSets()) {
@@ -259,9 +371,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         if (!(!stmt.getMoreResults() && stmt.getUpdateCount() == -1)) {
           ResultSet rs = stmt.getResultSet();
           if (rs == null) {
-            return getNextResultSet(stmt);
+            return getNextResultSet(stmt, resultSetIndex);
           } else {
-            return new ResultSetWrapper(rs, configuration);
+            return newResultSetWrapper(rs, resultSetIndex);
           }
         }
       }
@@ -271,6 +383,13 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return null;
   }
 
+  private ResultSetWrapper newResultSetWrapper(ResultSet rs, int resultSetIndex) throws SQLException {
+    if (configuration.isResultSetMetaDataCacheEnabled()) {
+      return new ResultSetWrapper(rs, configuration, mappedStatement.getResultSetMetaDataCache(), resultSetIndex);
+    }
+    return new ResultSetWrapper(rs, configuration);
+  }
+
   private void closeResultSet(ResultSet rs) {
     try {
       if (rs != null) {
@@ -299,10 +418,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       } else {
         if (resultHandler == null) {
           DefaultResultHandler defaultResultHandler = new DefaultResultHandler(objectFactory);
-          handleRowValues(rsw, resultMap, defaultResultHandler, rowBounds, null);
+          handleTopLevelRowValues(rsw, resultMap, defaultResultHandler);
           multipleResults.add(defaultResultHandler.getResultList());
         } else {
-          handleRowValues(rsw, resultMap, resultHandler, rowBounds, null);
+          handleTopLevelRowValues(rsw, resultMap, resultHandler);
         }
       }
     } finally {
@@ -316,6 +435,14 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return multipleResults.size() == 1 ? (List<Object>) multipleResults.get(0) : multipleResults;
   }
 
+  private void handleTopLevelRowValues(ResultSetWrapper rsw, ResultMap resultMap, ResultHandler<?> resultHandler) throws SQLException {
+    if (canMapRowsInParallel(rsw, resultMap)) {
+      handleRowValuesInParallel(rsw, resultMap, resultHandler);
+    } else {
+      handleRowValues(rsw, resultMap, resultHandler, rowBounds, null);
+    }
+  }
+
   //
   // HANDLE ROWS FOR SIMPLE RESULTMAP
   //
@@ -357,6 +484,145 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  //
+  // HANDLE ROWS FOR SIMPLE RESULTMAP IN PARALLEL
+  //
+
+  private boolean canMapRowsInParallel(ResultSetWrapper rsw, ResultMap resultMap) {
+    return configuration.isParallelResultMappingEnabled()
+        && !resultMap.hasNestedResultMaps()
+        && !resultMap.hasNestedQueries()
+        && resultMap.getDiscriminator() == null
+        && BufferedResultSet.canBuffer(rsw)
+        && !mapsDriverConvertedTypes(resultMap);
+  }
+
+  /**
+   * Returns true when the result map may read values that only the driver can convert, either through
+   * its result mappings or through the properties that auto-mapping could set.
+   */
+  private boolean mapsDriverConvertedTypes(ResultMap resultMap) {
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      final TypeHandler<?> typeHandler = resultMapping.getTypeHandler();
+      if (BufferedResultSet.isDriverConverted(resultMapping.getJavaType())
+          || (typeHandler instanceof TypeReference && BufferedResultSet.isDriverConverted(rawType((TypeReference<?>) typeHandler)))) {
+        return true;
+      }
+    }
+    final Class<?> resultType = resultMap.getType();
+    if (BufferedResultSet.isDriverConverted(resultType)) {
+      return true;
+    }
+    if (shouldApplyAutomaticMappings(resultMap, false) && !typeHandlerRegistry.hasTypeHandler(resultType)
+        && !Map.class.isAssignableFrom(resultType)) {
+      final MetaClass metaClass = MetaClass.forClass(resultType, reflectorFactory);
+      for (String property : metaClass.getSetterNames()) {
+        if (BufferedResultSet.isDriverConverted(metaClass.getSetterType(property))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static Class<?> rawType(TypeReference<?> typeReference) {
+    final Type rawType = typeReference.getRawType();
+    return rawType instanceof Class ? (Class<?>) rawType : null;
+  }
+
+  /**
+   * Reads the rows on the current thread and maps them in batches on the common fork-join pool.
+   * Results are handed to the result handler in row order, on the current thread.
+   */
+  private void handleRowValuesInParallel(ResultSetWrapper rsw, ResultMap resultMap, ResultHandler<?> resultHandler) throws SQLException {
+    final DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
+    final ResultSet resultSet = rsw.getResultSet();
+    final Class<?>[] columnClasses = BufferedResultSet.columnClasses(rsw);
+    final Map<String, Integer> columnIndexes = BufferedResultSet.columnIndexes(rsw);
+    // each worker thread maps with its own handler, as the mapping caches of a handler are not thread safe
+    final Map<Thread, DefaultResultSetHandler> workers = new ConcurrentHashMap<>();
+    final ForkJoinPool pool = ForkJoinPool.commonPool();
+    final int maxPendingBatches = Math.max(2, pool.getParallelism() * 2);
+    final Deque<CompletableFuture<List<Object>>> pendingBatches = new ArrayDeque<>();
+    try {
+      skipRows(resultSet, rowBounds);
+      int readRows = 0;
+      List<Object[]> rows = new ArrayList<>(PARALLEL_MAPPING_BATCH_SIZE);
+      while (shouldProcessMoreRows(resultContext, rowBounds) && readRows < rowBounds.getLimit() && !resultSet.isClosed() && resultSet.next()) {
+        rows.add(BufferedResultSet.readRow(resultSet, columnClasses));
+        readRows++;
+        if (rows.size() == PARALLEL_MAPPING_BATCH_SIZE) {
+          pendingBatches.add(mapBufferedRowsAsync(rsw, resultMap, columnIndexes, rows, workers, pool));
+          rows = new ArrayList<>(PARALLEL_MAPPING_BATCH_SIZE);
+          while (pendingBatches.size() >= maxPendingBatches) {
+            storeMappedBatch(resultHandler, resultContext, pendingBatches.poll());
+          }
+        }
+      }
+      if (!rows.isEmpty()) {
+        pendingBatches.add(mapBufferedRowsAsync(rsw, resultMap, columnIndexes, rows, workers, pool));
+      }
+      while (!pendingBatches.isEmpty()) {
+        storeMappedBatch(resultHandler, resultContext, pendingBatches.poll());
+      }
+    } finally {
+      for (CompletableFuture<List<Object>> pendingBatch : pendingBatches) {
+        pendingBatch.cancel(false);
+      }
+    }
+  }
+
+  private CompletableFuture<List<Object>> mapBufferedRowsAsync(ResultSetWrapper rsw, ResultMap resultMap, Map<String, Integer> columnIndexes,
+      List<Object[]> rows, Map<Thread, DefaultResultSetHandler> workers, ForkJoinPool pool) {
+    final CompletableFuture<List<Object>> batch = new CompletableFuture<>();
+    pool.execute(() -> {
+      if (batch.isDone()) {
+        return;
+      }
+      final DefaultResultSetHandler worker = workers.computeIfAbsent(Thread.currentThread(),
+          k -> new DefaultResultSetHandler(executor, mappedStatement, parameterHandler, resultHandler, boundSql, rowBounds));
+      try {
+        batch.complete(worker.mapBufferedRows(new ResultSetWrapper(rsw, new BufferedResultSet(rsw, columnIndexes, rows)), resultMap));
+      } catch (Throwable t) {
+        batch.completeExceptionally(t);
+      }
+    });
+    return batch;
+  }
+
+  private List<Object> mapBufferedRows(ResultSetWrapper rsw, ResultMap resultMap) throws SQLException {
+    final List<Object> rowValues = new ArrayList<>(PARALLEL_MAPPING_BATCH_SIZE);
+    final ResultSet resultSet = rsw.getResultSet();
+    while (resultSet.next()) {
+      rowValues.add(getRowValue(rsw, resultMap, null));
+    }
+    return rowValues;
+  }
+
+  private void storeMappedBatch(ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext, CompletableFuture<List<Object>> batch)
+      throws SQLException {
+    final List<Object> rowValues;
+    try {
+      rowValues = batch.join();
+    } catch (CompletionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ExecutorException("Error mapping rows in parallel.  Cause: " + cause, cause);
+    }
+    for (Object rowValue : rowValues) {
+      if (!shouldProcessMoreRows(resultContext, rowBounds)) {
+        return;
+      }
+      callResultHandler(resultHandler, resultContext, rowValue);
+    }
+  }
+
   private void storeObject(ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext, Object rowValue, ResultMapping parentMapping, ResultSet rs) throws SQLException {
     if (parentMapping != null) {
       linkToParents(rs, parentMapping, rowValue);
@@ -430,7 +696,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     final List<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
     boolean foundValues = false;
     final List<ResultMapping> propertyMappings = resultMap.getPropertyResultMappings();
-    for (ResultMapping propertyMapping : propertyMappings) {
+    final PrimitivePropertyMapping[] primitiveMappings = getPrimitiveMappings(resultMap, metaObject, columnPrefix);
+    final Object resultObject = metaObject.getOriginalObject();
+    for (int i = 0; i < propertyMappings.size(); i++) {
+      final ResultMapping propertyMapping = propertyMappings.get(i);
       String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
       if (propertyMapping.getNestedResultMapId() != null) {
         // the user added a column attribute to a nested result map, ignore it
@@ -439,7 +708,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (propertyMapping.isCompositeResult()
           || (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH)))
           || propertyMapping.getResultSet() != null) {
-        Object value = getPropertyMappingValue(rsw.getResultSet(), metaObject, propertyMapping, lazyLoader, columnPrefix);
+        final PrimitivePropertyMapping primitiveMapping = primitiveMappings[i];
+        if (primitiveMapping != null && primitiveMapping.isApplicableTo(resultObject)) {
+          foundValues = primitiveMapping.apply(rsw.getResultSet(), resultObject) || foundValues;
+          continue;
+        }
+        Object value = getPropertyMappingValue(rsw, metaObject, propertyMapping, lazyLoader, columnPrefix);
         // issue #541 make property optional
         final String property = propertyMapping.getProperty();
         if (property == null) {
@@ -460,16 +734,37 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return foundValues;
   }
 
-  private Object getPropertyMappingValue(ResultSet rs, MetaObject metaResultObject, ResultMapping propertyMapping, ResultLoaderMap lazyLoader, String columnPrefix)
+  private PrimitivePropertyMapping[] getPrimitiveMappings(ResultMap resultMap, MetaObject metaObject, String columnPrefix) {
+    final Map<String, PrimitivePropertyMapping[]> prefixedMappings = primitiveMappingsCache.computeIfAbsent(resultMap, k -> new HashMap<>());
+    PrimitivePropertyMapping[] primitiveMappings = prefixedMappings.get(columnPrefix);
+    if (primitiveMappings == null) {
+      final List<ResultMapping> propertyMappings = resultMap.getPropertyResultMappings();
+      primitiveMappings = new PrimitivePropertyMapping[propertyMappings.size()];
+      for (int i = 0; i < primitiveMappings.length; i++) {
+        final ResultMapping propertyMapping = propertyMappings.get(i);
+        if (propertyMapping.getProperty() != null && propertyMapping.getColumn() != null
+            && propertyMapping.getNestedQueryId() == null && propertyMapping.getNestedResultMapId() == null
+            && propertyMapping.getResultSet() == null && !propertyMapping.isCompositeResult()) {
+          primitiveMappings[i] = PrimitivePropertyMapping.forProperty(metaObject, propertyMapping.getProperty(),
+              prependPrefix(propertyMapping.getColumn(), columnPrefix), propertyMapping.getTypeHandler());
+        }
+      }
+      prefixedMappings.put(columnPrefix, primitiveMappings);
+    }
+    return primitiveMappings;
+  }
+
+  private Object getPropertyMappingValue(ResultSetWrapper rsw, MetaObject metaResultObject, ResultMapping propertyMapping, ResultLoaderMap lazyLoader, String columnPrefix)
       throws SQLException {
+    final ResultSet rs = rsw.getResultSet();
     if (propertyMapping.getNestedQueryId() != null) {
       return getNestedQueryMappingValue(rs, metaResultObject, propertyMapping, lazyLoader, columnPrefix);
     } else if (propertyMapping.getResultSet() != null) {
       addPendingChildRelation(rs, metaResultObject, propertyMapping);   // TODO is that OK?
       return DEFERRED;
     } else {
-      final TypeHandler<?> typeHandler = propertyMapping.getTypeHandler();
       final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
+      final TypeHandler<?> typeHandler = rsw.getResultTypeHandler(propertyMapping.getTypeHandler(), column);
       return typeHandler.getResult(rs, column);
     }
   }
@@ -499,7 +794,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           final Class<?> propertyType = metaObject.getSetterType(property);
           if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
             final TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
-            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive()));
+            final PrimitivePropertyMapping primitiveMapping = propertyType.isPrimitive()
+                ? PrimitivePropertyMapping.forProperty(metaObject, property, columnName, typeHandler) : null;
+            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive(), primitiveMapping));
           } else {
             configuration.getAutoMappingUnknownColumnBehavior()
                 .doAction(mappedStatement, columnName, property, propertyType);
@@ -518,7 +815,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     List<UnMappedColumnAutoMapping> autoMapping = createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix);
     boolean foundValues = false;
     if (!autoMapping.isEmpty()) {
+      final Object resultObject = metaObject.getOriginalObject();
       for (UnMappedColumnAutoMapping mapping : autoMapping) {
+        if (mapping.primitiveMapping != null && mapping.primitiveMapping.isApplicableTo(resultObject)) {
+          foundValues = mapping.primitiveMapping.apply(rsw.getResultSet(), resultObject) || foundValues;
+          continue;
+        }
         final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
         if (value != null) {
           foundValues = true;
@@ -635,8 +937,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           final ResultMap resultMap = configuration.getResultMap(constructorMapping.getNestedResultMapId());
           value = getRowValue(rsw, resultMap, constructorMapping.getColumnPrefix());
         } else {
-          final TypeHandler<?> typeHandler = constructorMapping.getTypeHandler();
-          value = typeHandler.getResult(rsw.getResultSet(), prependPrefix(column, columnPrefix));
+          final String prefixedColumn = prependPrefix(column, columnPrefix);
+          final TypeHandler<?> typeHandler = rsw.getResultTypeHandler(constructorMapping.getTypeHandler(), prefixedColumn);
+          value = typeHandler.getResult(rsw.getResultSet(), prefixedColumn);
         }
       } catch (ResultMapException | SQLException e) {
         throw new ExecutorException("Could not process result for mapping: " + constructorMapping, e);
@@ -650,14 +953,28 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private Object createByConstructorSignature(ResultSetWrapper rsw, Class<?> resultType, List<Class<?>> constructorArgTypes, List<Object> constructorArgs,
                                               String columnPrefix) throws SQLException {
+    if (automappingConstructorsResultSet != rsw) {
+      // the constructor depends on the columns, so it is only kept for the rows of the same result set
+      automappingConstructors.clear();
+      automappingConstructorsResultSet = rsw;
+    }
+    Constructor<?> constructor = automappingConstructors.get(resultType);
+    if (constructor == null) {
+      constructor = findAutomappingConstructor(rsw, resultType);
+      automappingConstructors.put(resultType, constructor);
+    }
+    return createUsingConstructor(rsw, resultType, constructorArgTypes, constructorArgs, columnPrefix, constructor);
+  }
+
+  private Constructor<?> findAutomappingConstructor(ResultSetWrapper rsw, Class<?> resultType) {
     final Constructor<?>[] constructors = resultType.getDeclaredConstructors();
     final Constructor<?> defaultConstructor = findDefaultConstructor(constructors);
     if (defaultConstructor != null) {
-      return createUsingConstructor(rsw, resultType, constructorArgTypes, constructorArgs, columnPrefix, defaultConstructor);
+      return defaultConstructor;
     } else {
       for (Constructor<?> constructor : constructors) {
         if (allowedConstructorUsingTypeHandlers(constructor, rsw.getJdbcTypes())) {
-          return createUsingConstructor(rsw, resultType, constructorArgTypes, constructorArgs, columnPrefix, constructor);
+          return constructor;
         }
       }
     }
@@ -666,8 +983,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private Object createUsingConstructor(ResultSetWrapper rsw, Class<?> resultType, List<Class<?>> constructorArgTypes, List<Object> constructorArgs, String columnPrefix, Constructor<?> constructor) throws SQLException {
     boolean foundValues = false;
-    for (int i = 0; i < constructor.getParameterTypes().length; i++) {
-      Class<?> parameterType = constructor.getParameterTypes()[i];
+    final Class<?>[] parameterTypes = constructor.getParameterTypes();
+    for (int i = 0; i < parameterTypes.length; i++) {
+      Class<?> parameterType = parameterTypes[i];
       String columnName = rsw.getColumnNames().get(i);
       TypeHandler<?> typeHandler = rsw.getTypeHandler(parameterType, columnName);
       Object value = typeHandler.getResult(rsw.getResultSet(), prependPrefix(columnName, columnPrefix));
@@ -1057,10 +1375,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
             prependPrefix(resultMapping.getColumnPrefix(), columnPrefix));
       } else if (resultMapping.getNestedQueryId() == null) {
         final String column = prependPrefix(resultMapping.getColumn(), columnPrefix);
-        final TypeHandler<?> th = resultMapping.getTypeHandler();
         List<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
         // Issue #114
         if (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+          final TypeHandler<?> th = rsw.getResultTypeHandler(resultMapping.getTypeHandler(), column);
           final Object value = th.getResult(rsw.getResultSet(), column);
           if (value != null || configuration.isReturnInstanceForEmptyRow()) {
             cacheKey.update(column);
@@ -0,0 +1,173 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.executor.result.ResultMapException;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.invoker.PrimitiveSetInvoker;
+import org.apache.ibatis.reflection.wrapper.BeanWrapper;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Copies a numeric or boolean column into a primitive bean property
+ * without boxing the value in between.
+ *
+ * @since 3.5.1
+ */
+final class PrimitivePropertyMapping {
+
+  private static final Map<Class<?>, Boolean> CONSISTENT_HANDLERS = new ConcurrentHashMap<>();
+
+  private final Class<?> targetType;
+  private final String property;
+  private final String column;
+  private final Class<?> primitiveType;
+  private final PrimitiveTypeHandler typeHandler;
+  private final PrimitiveSetInvoker setInvoker;
+
+  private PrimitivePropertyMapping(Class<?> targetType, String property, String column, PrimitiveTypeHandler typeHandler,
+      PrimitiveSetInvoker setInvoker) {
+    this.targetType = targetType;
+    this.property = property;
+    this.column = column;
+    this.primitiveType = setInvoker.getType();
+    this.typeHandler = typeHandler;
+    this.setInvoker = setInvoker;
+  }
+
+  /**
+   * Returns a mapping if the property is a plain primitive property of a bean
+   * and the type handler can read it as the same primitive type, or {@code null} otherwise.
+   */
+  static PrimitivePropertyMapping forProperty(MetaObject metaObject, String property, String column, TypeHandler<?> typeHandler) {
+    if (!(typeHandler instanceof PrimitiveTypeHandler)
+        || !readsPrimitivesAsObjects((PrimitiveTypeHandler) typeHandler)
+        || !(metaObject.getObjectWrapper() instanceof BeanWrapper)
+        || property.indexOf('.') > -1 || property.indexOf('[') > -1) {
+      return null;
+    }
+    final Class<?> targetType = metaObject.getOriginalObject().getClass();
+    final PrimitiveSetInvoker setInvoker = metaObject.getReflectorFactory().findForClass(targetType).getPrimitiveSetInvoker(property);
+    final PrimitiveTypeHandler primitiveTypeHandler = (PrimitiveTypeHandler) typeHandler;
+    // char has no JDBC getter of its own
+    if (setInvoker == null || setInvoker.getType() != primitiveTypeHandler.getPrimitiveType() || setInvoker.getType() == char.class) {
+      return null;
+    }
+    return new PrimitivePropertyMapping(targetType, property, column, primitiveTypeHandler, setInvoker);
+  }
+
+  /**
+   * Checks that the handler reads a primitive the same way it reads an object, which a subclass of a built-in handler
+   * overriding {@code getResult} or {@code getNullableResult} but not the primitive getter does not.
+   */
+  private static boolean readsPrimitivesAsObjects(PrimitiveTypeHandler typeHandler) {
+    return CONSISTENT_HANDLERS.computeIfAbsent(typeHandler.getClass(), type -> {
+      final String primitiveName = typeHandler.getPrimitiveType().getName();
+      final String primitiveGetterName = "get" + Character.toUpperCase(primitiveName.charAt(0)) + primitiveName.substring(1);
+      final Class<?> primitiveGetterClass = getterClass(type, primitiveGetterName);
+      if (primitiveGetterClass == null) {
+        return false;
+      }
+      for (String getterName : new String[] {"getResult", "getNullableResult"}) {
+        final Class<?> getterClass = getterClass(type, getterName);
+        if (getterClass != null && !getterClass.isAssignableFrom(primitiveGetterClass)) {
+          return false;
+        }
+      }
+      return true;
+    });
+  }
+
+  private static Class<?> getterClass(Class<?> type, String name) {
+    try {
+      return type.getMethod(name, ResultSet.class, String.class).getDeclaringClass();
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  boolean isApplicableTo(Object target) {
+    return target.getClass() == targetType;
+  }
+
+  /**
+   * Reads the column and sets the property.
+   *
+   * @return {@code false} if the column was SQL {@code NULL}, in which case the property is left untouched
+   */
+  boolean apply(ResultSet rs, Object target) {
+    try {
+      if (primitiveType == int.class) {
+        final int value = typeHandler.getInt(rs, column);
+        if (value == 0 && rs.wasNull()) {
+          return false;
+        }
+        setInvoker.setInt(target, value);
+      } else if (primitiveType == long.class) {
+        final long value = typeHandler.getLong(rs, column);
+        if (value == 0L && rs.wasNull()) {
+          return false;
+        }
+        setInvoker.setLong(target, value);
+      } else if (primitiveType == double.class) {
+        final double value = typeHandler.getDouble(rs, column);
+        if (value == 0d && rs.wasNull()) {
+          return false;
+        }
+        setInvoker.setDouble(target, value);
+      } else if (primitiveType == boolean.class) {
+        final boolean value = typeHandler.getBoolean(rs, column);
+        if (!value && rs.wasNull()) {
+          return false;
+        }
+        setInvoker.setBoolean(target, value);
+      } else if (primitiveType == float.class) {
+        final float value = typeHandler.getFloat(rs, column);
+        if (value == 0f && rs.wasNull()) {
+          return false;
+        }
+        setInvoker.setFloat(target, value);
+      } else if (primitiveType == short.class) {
+        final short value = typeHandler.getShort(rs, column);
+        if (value == 0 && rs.wasNull()) {
+          return false;
+        }
+        setInvoker.setShort(target, value);
+      } else {
+        final byte value = typeHandler.getByte(rs, column);
+        if (value == 0 && rs.wasNull()) {
+          return false;
+        }
+        setInvoker.setByte(target, value);
+      }
+      return true;
+    } catch (InvocationTargetException e) {
+      Throwable cause = ExceptionUtil.unwrapThrowable(e);
+      throw new ReflectionException("Could not set property '" + property + "' of '" + targetType + "'. Cause: " + cause, cause);
+    } catch (Exception e) {
+      throw new ResultMapException("Error attempting to get column '" + column + "' from result set.  Cause: " + e, e);
+    }
+  }
+
+}
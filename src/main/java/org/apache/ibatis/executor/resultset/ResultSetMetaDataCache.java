@@ -0,0 +1,101 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Keeps the column metadata of the result sets returned by one mapped statement,
+ * so that later executions only have to compare the column labels instead of
+ * reading the JDBC type and class name of every column again.
+ *
+ * @since 3.5.1
+ */
+public class ResultSetMetaDataCache {
+
+  private final Map<Integer, ColumnMetaData> columnMetaDataMap = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the cached column metadata of the n-th result set if it still matches the given metadata,
+   * otherwise reads the metadata and replaces the cached entry.
+   */
+  ColumnMetaData getColumnMetaData(int resultSetIndex, ResultSetMetaData metaData, boolean useColumnLabel) throws SQLException {
+    ColumnMetaData columnMetaData = columnMetaDataMap.get(resultSetIndex);
+    if (columnMetaData == null || !columnMetaData.matches(metaData, useColumnLabel)) {
+      columnMetaData = new ColumnMetaData(metaData, useColumnLabel);
+      columnMetaDataMap.put(resultSetIndex, columnMetaData);
+    }
+    return columnMetaData;
+  }
+
+  public int getSize() {
+    return columnMetaDataMap.size();
+  }
+
+  public void clear() {
+    columnMetaDataMap.clear();
+  }
+
+  static class ColumnMetaData {
+
+    final List<String> columnNames;
+    final List<String> classNames;
+    final List<JdbcType> jdbcTypes;
+    final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap = new ConcurrentHashMap<>();
+    final Map<String, List<String>> mappedColumnNamesMap = new ConcurrentHashMap<>();
+    final Map<String, List<String>> unMappedColumnNamesMap = new ConcurrentHashMap<>();
+
+    ColumnMetaData(ResultSetMetaData metaData, boolean useColumnLabel) throws SQLException {
+      final int columnCount = metaData.getColumnCount();
+      final List<String> columnNames = new ArrayList<>(columnCount);
+      final List<String> classNames = new ArrayList<>(columnCount);
+      final List<JdbcType> jdbcTypes = new ArrayList<>(columnCount);
+      for (int i = 1; i <= columnCount; i++) {
+        columnNames.add(useColumnLabel ? metaData.getColumnLabel(i) : metaData.getColumnName(i));
+        jdbcTypes.add(JdbcType.forCode(metaData.getColumnType(i)));
+        classNames.add(metaData.getColumnClassName(i));
+      }
+      this.columnNames = Collections.unmodifiableList(columnNames);
+      this.classNames = Collections.unmodifiableList(classNames);
+      this.jdbcTypes = Collections.unmodifiableList(jdbcTypes);
+    }
+
+    boolean matches(ResultSetMetaData metaData, boolean useColumnLabel) throws SQLException {
+      final int columnCount = metaData.getColumnCount();
+      if (columnCount != columnNames.size()) {
+        return false;
+      }
+      // labels are compared one at a time so that a mismatch stops the metadata calls early
+      for (int i = 1; i <= columnCount; i++) {
+        final String columnName = useColumnLabel ? metaData.getColumnLabel(i) : metaData.getColumnName(i);
+        if (!columnNames.get(i - 1).equals(columnName)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+}
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.session.Configuration;
@@ -42,17 +43,24 @@ public class ResultSetWrapper {
 
   private final ResultSet resultSet;
   private final TypeHandlerRegistry typeHandlerRegistry;
-  private final List<String> columnNames = new ArrayList<>();
-  private final List<String> classNames = new ArrayList<>();
-  private final List<JdbcType> jdbcTypes = new ArrayList<>();
-  private final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap = new HashMap<>();
-  private final Map<String, List<String>> mappedColumnNamesMap = new HashMap<>();
-  private final Map<String, List<String>> unMappedColumnNamesMap = new HashMap<>();
+  private final List<String> columnNames;
+  private final List<String> classNames;
+  private final List<JdbcType> jdbcTypes;
+  private final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap;
+  private final Map<String, List<String>> mappedColumnNamesMap;
+  private final Map<String, List<String>> unMappedColumnNamesMap;
+  private final Map<String, TypeHandler<?>> unknownTypeHandlerMap = new HashMap<>();
 
   public ResultSetWrapper(ResultSet rs, Configuration configuration) throws SQLException {
     super();
     this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
     this.resultSet = rs;
+    this.columnNames = new ArrayList<>();
+    this.classNames = new ArrayList<>();
+    this.jdbcTypes = new ArrayList<>();
+    this.typeHandlerMap = new HashMap<>();
+    this.mappedColumnNamesMap = new HashMap<>();
+    this.unMappedColumnNamesMap = new HashMap<>();
     final ResultSetMetaData metaData = rs.getMetaData();
     final int columnCount = metaData.getColumnCount();
     for (int i = 1; i <= columnCount; i++) {
@@ -62,6 +70,46 @@ public class ResultSetWrapper {
     }
   }
 
+  /**
+   * Creates a wrapper that shares column names, JDBC types and type handler bindings
+   * with previous executions of the same statement, as long as the columns have not changed.
+   *
+   * @param rs the result set to wrap
+   * @param configuration the configuration
+   * @param metaDataCache the metadata cache of the statement that returned the result set
+   * @param resultSetIndex the index of the result set among the ones returned by the statement
+   * @since 3.5.1
+   */
+  public ResultSetWrapper(ResultSet rs, Configuration configuration, ResultSetMetaDataCache metaDataCache, int resultSetIndex) throws SQLException {
+    super();
+    this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+    this.resultSet = rs;
+    final ResultSetMetaDataCache.ColumnMetaData columnMetaData =
+        metaDataCache.getColumnMetaData(resultSetIndex, rs.getMetaData(), configuration.isUseColumnLabel());
+    this.columnNames = columnMetaData.columnNames;
+    this.classNames = columnMetaData.classNames;
+    this.jdbcTypes = columnMetaData.jdbcTypes;
+    this.typeHandlerMap = columnMetaData.typeHandlerMap;
+    this.mappedColumnNamesMap = columnMetaData.mappedColumnNamesMap;
+    this.unMappedColumnNamesMap = columnMetaData.unMappedColumnNamesMap;
+  }
+
+  /**
+   * Creates a wrapper for another result set with the same columns as the given wrapper,
+   * such as the rows of that wrapper buffered for mapping on another thread.
+   */
+  ResultSetWrapper(ResultSetWrapper source, ResultSet rs) {
+    super();
+    this.typeHandlerRegistry = source.typeHandlerRegistry;
+    this.resultSet = rs;
+    this.columnNames = source.columnNames;
+    this.classNames = source.classNames;
+    this.jdbcTypes = source.jdbcTypes;
+    this.typeHandlerMap = new HashMap<>();
+    this.mappedColumnNamesMap = new HashMap<>();
+    this.unMappedColumnNamesMap = new HashMap<>();
+  }
+
   public ResultSet getResultSet() {
     return resultSet;
   }
@@ -100,7 +148,8 @@ public class ResultSetWrapper {
     TypeHandler<?> handler = null;
     Map<Class<?>, TypeHandler<?>> columnHandlers = typeHandlerMap.get(columnName);
     if (columnHandlers == null) {
-      columnHandlers = new HashMap<>();
+      // may be shared with other threads through ResultSetMetaDataCache
+      columnHandlers = new ConcurrentHashMap<>();
       typeHandlerMap.put(columnName, columnHandlers);
     } else {
       handler = columnHandlers.get(propertyType);
@@ -129,6 +178,29 @@ public class ResultSetWrapper {
     return handler;
   }
 
+  /**
+   * Gets the type handler that actually reads the column for the given mapping type handler.
+   * An {@link UnknownTypeHandler} inspects the result set metadata to pick a handler every time it reads a value,
+   * so its choice is resolved once per column and reused for the following rows of this result set.
+   * Any other type handler is returned as is.
+   *
+   * @param typeHandler the type handler of the mapping
+   * @param columnName the column name
+   * @return the type handler to read the column with
+   * @since 3.5.1
+   */
+  public TypeHandler<?> getResultTypeHandler(TypeHandler<?> typeHandler, String columnName) {
+    if (typeHandler == null || typeHandler.getClass() != UnknownTypeHandler.class) {
+      return typeHandler;
+    }
+    TypeHandler<?> handler = unknownTypeHandlerMap.get(columnName);
+    if (handler == null) {
+      handler = ((UnknownTypeHandler) typeHandler).resolveResultTypeHandler(resultSet, columnName);
+      unknownTypeHandlerMap.put(columnName, handler);
+    }
+    return handler;
+  }
+
   private Class<?> resolveClass(String className) {
     try {
       // #699 className could be null
@@ -15,8 +15,20 @@
  */
 package org.apache.ibatis.executor.statement;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.ibatis.logging.jdbc.PreparedStatementLogger;
+import org.apache.ibatis.logging.jdbc.StatementLogger;
 
 /**
  * Utility for {@link java.sql.Statement}.
@@ -26,6 +38,9 @@ import java.sql.Statement;
  */
 public class StatementUtil {
 
+  private static final Map<Statement, List<Closeable>> RESOURCES = Collections.synchronizedMap(new WeakHashMap<>());
+  private static volatile boolean resourcesRegistered;
+
   private StatementUtil() {
     // NOP
   }
@@ -55,4 +70,56 @@ public class StatementUtil {
     }
   }
 
+  /**
+   * Register a resource to close along with a statement.
+   * <p>
+   * Type handlers that bind a parameter to a resource the driver may read lazily, like a stream, register it
+   * so that it is closed when the executor closes the statement, whether the statement succeeded or not.
+   * </p>
+   * @param statement the statement the resource is bound to
+   * @param resource the resource to close
+   * @since 3.5.1
+   */
+  public static void closeWithStatement(Statement statement, Closeable resource) {
+    resourcesRegistered = true;
+    RESOURCES.computeIfAbsent(unwrap(statement), k -> new ArrayList<>()).add(resource);
+  }
+
+  /**
+   * Close the resources registered for a statement.
+   * @param statement a statement that is being closed
+   * @since 3.5.1
+   */
+  public static void closeResources(Statement statement) {
+    if (!resourcesRegistered) {
+      return;
+    }
+    final List<Closeable> resources = RESOURCES.remove(unwrap(statement));
+    if (resources != null) {
+      for (Closeable resource : resources) {
+        try {
+          resource.close();
+        } catch (IOException e) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the statement of the driver behind a logging proxy, so that resources registered with either one
+   * are closed with both.
+   */
+  private static Statement unwrap(Statement statement) {
+    if (Proxy.isProxyClass(statement.getClass())) {
+      final InvocationHandler handler = Proxy.getInvocationHandler(statement);
+      if (handler instanceof PreparedStatementLogger) {
+        return ((PreparedStatementLogger) handler).getPreparedStatement();
+      } else if (handler instanceof StatementLogger) {
+        return ((StatementLogger) handler).getStatement();
+      }
+    }
+    return statement;
+  }
+
 }
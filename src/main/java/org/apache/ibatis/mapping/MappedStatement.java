@@ -23,9 +23,11 @@ import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.resultset.ResultSetMetaDataCache;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.scripting.LanguageDriver;
+import org.apache.ibatis.scripting.defaults.ParameterBindingPlanCache;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -56,6 +58,8 @@ public final class MappedStatement {
   private Log statementLog;
   private LanguageDriver lang;
   private String[] resultSets;
+  private final ResultSetMetaDataCache resultSetMetaDataCache = new ResultSetMetaDataCache();
+  private final ParameterBindingPlanCache parameterBindingPlanCache = new ParameterBindingPlanCache();
 
   MappedStatement() {
     // constructor disabled
@@ -293,6 +297,20 @@ public final class MappedStatement {
     return resultSets;
   }
 
+  /**
+   * @since 3.5.1
+   */
+  public ResultSetMetaDataCache getResultSetMetaDataCache() {
+    return resultSetMetaDataCache;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public ParameterBindingPlanCache getParameterBindingPlanCache() {
+    return parameterBindingPlanCache;
+  }
+
   public BoundSql getBoundSql(Object parameterObject) {
     BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
@@ -18,11 +18,26 @@ package org.apache.ibatis.reflection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.apache.ibatis.reflection.invoker.DefaultInvokerFactory;
+import org.apache.ibatis.reflection.invoker.InvokerFactory;
+
 public class DefaultReflectorFactory implements ReflectorFactory {
+  private static final int MAX_PROPERTY_PATHS = 10000;
+
   private boolean classCacheEnabled = true;
   private final ConcurrentMap<Class<?>, Reflector> reflectorMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, PropertyPath> propertyPathMap = new ConcurrentHashMap<>();
+  private final InvokerFactory invokerFactory;
 
   public DefaultReflectorFactory() {
+    this(new DefaultInvokerFactory());
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public DefaultReflectorFactory(InvokerFactory invokerFactory) {
+    this.invokerFactory = invokerFactory;
   }
 
   @Override
@@ -39,10 +54,26 @@ public class DefaultReflectorFactory implements ReflectorFactory {
   public Reflector findForClass(Class<?> type) {
     if (classCacheEnabled) {
       // synchronized (type) removed see issue #461
-      return reflectorMap.computeIfAbsent(type, Reflector::new);
+      return reflectorMap.computeIfAbsent(type, t -> new Reflector(t, invokerFactory));
     } else {
-      return new Reflector(type);
+      return new Reflector(type, invokerFactory);
+    }
+  }
+
+  /**
+   * Returns the path of a nested property expression. The paths hold the getters of the classes they were read from,
+   * so they are only cached with the classes, until the cache is full, which prevents expressions built at runtime
+   * from making it grow forever.
+   */
+  PropertyPath findPropertyPath(String expression) {
+    PropertyPath path = propertyPathMap.get(expression);
+    if (path == null) {
+      path = new PropertyPath(expression);
+      if (classCacheEnabled && propertyPathMap.size() < MAX_PROPERTY_PATHS) {
+        propertyPathMap.putIfAbsent(expression, path);
+      }
     }
+    return path;
   }
 
 }
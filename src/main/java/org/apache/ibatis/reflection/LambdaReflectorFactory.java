@@ -0,0 +1,34 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import org.apache.ibatis.reflection.invoker.LambdaInvokerFactory;
+
+/**
+ * A {@link DefaultReflectorFactory} whose reflectors call public getters and setters through generated classes
+ * instead of core reflection. It can be selected in the configuration with
+ * {@code <reflectorFactory type="org.apache.ibatis.reflection.LambdaReflectorFactory"/>}.
+ *
+ * @see LambdaInvokerFactory
+ * @since 3.5.1
+ */
+public class LambdaReflectorFactory extends DefaultReflectorFactory {
+
+  public LambdaReflectorFactory() {
+    super(new LambdaInvokerFactory());
+  }
+
+}
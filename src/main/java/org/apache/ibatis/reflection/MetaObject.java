@@ -120,22 +120,21 @@ public class MetaObject {
   }
 
   public Object getValue(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
-    if (prop.hasNext()) {
-      MetaObject metaValue = metaObjectForProperty(prop.getIndexedName());
-      if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
-        return null;
-      } else {
-        return metaValue.getValue(prop.getChildren());
-      }
-    } else {
-      return objectWrapper.get(prop);
+    if (name.indexOf('.') > -1) {
+      return PropertyPath.compile(name, reflectorFactory).getValue(this);
     }
+    return objectWrapper.get(new PropertyTokenizer(name));
   }
 
   public void setValue(String name, Object value) {
     PropertyTokenizer prop = new PropertyTokenizer(name);
     if (prop.hasNext()) {
+      PropertyPath path = PropertyPath.compile(name, reflectorFactory);
+      Object parent = path.getParent(this);
+      if (parent != null) {
+        MetaObject.forObject(parent, objectFactory, objectWrapperFactory, reflectorFactory).setValue(path.getLastIndexedName(), value);
+        return;
+      }
       MetaObject metaValue = metaObjectForProperty(prop.getIndexedName());
       if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
         if (value == null) {
@@ -17,13 +17,16 @@ package org.apache.ibatis.reflection;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
 import org.apache.ibatis.annotations.Param;
-import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.binding.MapperMethod.ArrayParamMap;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
@@ -54,6 +57,10 @@ public class ParamNameResolver {
 
   private boolean hasParamAnnotation; // 记录对应方法的参数列表 中是否使用了＠Param 注解。
 
+  private String[] paramNames;
+  private int[] paramArgIndexes;
+  private int paramNameCount;
+
   public ParamNameResolver(Configuration config, Method method) {
     // 获取参数列表中每个参数的类型
     final Class<?>[] paramTypes = method.getParameterTypes();
@@ -97,6 +104,36 @@ public class ParamNameResolver {
       map.put(paramIndex, name);
     }
     names = Collections.unmodifiableSortedMap(map);
+    resolveParamSlots();
+  }
+
+  /**
+   * Lays out the names of the parameter object of a multi-argument call once, in the order
+   * they used to be put into the map: each name followed by its generic name (param1, param2, ...).
+   */
+  private void resolveParamSlots() {
+    final List<String> slotNames = new ArrayList<>();
+    final List<Integer> slotArgIndexes = new ArrayList<>();
+    int i = 0;
+    for (Map.Entry<Integer, String> entry : names.entrySet()) {
+      slotNames.add(entry.getValue());
+      slotArgIndexes.add(entry.getKey());
+      // add generic param names (param1, param2, ...)
+      final String genericParamName = GENERIC_NAME_PREFIX + String.valueOf(i + 1);
+      // ensure not to overwrite parameter named with @Param
+      // 如采＠Param 注解指定的参数名称就是”param＋索引”格式的，则不需要再添加
+      if (!names.containsValue(genericParamName)) {
+        slotNames.add(genericParamName);
+        slotArgIndexes.add(entry.getKey());
+      }
+      i++;
+    }
+    paramNames = slotNames.toArray(new String[0]);
+    paramArgIndexes = new int[paramNames.length];
+    for (int slot = 0; slot < paramNames.length; slot++) {
+      paramArgIndexes[slot] = slotArgIndexes.get(slot);
+    }
+    paramNameCount = new HashSet<>(slotNames).size();
   }
 
   private String getActualParamName(Method method, int paramIndex) {
@@ -136,22 +173,7 @@ public class ParamNameResolver {
       return args[names.firstKey()];
     } else {
       // 处理使用 @Param 注解指定 了 参数名称或有多个参数的情况
-      final Map<String, Object> param = new ParamMap<>();
-      int i = 0;
-      for (Map.Entry<Integer, String> entry : names.entrySet()) {
-        // ／将参数名与实参对应关系记录到 param 中
-        param.put(entry.getValue(), args[entry.getKey()]);
-        // add generic param names (param1, param2, ...)
-        // 下面是为参数创建”param＋索号”格式的默认参数名称，例如： param1 , param2 等，并添加到 param 集合中
-        final String genericParamName = GENERIC_NAME_PREFIX + String.valueOf(i + 1);
-        // ensure not to overwrite parameter named with @Param
-        // 如采＠Param 注解指定的参数名称就是”param＋索引”格式的，则不需要再添加
-        if (!names.containsValue(genericParamName)) {
-          param.put(genericParamName, args[entry.getKey()]);
-        }
-        i++;
-      }
-      return param;
+      return new ArrayParamMap<>(paramNames, paramArgIndexes, paramNameCount, args);
     }
   }
 }
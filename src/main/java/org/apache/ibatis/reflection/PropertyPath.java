@@ -0,0 +1,180 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+
+/**
+ * A nested property expression like {@code order.items[0].name}, split once into its segments.
+ * <p>
+ * {@link MetaObject} reads the first segment through its own wrapper. The following segments are read directly
+ * from maps, lists, arrays and beans, without creating a {@link MetaObject} for each intermediate value;
+ * the values that need another wrapper are still read through a {@link MetaObject}. The getter of a bean segment
+ * is remembered for the last class it was read from, so the paths are cached by the {@link DefaultReflectorFactory}
+ * that provides the getters, along with its reflectors.
+ *
+ * @since 3.5.1
+ */
+final class PropertyPath {
+
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  private final Segment[] segments;
+
+  PropertyPath(String expression) {
+    int count = 1;
+    for (int i = 0; i < expression.length(); i++) {
+      if (expression.charAt(i) == '.') {
+        count++;
+      }
+    }
+    segments = new Segment[count];
+    PropertyTokenizer prop = new PropertyTokenizer(expression);
+    for (int i = 0; i < count; i++) {
+      segments[i] = new Segment(new PropertyTokenizer(prop.getIndexedName()));
+      if (prop.hasNext()) {
+        prop = prop.next();
+      }
+    }
+  }
+
+  /**
+   * Returns the path of an expression, cached by the reflector factory if it is a {@link DefaultReflectorFactory}.
+   */
+  static PropertyPath compile(String expression, ReflectorFactory reflectorFactory) {
+    if (reflectorFactory instanceof DefaultReflectorFactory) {
+      return ((DefaultReflectorFactory) reflectorFactory).findPropertyPath(expression);
+    }
+    return new PropertyPath(expression);
+  }
+
+  String getLastIndexedName() {
+    return segments[segments.length - 1].prop.getIndexedName();
+  }
+
+  Object getValue(MetaObject root) {
+    return getValue(root, segments.length);
+  }
+
+  /**
+   * @return the value holding the last segment, or null if a value on the way is null
+   */
+  Object getParent(MetaObject root) {
+    return getValue(root, segments.length - 1);
+  }
+
+  private Object getValue(MetaObject root, int length) {
+    Object value = root.getObjectWrapper().get(segments[0].prop);
+    for (int i = 1; i < length && value != null; i++) {
+      value = segments[i].get(value, root);
+    }
+    return value;
+  }
+
+  private static final class Segment {
+
+    private final PropertyTokenizer prop;
+    private final Integer index;
+    private volatile CachedInvoker cachedInvoker;
+
+    Segment(PropertyTokenizer prop) {
+      this.prop = prop;
+      Integer index = null;
+      if (prop.getIndex() != null) {
+        try {
+          index = Integer.valueOf(prop.getIndex());
+        } catch (NumberFormatException e) {
+          // only a map key
+        }
+      }
+      this.index = index;
+    }
+
+    Object get(Object object, MetaObject root) {
+      if (object instanceof ObjectWrapper || object instanceof Collection
+          || root.getObjectWrapperFactory().hasWrapperFor(object)) {
+        return MetaObject.forObject(object, root.getObjectFactory(), root.getObjectWrapperFactory(), root.getReflectorFactory())
+            .getValue(prop.getIndexedName());
+      }
+      Object value;
+      if (prop.getIndex() != null && prop.getName().isEmpty()) {
+        value = object;
+      } else if (object instanceof Map) {
+        value = ((Map<?, ?>) object).get(prop.getName());
+      } else {
+        value = getProperty(object, root.getReflectorFactory());
+      }
+      return prop.getIndex() == null ? value : getIndexedValue(value);
+    }
+
+    private Object getIndexedValue(Object collection) {
+      if (collection instanceof Map) {
+        return ((Map<?, ?>) collection).get(prop.getIndex());
+      }
+      int i = index != null ? index : Integer.parseInt(prop.getIndex());
+      if (collection instanceof List) {
+        return ((List<?>) collection).get(i);
+      } else if (collection != null && collection.getClass().isArray()) {
+        return Array.get(collection, i);
+      } else {
+        throw new ReflectionException("The '" + prop.getName() + "' property of " + collection + " is not a List or Array.");
+      }
+    }
+
+    private Object getProperty(Object object, ReflectorFactory reflectorFactory) {
+      Invoker invoker = getInvoker(object.getClass(), reflectorFactory);
+      try {
+        return invoker.invoke(object, NO_ARGUMENTS);
+      } catch (Throwable t) {
+        Throwable cause = ExceptionUtil.unwrapThrowable(t);
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new ReflectionException("Could not get property '" + prop.getName() + "' from " + object.getClass() + ".  Cause: " + cause.toString(), cause);
+      }
+    }
+
+    private Invoker getInvoker(Class<?> type, ReflectorFactory reflectorFactory) {
+      CachedInvoker cached = cachedInvoker;
+      if (cached == null || cached.type != type || cached.reflectorFactory != reflectorFactory) {
+        cached = new CachedInvoker(type, reflectorFactory, reflectorFactory.findForClass(type).getGetInvoker(prop.getName()));
+        cachedInvoker = cached;
+      }
+      return cached.invoker;
+    }
+  }
+
+  private static final class CachedInvoker {
+
+    private final Class<?> type;
+    private final ReflectorFactory reflectorFactory;
+    private final Invoker invoker;
+
+    CachedInvoker(Class<?> type, ReflectorFactory reflectorFactory, Invoker invoker) {
+      this.type = type;
+      this.reflectorFactory = reflectorFactory;
+      this.invoker = invoker;
+    }
+  }
+
+}
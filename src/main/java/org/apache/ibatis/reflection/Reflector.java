@@ -32,10 +32,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
+import org.apache.ibatis.reflection.invoker.DefaultInvokerFactory;
 import org.apache.ibatis.reflection.invoker.Invoker;
-import org.apache.ibatis.reflection.invoker.MethodInvoker;
-import org.apache.ibatis.reflection.invoker.SetFieldInvoker;
+import org.apache.ibatis.reflection.invoker.InvokerFactory;
+import org.apache.ibatis.reflection.invoker.PrimitiveSetInvoker;
 import org.apache.ibatis.reflection.property.PropertyNamer;
 
 /**
@@ -50,18 +50,28 @@ import org.apache.ibatis.reflection.property.PropertyNamer;
 public class Reflector {
 
   private final Class<?> type; // 对应的 Class 类型
+  private final InvokerFactory invokerFactory;
   private final String[] readablePropertyNames; // 可读属性的名称集合，可读属性就是存在相应 getter 方法的属性，初始值为空数纽
   private final String[] writeablePropertyNames; // 可写属性的名称集合，可写属性就是存在相应 setter 方法的属性，初始值为空数纽
   private final Map<String, Invoker> setMethods = new HashMap<>(); // 记录了属性相应 的 setter 方法 ， key 是属性名称， value 是 Invoker 对象，它是对 setter 方法对应 Method 对象的封装
   private final Map<String, Invoker> getMethods = new HashMap<>(); // 属性相应 的 getter 方法集合 ， key 是属性名称， value 也是 Invoker 对象
   private final Map<String, Class<?>> setTypes = new HashMap<>(); // 记录了属性相应的 setter 方法的参数值类型， ke y 是属性名称， value 是 setter 方法的参数类型
   private final Map<String, Class<?>> getTypes = new HashMap<>(); // 记录了属性相应的 getter 方法的返回位类型， key 是属性名称， value 是 getter 方法的返回位类型
+  private final Map<String, PrimitiveSetInvoker> primitiveSetMethods = new HashMap<>();
   private Constructor<?> defaultConstructor; // 记录了默认构造方法
 
   private Map<String, String> caseInsensitivePropertyMap = new HashMap<>(); // 记录了所有属性名称的集合
 
   public Reflector(Class<?> clazz) {
+    this(clazz, new DefaultInvokerFactory());
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public Reflector(Class<?> clazz, InvokerFactory invokerFactory) {
     type = clazz;
+    this.invokerFactory = invokerFactory;
     addDefaultConstructor(clazz);
     addGetMethods(clazz);
     addSetMethods(clazz);
@@ -140,7 +150,7 @@ public class Reflector {
 
   private void addGetMethod(String name, Method method) {
     if (isValidPropertyName(name)) {
-      getMethods.put(name, new MethodInvoker(method));
+      getMethods.put(name, invokerFactory.createGetInvoker(method));
       Type returnType = TypeParameterResolver.resolveReturnType(method, type);
       getTypes.put(name, typeToClass(returnType));
     }
@@ -215,9 +225,12 @@ public class Reflector {
 
   private void addSetMethod(String name, Method method) {
     if (isValidPropertyName(name)) {
-      setMethods.put(name, new MethodInvoker(method));
+      setMethods.put(name, invokerFactory.createSetInvoker(method));
       Type[] paramTypes = TypeParameterResolver.resolveParamTypes(method, type);
       setTypes.put(name, typeToClass(paramTypes[0]));
+      if (method.getParameterTypes()[0].isPrimitive()) {
+        primitiveSetMethods.put(name, new PrimitiveSetInvoker(method));
+      }
     }
   }
 
@@ -265,15 +278,18 @@ public class Reflector {
 
   private void addSetField(Field field) {
     if (isValidPropertyName(field.getName())) {
-      setMethods.put(field.getName(), new SetFieldInvoker(field));
+      setMethods.put(field.getName(), invokerFactory.createSetInvoker(field));
       Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
       setTypes.put(field.getName(), typeToClass(fieldType));
+      if (field.getType().isPrimitive() && !Modifier.isFinal(field.getModifiers())) {
+        primitiveSetMethods.put(field.getName(), new PrimitiveSetInvoker(field));
+      }
     }
   }
 
   private void addGetField(Field field) {
     if (isValidPropertyName(field.getName())) {
-      getMethods.put(field.getName(), new GetFieldInvoker(field));
+      getMethods.put(field.getName(), invokerFactory.createGetInvoker(field));
       Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
       getTypes.put(field.getName(), typeToClass(fieldType));
     }
@@ -393,6 +409,17 @@ public class Reflector {
     return method;
   }
 
+  /**
+   * Gets the invoker that sets a primitive property without boxing the value.
+   *
+   * @param propertyName - the name of the property
+   * @return The invoker, or {@literal null} if the property is not a writable primitive
+   * @since 3.5.1
+   */
+  public PrimitiveSetInvoker getPrimitiveSetInvoker(String propertyName) {
+    return primitiveSetMethods.get(propertyName);
+  }
+
   public Invoker getGetInvoker(String propertyName) {
     Invoker method = getMethods.get(propertyName);
     if (method == null) {
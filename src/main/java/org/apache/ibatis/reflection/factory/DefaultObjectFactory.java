@@ -19,6 +19,7 @@ import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.reflection.ReflectionException;
 import org.apache.ibatis.reflection.Reflector;
@@ -37,6 +39,9 @@ import org.apache.ibatis.reflection.Reflector;
 public class DefaultObjectFactory implements ObjectFactory, Serializable {
 
   private static final long serialVersionUID = -8855120656740914948L;
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  private transient volatile Map<ConstructorKey, Constructor<?>> constructors = new ConcurrentHashMap<>();
 
   @Override
   public <T> T create(Class<T> type) {
@@ -58,31 +63,11 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
 
   private  <T> T instantiateClass(Class<T> type, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) {
     try {
-      Constructor<T> constructor;
       if (constructorArgTypes == null || constructorArgs == null) {
-        constructor = type.getDeclaredConstructor();
-        try {
-          return constructor.newInstance();
-        } catch (IllegalAccessException e) {
-          if (Reflector.canControlMemberAccessible()) {
-            constructor.setAccessible(true);
-            return constructor.newInstance();
-          } else {
-            throw e;
-          }
-        }
-      }
-      constructor = type.getDeclaredConstructor(constructorArgTypes.toArray(new Class[constructorArgTypes.size()]));
-      try {
-        return constructor.newInstance(constructorArgs.toArray(new Object[constructorArgs.size()]));
-      } catch (IllegalAccessException e) {
-        if (Reflector.canControlMemberAccessible()) {
-          constructor.setAccessible(true);
-          return constructor.newInstance(constructorArgs.toArray(new Object[constructorArgs.size()]));
-        } else {
-          throw e;
-        }
+        return type.cast(newInstance(getConstructor(type, Collections.emptyList()), NO_ARGUMENTS));
       }
+      Object[] args = constructorArgs.toArray(new Object[constructorArgs.size()]);
+      return type.cast(newInstance(getConstructor(type, constructorArgTypes), args));
     } catch (Exception e) {
       StringBuilder argTypes = new StringBuilder();
       if (constructorArgTypes != null && !constructorArgTypes.isEmpty()) {
@@ -104,6 +89,39 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
     }
   }
 
+  /**
+   * Returns the cached constructor of a type, so that the constructor is looked up only once.
+   * The argument types of the caller are only copied when a new constructor is added.
+   */
+  private Constructor<?> getConstructor(Class<?> type, List<Class<?>> constructorArgTypes) throws Exception {
+    Map<ConstructorKey, Constructor<?>> constructors = this.constructors;
+    if (constructors == null) {
+      // the cache is not serialized
+      constructors = new ConcurrentHashMap<>();
+      this.constructors = constructors;
+    }
+    Constructor<?> constructor = constructors.get(new ConstructorKey(type, constructorArgTypes));
+    if (constructor == null) {
+      constructor = type.getDeclaredConstructor(constructorArgTypes.toArray(new Class[constructorArgTypes.size()]));
+      constructors.put(new ConstructorKey(type, new ArrayList<>(constructorArgTypes)), constructor);
+    }
+    return constructor;
+  }
+
+  private static Object newInstance(Constructor<?> constructor, Object[] args) throws Exception {
+    try {
+      return constructor.newInstance(args);
+    } catch (IllegalAccessException e) {
+      if (Reflector.canControlMemberAccessible()) {
+        // the cached constructor stays accessible for the next calls
+        constructor.setAccessible(true);
+        return constructor.newInstance(args);
+      } else {
+        throw e;
+      }
+    }
+  }
+
   protected Class<?> resolveInterface(Class<?> type) {
     Class<?> classToCreate;
     if (type == List.class || type == Collection.class || type == Iterable.class) {
@@ -125,4 +143,32 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
     return Collection.class.isAssignableFrom(type);
   }
 
+  private static final class ConstructorKey {
+
+    private final Class<?> type;
+    private final List<Class<?>> argTypes;
+
+    ConstructorKey(Class<?> type, List<Class<?>> argTypes) {
+      this.type = type;
+      this.argTypes = argTypes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ConstructorKey)) {
+        return false;
+      }
+      ConstructorKey other = (ConstructorKey) o;
+      return type == other.type && argTypes.equals(other.argTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * type.hashCode() + argTypes.hashCode();
+    }
+  }
+
 }
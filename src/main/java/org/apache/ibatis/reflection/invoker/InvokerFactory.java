@@ -0,0 +1,36 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Creates the invokers that a {@link org.apache.ibatis.reflection.Reflector} uses to read and write properties.
+ *
+ * @since 3.5.1
+ */
+public interface InvokerFactory {
+
+  Invoker createGetInvoker(Method method);
+
+  Invoker createSetInvoker(Method method);
+
+  Invoker createGetInvoker(Field field);
+
+  Invoker createSetInvoker(Field field);
+
+}
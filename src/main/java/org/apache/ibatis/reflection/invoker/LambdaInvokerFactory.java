@@ -0,0 +1,169 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.lang.UsesJava8;
+
+/**
+ * Creates invokers that call getter and setter methods directly through classes generated by the
+ * {@link LambdaMetafactory}, instead of going through {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * The classes can only be generated for public methods whose declaring class and signature only refer to public
+ * classes that are visible from the class loader of MyBatis. The other methods and the fields are accessed through
+ * reflection as by {@link DefaultInvokerFactory}.
+ * The generated invokers extend {@link MethodInvoker}, so that the generic types of the properties are still resolved
+ * from their methods.
+ *
+ * @since 3.5.1
+ */
+@UsesJava8
+public class LambdaInvokerFactory extends DefaultInvokerFactory {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Invoker createGetInvoker(Method method) {
+    if (canGenerate(method)) {
+      try {
+        MethodHandle handle = lookup.unreflect(method);
+        CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+            GETTER_TYPE, handle, MethodType.methodType(Object.class, method.getDeclaringClass()));
+        return new LambdaGetInvoker((Function<Object, Object>) site.getTarget().invokeExact(), method);
+      } catch (Throwable t) {
+        // fall back to reflection
+      }
+    }
+    return super.createGetInvoker(method);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Invoker createSetInvoker(Method method) {
+    if (canGenerate(method)) {
+      try {
+        MethodHandle handle = lookup.unreflect(method);
+        Class<?> type = method.getParameterTypes()[0];
+        Class<?> boxedType = MethodType.methodType(type).wrap().returnType();
+        CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+            SETTER_TYPE, handle, MethodType.methodType(void.class, method.getDeclaringClass(), boxedType));
+        return new LambdaSetInvoker((BiConsumer<Object, Object>) site.getTarget().invokeExact(), method, boxedType);
+      } catch (Throwable t) {
+        // fall back to reflection
+      }
+    }
+    return super.createSetInvoker(method);
+  }
+
+  private boolean canGenerate(Method method) {
+    if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+      return false;
+    }
+    if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) {
+      return false;
+    }
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      if (!isVisible(parameterType)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The generated classes are defined in the class loader and the package of this class, so they can only refer to
+   * the public classes that this class loader sees.
+   */
+  private boolean isVisible(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    if (!Modifier.isPublic(type.getModifiers())) {
+      return false;
+    }
+    try {
+      return Class.forName(type.getName(), false, LambdaInvokerFactory.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  private static class LambdaGetInvoker extends MethodInvoker {
+
+    private final Function<Object, Object> getter;
+
+    LambdaGetInvoker(Function<Object, Object> getter, Method method) {
+      super(method);
+      this.getter = getter;
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws InvocationTargetException {
+      try {
+        return getter.apply(target);
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+    }
+  }
+
+  private static class LambdaSetInvoker extends MethodInvoker {
+
+    private final BiConsumer<Object, Object> setter;
+    private final Class<?> boxedType;
+    private final boolean primitive;
+
+    LambdaSetInvoker(BiConsumer<Object, Object> setter, Method method, Class<?> boxedType) {
+      super(method);
+      this.setter = setter;
+      this.boxedType = boxedType;
+      this.primitive = method.getParameterTypes()[0].isPrimitive();
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws InvocationTargetException {
+      final Object value = args[0];
+      if (value == null ? primitive : !boxedType.isInstance(value)) {
+        // rejected before the call, like Method.invoke() does
+        throw new IllegalArgumentException("argument type mismatch");
+      }
+      try {
+        setter.accept(target, value);
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,137 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.apache.ibatis.lang.UsesJava8;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Sets a primitive property through a {@link MethodHandle}, so that the value does not have to be boxed.
+ * Only the {@code setXxx} method that matches {@link #getType()} may be called. Boxed values are set through the
+ * {@link Invoker} of the property instead.
+ *
+ * @since 3.5.1
+ */
+@UsesJava8
+public class PrimitiveSetInvoker {
+
+  private final Class<?> type;
+  private final AccessibleObject member;
+  private volatile MethodHandle handle;
+
+  public PrimitiveSetInvoker(Method method) {
+    this.type = method.getParameterTypes()[0];
+    this.member = method;
+  }
+
+  public PrimitiveSetInvoker(Field field) {
+    this.type = field.getType();
+    this.member = field;
+  }
+
+  public void setBoolean(Object target, boolean value) throws InvocationTargetException {
+    try {
+      getHandle().invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public void setByte(Object target, byte value) throws InvocationTargetException {
+    try {
+      getHandle().invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public void setShort(Object target, short value) throws InvocationTargetException {
+    try {
+      getHandle().invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public void setInt(Object target, int value) throws InvocationTargetException {
+    try {
+      getHandle().invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public void setLong(Object target, long value) throws InvocationTargetException {
+    try {
+      getHandle().invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public void setFloat(Object target, float value) throws InvocationTargetException {
+    try {
+      getHandle().invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public void setDouble(Object target, double value) throws InvocationTargetException {
+    try {
+      getHandle().invokeExact(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  private MethodHandle getHandle() {
+    MethodHandle result = handle;
+    if (result == null) {
+      // a benign race, the handle is the same whichever thread creates it
+      result = createHandle();
+      handle = result;
+    }
+    return result;
+  }
+
+  private MethodHandle createHandle() {
+    try {
+      if (Reflector.canControlMemberAccessible()) {
+        member.setAccessible(true);
+      }
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      MethodHandle target = member instanceof Method
+          ? lookup.unreflect((Method) member) : lookup.unreflectSetter((Field) member);
+      return target.asType(MethodType.methodType(void.class, Object.class, type));
+    } catch (IllegalAccessException e) {
+      throw new ReflectionException("Could not create a method handle for " + member + ".  Cause: " + e, e);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.defaults;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Keeps, per parameter class, how the {@link DefaultParameterHandler} reads the value of each placeholder
+ * of one mapped statement, so that later executions neither build a {@code MetaObject}
+ * nor parse the property names again.
+ * <p>
+ * Only the plan built last is kept for each parameter class. It is reused as long as the bound SQL
+ * has parameter mappings with the same properties, java types, jdbc types and type handler classes,
+ * which is always the case for static SQL and for dynamic SQL that keeps producing the same statement shape.
+ *
+ * @since 3.5.1
+ */
+public class ParameterBindingPlanCache {
+
+  /**
+   * Upper bound of the parameter classes kept per statement, for statements taking arbitrary objects.
+   */
+  private static final int MAX_CACHED_PLANS = 64;
+
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  private final Map<Class<?>, Plan> plans = new ConcurrentHashMap<>();
+
+  Plan getPlan(Configuration configuration, Class<?> parameterType, List<ParameterMapping> parameterMappings) {
+    Plan plan = plans.get(parameterType);
+    if (plan == null || !plan.matches(parameterMappings)) {
+      plan = new Plan(configuration, parameterType, parameterMappings);
+      if (plans.containsKey(parameterType) || plans.size() < MAX_CACHED_PLANS) {
+        plans.put(parameterType, plan);
+      }
+    }
+    return plan;
+  }
+
+  public int getSize() {
+    return plans.size();
+  }
+
+  public void clear() {
+    plans.clear();
+  }
+
+  static class Plan {
+
+    private final ParameterMapping[] parameterMappings;
+    private final ValueReader[] valueReaders;
+
+    Plan(Configuration configuration, Class<?> parameterType, List<ParameterMapping> parameterMappings) {
+      final int size = parameterMappings.size();
+      this.parameterMappings = parameterMappings.toArray(new ParameterMapping[size]);
+      this.valueReaders = new ValueReader[size];
+      // custom wrapper factories may wrap any object, so leave the reading to MetaObject
+      final boolean defaultWrappers = configuration.getObjectWrapperFactory().getClass() == DefaultObjectWrapperFactory.class;
+      final Reflector reflector = defaultWrappers && !Map.class.isAssignableFrom(parameterType)
+          && !Collection.class.isAssignableFrom(parameterType) && !ObjectWrapper.class.isAssignableFrom(parameterType)
+          ? configuration.getReflectorFactory().findForClass(parameterType) : null;
+      for (int i = 0; i < size; i++) {
+        final ParameterMapping parameterMapping = this.parameterMappings[i];
+        if (parameterMapping.getMode() != ParameterMode.OUT) {
+          valueReaders[i] = createValueReader(configuration, parameterType, parameterMapping.getProperty(), defaultWrappers, reflector);
+        }
+      }
+    }
+
+    boolean matches(List<ParameterMapping> parameterMappings) {
+      if (parameterMappings.size() != this.parameterMappings.length) {
+        return false;
+      }
+      for (int i = 0; i < this.parameterMappings.length; i++) {
+        if (!isSameMapping(parameterMappings.get(i), this.parameterMappings[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Dynamic SQL builds new parameter mappings for every execution, so they are compared by the properties
+     * that describe them rather than by identity.
+     */
+    private static boolean isSameMapping(ParameterMapping mapping, ParameterMapping other) {
+      if (mapping == other) {
+        return true;
+      }
+      return mapping.getProperty().equals(other.getProperty())
+          && mapping.getMode() == other.getMode()
+          && mapping.getJavaType() == other.getJavaType()
+          && mapping.getJdbcType() == other.getJdbcType()
+          && typeHandlerClass(mapping) == typeHandlerClass(other);
+    }
+
+    private static Class<?> typeHandlerClass(ParameterMapping mapping) {
+      return mapping.getTypeHandler() == null ? null : mapping.getTypeHandler().getClass();
+    }
+
+    Object getValue(int index, Object parameterObject) {
+      return valueReaders[index].read(parameterObject);
+    }
+
+    private static ValueReader createValueReader(Configuration configuration, Class<?> parameterType, String property,
+        boolean defaultWrappers, Reflector reflector) {
+      final boolean simpleName = property.indexOf('.') < 0 && property.indexOf('[') < 0;
+      if (simpleName && defaultWrappers && Map.class.isAssignableFrom(parameterType)) {
+        return parameterObject -> ((Map<?, ?>) parameterObject).get(property);
+      }
+      if (simpleName && reflector != null && reflector.hasGetter(property)) {
+        final Invoker invoker = reflector.getGetInvoker(property);
+        return parameterObject -> {
+          try {
+            try {
+              return invoker.invoke(parameterObject, NO_ARGUMENTS);
+            } catch (Throwable t) {
+              throw ExceptionUtil.unwrapThrowable(t);
+            }
+          } catch (RuntimeException e) {
+            throw e;
+          } catch (Throwable t) {
+            throw new ReflectionException("Could not get property '" + property + "' from " + parameterObject.getClass() + ".  Cause: " + t.toString(), t);
+          }
+        };
+      }
+      return parameterObject -> configuration.newMetaObject(parameterObject).getValue(property);
+    }
+  }
+
+  @FunctionalInterface
+  interface ValueReader {
+    Object read(Object parameterObject);
+  }
+
+}
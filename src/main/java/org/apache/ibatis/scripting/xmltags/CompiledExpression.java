@@ -0,0 +1,559 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+
+/**
+ * An expression of the subset of OGNL that dynamic SQL tests use the most, compiled once into a tree of
+ * property accessors and operators, e.g. {@code name != null and name != ''} or {@code ids != null and ids.size() > 0}.
+ * <p>
+ * Supported are property paths, the {@code size()}, {@code isEmpty()} and {@code length()} methods, integer, string,
+ * boolean and null literals, comparisons, {@code and}, {@code or}, {@code not} and parentheses.
+ * Values are only compared when OGNL is known to give the same result, e.g. two strings or two integers.
+ * In any other case, {@link #getValue(Object)} returns {@link #FALLBACK} and the expression has to be evaluated by
+ * OGNL. Properties of beans are read with the {@link ReflectorFactory} of the configuration the bindings belong to,
+ * and an exception thrown by the parameter object itself is rethrown rather than left to OGNL, which would call it
+ * again.
+ *
+ * @since 3.5.1
+ */
+final class CompiledExpression {
+
+  /**
+   * Returned when the value has to be evaluated by OGNL instead.
+   */
+  static final Object FALLBACK = new Object();
+
+  private static final DynamicContext.ContextAccessor CONTEXT_ACCESSOR = new DynamicContext.ContextAccessor();
+
+  /**
+   * Words that have a meaning in OGNL, plus the property names that OGNL resolves differently on maps and collections.
+   */
+  private static final Set<String> RESERVED_NAMES = new HashSet<>(Arrays.asList(
+      "and", "or", "not", "eq", "neq", "lt", "gt", "lte", "gte", "in", "instanceof", "new",
+      "shl", "shr", "ushr", "band", "bor", "xor", "bnot", "null", "true", "false",
+      "size", "isEmpty", "keys", "keySet", "values", "iterator", "length", "class"));
+
+  private final Node root;
+
+  private CompiledExpression(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Compiles the expression, or returns null if it is not part of the supported subset.
+   */
+  static CompiledExpression compile(String expression) {
+    try {
+      Parser parser = new Parser(expression);
+      Node node = parser.parseOr();
+      return parser.atEnd() ? new CompiledExpression(node) : null;
+    } catch (UnsupportedExpressionException e) {
+      return null;
+    }
+  }
+
+  Object getValue(Object root) {
+    try {
+      return this.root.getValue(root);
+    } catch (ParameterException e) {
+      throw e.getCause();
+    } catch (RuntimeException e) {
+      // let OGNL report the error
+      return FALLBACK;
+    }
+  }
+
+  /**
+   * Same as OGNL's conversion of a value to a boolean.
+   */
+  private static boolean booleanValue(Object value) {
+    if (value == null) {
+      return false;
+    }
+    Class<?> c = value.getClass();
+    if (c == Boolean.class) {
+      return (Boolean) value;
+    }
+    if (c == String.class) {
+      return Boolean.parseBoolean((String) value);
+    }
+    if (c == Character.class) {
+      return (Character) value != 0;
+    }
+    if (value instanceof Number) {
+      return ((Number) value).doubleValue() != 0;
+    }
+    return true;
+  }
+
+  private static boolean isIntegral(Object value) {
+    return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+  }
+
+  private interface Node {
+    Object getValue(Object root);
+  }
+
+  private static class Literal implements Node {
+    private final Object value;
+
+    Literal(Object value) {
+      this.value = value;
+    }
+
+    @Override
+    public Object getValue(Object root) {
+      return value;
+    }
+  }
+
+  /**
+   * Carries an exception thrown by the parameter object, which OGNL would throw as well.
+   */
+  private static class ParameterException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    ParameterException(RuntimeException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized RuntimeException getCause() {
+      return (RuntimeException) super.getCause();
+    }
+  }
+
+  private static class PropertyPath implements Node {
+    private final String expression;
+    private final String[] names;
+    private final String method;
+
+    PropertyPath(String expression, String[] names, String method) {
+      this.expression = expression;
+      this.names = names;
+      this.method = method;
+    }
+
+    @Override
+    public Object getValue(Object root) {
+      // beans can only be read through the configuration of the bindings
+      ReflectorFactory reflectorFactory = root instanceof DynamicContext.ContextMap
+          ? ((DynamicContext.ContextMap) root).getReflectorFactory() : null;
+      Object value = root;
+      for (int i = 0; i < names.length; i++) {
+        if (i > 0 && value == null) {
+          return FALLBACK;
+        }
+        value = getProperty(value, names[i], reflectorFactory);
+        if (value == FALLBACK) {
+          return FALLBACK;
+        }
+      }
+      return method == null ? value : invokeMethod(value);
+    }
+
+    private Object getProperty(Object target, String name, ReflectorFactory reflectorFactory) {
+      if (target instanceof Map) {
+        try {
+          return target instanceof DynamicContext.ContextMap
+              ? CONTEXT_ACCESSOR.getProperty(null, target, name) : ((Map<?, ?>) target).get(name);
+        } catch (RuntimeException e) {
+          throw new ParameterException(e);
+        }
+      }
+      if (reflectorFactory == null || target == null || target instanceof Collection || target instanceof Iterator
+          || target.getClass().isArray()) {
+        return FALLBACK;
+      }
+      Reflector reflector = reflectorFactory.findForClass(target.getClass());
+      if (!reflector.hasGetter(name)) {
+        return FALLBACK;
+      }
+      try {
+        return reflector.getGetInvoker(name).invoke(target, null);
+      } catch (InvocationTargetException e) {
+        throw new ParameterException(new BuilderException("Error evaluating expression '" + expression + "'. Cause: "
+            + e.getTargetException(), e.getTargetException()));
+      } catch (Exception e) {
+        return FALLBACK;
+      }
+    }
+
+    private Object invokeMethod(Object target) {
+      if ("length".equals(method)) {
+        return target instanceof String ? (Object) ((String) target).length() : FALLBACK;
+      }
+      if (target instanceof Collection) {
+        Collection<?> collection = (Collection<?>) target;
+        return "size".equals(method) ? (Object) collection.size() : (Object) collection.isEmpty();
+      }
+      if (target instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) target;
+        return "size".equals(method) ? (Object) map.size() : (Object) map.isEmpty();
+      }
+      return FALLBACK;
+    }
+  }
+
+  private static class Not implements Node {
+    private final Node operand;
+
+    Not(Node operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    public Object getValue(Object root) {
+      Object value = operand.getValue(root);
+      if (value == FALLBACK) {
+        return FALLBACK;
+      }
+      return booleanValue(value) ? Boolean.FALSE : Boolean.TRUE;
+    }
+  }
+
+  /**
+   * Like OGNL, returns the last operand that was evaluated rather than a boolean.
+   */
+  private static class Junction implements Node {
+    private final Node[] operands;
+    private final boolean and;
+
+    Junction(List<Node> operands, boolean and) {
+      this.operands = operands.toArray(new Node[0]);
+      this.and = and;
+    }
+
+    @Override
+    public Object getValue(Object root) {
+      Object result = null;
+      for (int i = 0; i < operands.length; i++) {
+        result = operands[i].getValue(root);
+        if (result == FALLBACK) {
+          return FALLBACK;
+        }
+        if (i != operands.length - 1 && booleanValue(result) != and) {
+          break;
+        }
+      }
+      return result;
+    }
+  }
+
+  private static class Comparison implements Node {
+    private final Node left;
+    private final Node right;
+    private final String operator;
+
+    Comparison(Node left, String operator, Node right) {
+      this.left = left;
+      this.operator = operator;
+      this.right = right;
+    }
+
+    @Override
+    public Object getValue(Object root) {
+      Object v1 = left.getValue(root);
+      if (v1 == FALLBACK) {
+        return FALLBACK;
+      }
+      Object v2 = right.getValue(root);
+      if (v2 == FALLBACK) {
+        return FALLBACK;
+      }
+      switch (operator) {
+        case "==":
+          return equal(v1, v2);
+        case "!=":
+          Object equal = equal(v1, v2);
+          return equal == FALLBACK ? FALLBACK : (Object) !((Boolean) equal);
+        default:
+          return compare(v1, v2);
+      }
+    }
+
+    private Object equal(Object v1, Object v2) {
+      if (v1 == null || v2 == null) {
+        return v1 == v2;
+      }
+      if (v1 == v2 || v1.equals(v2)) {
+        return Boolean.TRUE;
+      }
+      if (v1 instanceof String && v2 instanceof String || v1 instanceof Boolean && v2 instanceof Boolean) {
+        return Boolean.FALSE;
+      }
+      if (isIntegral(v1) && isIntegral(v2)) {
+        return ((Number) v1).longValue() == ((Number) v2).longValue();
+      }
+      return FALLBACK;
+    }
+
+    private Object compare(Object v1, Object v2) {
+      final int result;
+      if (isIntegral(v1) && isIntegral(v2)) {
+        result = Long.compare(((Number) v1).longValue(), ((Number) v2).longValue());
+      } else if (v1 instanceof String && v2 instanceof String) {
+        result = ((String) v1).compareTo((String) v2);
+      } else {
+        return FALLBACK;
+      }
+      switch (operator) {
+        case "<":
+          return result < 0;
+        case ">":
+          return result > 0;
+        case "<=":
+          return result <= 0;
+        default:
+          return result >= 0;
+      }
+    }
+  }
+
+  private static class UnsupportedExpressionException extends Exception {
+    private static final long serialVersionUID = 1L;
+  }
+
+  /**
+   * Recursive descent parser of the supported subset.
+   * Anything else makes it throw an {@link UnsupportedExpressionException}.
+   */
+  private static class Parser {
+    private final String expression;
+    private int position;
+
+    Parser(String expression) {
+      this.expression = expression;
+    }
+
+    boolean atEnd() {
+      skipWhitespace();
+      return position == expression.length();
+    }
+
+    Node parseOr() throws UnsupportedExpressionException {
+      List<Node> operands = new ArrayList<>();
+      operands.add(parseAnd());
+      while (consumeSymbol("||") || consumeWord("or")) {
+        operands.add(parseAnd());
+      }
+      return operands.size() == 1 ? operands.get(0) : new Junction(operands, false);
+    }
+
+    private Node parseAnd() throws UnsupportedExpressionException {
+      List<Node> operands = new ArrayList<>();
+      operands.add(parseNot());
+      while (consumeSymbol("&&") || consumeWord("and")) {
+        operands.add(parseNot());
+      }
+      return operands.size() == 1 ? operands.get(0) : new Junction(operands, true);
+    }
+
+    private Node parseNot() throws UnsupportedExpressionException {
+      skipWhitespace();
+      if (peek("!=")) {
+        throw new UnsupportedExpressionException();
+      }
+      if (consumeSymbol("!") || consumeWord("not")) {
+        return new Not(parseNot());
+      }
+      return parseComparison();
+    }
+
+    private Node parseComparison() throws UnsupportedExpressionException {
+      Node left = parsePrimary();
+      String operator = parseComparisonOperator();
+      if (operator == null) {
+        return left;
+      }
+      Node comparison = new Comparison(left, operator, parsePrimary());
+      if (parseComparisonOperator() != null) {
+        // chained comparisons follow OGNL precedence rules that are not worth replicating
+        throw new UnsupportedExpressionException();
+      }
+      return comparison;
+    }
+
+    private String parseComparisonOperator() {
+      if (consumeSymbol("==") || consumeWord("eq")) {
+        return "==";
+      } else if (consumeSymbol("!=") || consumeWord("neq")) {
+        return "!=";
+      } else if (consumeSymbol("<=") || consumeWord("lte")) {
+        return "<=";
+      } else if (consumeSymbol(">=") || consumeWord("gte")) {
+        return ">=";
+      } else if (consumeSymbol("<") || consumeWord("lt")) {
+        return "<";
+      } else if (consumeSymbol(">") || consumeWord("gt")) {
+        return ">";
+      }
+      return null;
+    }
+
+    private Node parsePrimary() throws UnsupportedExpressionException {
+      skipWhitespace();
+      if (position == expression.length()) {
+        throw new UnsupportedExpressionException();
+      }
+      char c = expression.charAt(position);
+      if (c == '(') {
+        position++;
+        Node node = parseOr();
+        if (!consumeSymbol(")")) {
+          throw new UnsupportedExpressionException();
+        }
+        return node;
+      }
+      if (c == '\'' || c == '"') {
+        return parseString(c);
+      }
+      if (Character.isDigit(c)) {
+        return parseInteger();
+      }
+      if (consumeWord("null")) {
+        return new Literal(null);
+      } else if (consumeWord("true")) {
+        return new Literal(Boolean.TRUE);
+      } else if (consumeWord("false")) {
+        return new Literal(Boolean.FALSE);
+      }
+      return parsePropertyPath();
+    }
+
+    private Node parseString(char quote) throws UnsupportedExpressionException {
+      int end = expression.indexOf(quote, position + 1);
+      if (end < 0) {
+        throw new UnsupportedExpressionException();
+      }
+      String value = expression.substring(position + 1, end);
+      // OGNL reads a single character in single quotes as a Character
+      if (value.indexOf('\\') >= 0 || (quote == '\'' && value.length() == 1)) {
+        throw new UnsupportedExpressionException();
+      }
+      position = end + 1;
+      return new Literal(value);
+    }
+
+    private Node parseInteger() throws UnsupportedExpressionException {
+      int start = position;
+      while (position < expression.length() && Character.isDigit(expression.charAt(position))) {
+        position++;
+      }
+      if (position < expression.length() && (Character.isJavaIdentifierPart(expression.charAt(position)) || expression.charAt(position) == '.')) {
+        throw new UnsupportedExpressionException();
+      }
+      String digits = expression.substring(start, position);
+      if (digits.length() > 1 && digits.charAt(0) == '0') {
+        // octal in OGNL
+        throw new UnsupportedExpressionException();
+      }
+      try {
+        return new Literal(Integer.valueOf(digits));
+      } catch (NumberFormatException e) {
+        throw new UnsupportedExpressionException();
+      }
+    }
+
+    private Node parsePropertyPath() throws UnsupportedExpressionException {
+      List<String> names = new ArrayList<>();
+      String method = null;
+      names.add(parseName());
+      while (consumeSymbol(".")) {
+        String name = parseIdentifier();
+        if (consumeSymbol("(")) {
+          if (!consumeSymbol(")") || !("size".equals(name) || "isEmpty".equals(name) || "length".equals(name))) {
+            throw new UnsupportedExpressionException();
+          }
+          method = name;
+          break;
+        }
+        names.add(checkName(name));
+      }
+      return new PropertyPath(expression, names.toArray(new String[0]), method);
+    }
+
+    private String parseName() throws UnsupportedExpressionException {
+      return checkName(parseIdentifier());
+    }
+
+    private String checkName(String name) throws UnsupportedExpressionException {
+      if (RESERVED_NAMES.contains(name)) {
+        throw new UnsupportedExpressionException();
+      }
+      return name;
+    }
+
+    private String parseIdentifier() throws UnsupportedExpressionException {
+      skipWhitespace();
+      int start = position;
+      if (position < expression.length() && Character.isJavaIdentifierStart(expression.charAt(position))) {
+        position++;
+        while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))) {
+          position++;
+        }
+      }
+      if (start == position) {
+        throw new UnsupportedExpressionException();
+      }
+      return expression.substring(start, position);
+    }
+
+    private boolean peek(String symbol) {
+      return expression.startsWith(symbol, position);
+    }
+
+    private boolean consumeSymbol(String symbol) {
+      skipWhitespace();
+      if (peek(symbol)) {
+        position += symbol.length();
+        return true;
+      }
+      return false;
+    }
+
+    private boolean consumeWord(String word) {
+      skipWhitespace();
+      int end = position + word.length();
+      if (peek(word) && (end == expression.length() || !Character.isJavaIdentifierPart(expression.charAt(end)))) {
+        position = end;
+        return true;
+      }
+      return false;
+    }
+
+    private void skipWhitespace() {
+      while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+        position++;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.defaults.RawSqlSource;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Base class of the classes that {@link org.apache.ibatis.builder.xml.XMLMapperCompiler} generates from mapper XML
+ * files. A generated class builds the {@link SqlNode} trees of the statements of one namespace directly, so that
+ * neither the {@code <include>} elements have to be expanded nor the dynamic elements parsed when the mapper is
+ * loaded. It is named after the namespace with the suffix {@value #CLASS_NAME_SUFFIX}, and only used while the mapper
+ * XML files it was compiled from are unchanged.
+ *
+ * @since 3.5.1
+ */
+public abstract class CompiledSqlSources {
+
+  public static final String CLASS_NAME_SUFFIX = "SqlSources";
+
+  /**
+   * Creates the SQL source of a statement.
+   *
+   * @param id the id of the statement without the namespace, {@code "insert!selectKey"} for the select key of {@code "insert"}
+   * @param databaseId the database id declared by the statement, or null
+   * @return the SQL source, or null if the statement was not compiled
+   */
+  public abstract SqlSource createSqlSource(Configuration configuration, String id, String databaseId, Class<?> parameterType);
+
+  /**
+   * Returns the {@link #checksum(byte[]) checksum} of the mapper XML file the class was compiled from.
+   * The SQL sources are only used while the file has the same checksum.
+   */
+  public abstract long getChecksum();
+
+  /**
+   * Returns the checksums of the other mapper XML files whose {@code <sql>} fragments the compiled statements include.
+   *
+   * @return the checksums keyed by the resources of the files
+   */
+  public abstract Map<String, Long> getIncludedChecksums();
+
+  /**
+   * Returns the CRC-32 checksum of the content of a mapper XML file.
+   */
+  public static long checksum(byte[] content) {
+    CRC32 crc = new CRC32();
+    crc.update(content, 0, content.length);
+    return crc.getValue();
+  }
+
+  protected static String key(String id, String databaseId) {
+    return databaseId == null ? id : id + "@" + databaseId;
+  }
+
+  protected static MixedSqlNode mixed(SqlNode... contents) {
+    return new MixedSqlNode(Arrays.asList(contents));
+  }
+
+  protected static ForEachSqlNode chunked(List<ForEachSqlNode> chunkedForEachNodes, ForEachSqlNode forEachSqlNode) {
+    chunkedForEachNodes.add(forEachSqlNode);
+    return forEachSqlNode;
+  }
+
+  protected static SqlSource dynamic(Configuration configuration, SqlNode rootSqlNode, List<ForEachSqlNode> chunkedForEachNodes) {
+    return new DynamicSqlSource(configuration, rootSqlNode, chunkedForEachNodes);
+  }
+
+  protected static SqlSource raw(Configuration configuration, SqlNode rootSqlNode, Class<?> parameterType) {
+    return new RawSqlSource(configuration, rootSqlNode, parameterType);
+  }
+
+}
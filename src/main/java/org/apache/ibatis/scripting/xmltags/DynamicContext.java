@@ -23,11 +23,18 @@ import ognl.OgnlRuntime;
 import ognl.PropertyAccessor;
 
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.session.Configuration;
 
 /**
  *
  * DynamicContext 主要用于记录解析动态 SQL 语句之后产生的 SQL 语句片段，可以认为它是一个用于记录动态 SQL 语句解析结果的容器。
+ * <p>
+ * The nodes write every fragment with {@link #appendSql(String)} into a single buffer, {@link #getSqlBuilder()}.
+ * The {@code <trim>}, {@code <where>}, {@code <set>} and {@code <foreach>} nodes then rewrite their fragments in place
+ * in that buffer, so the fragments passed to {@code appendSql} are not necessarily those of the final SQL.
+ * A subclass that overrides {@code appendSql} has to call the overridden method to write the fragment, and a subclass
+ * that needs the SQL has to read it from {@link #getSql()} or {@link #getSqlBuilder()}.
  *
  * @author Clinton Begin
  */
@@ -44,6 +51,8 @@ public class DynamicContext {
   // 在 SqlNode 解析动态 SQL 时，会将解析后的 SQL 语句片段添加到该属性中保存，最终拼凑出一条完成的 SQL 语句
   private final StringBuilder sqlBuilder = new StringBuilder();
   private int uniqueNumber = 0;
+  // the innermost <trim> or <foreach> node being applied, null when fragments go straight to sqlBuilder
+  private SqlScope scope;
 
   /**
    *
@@ -54,9 +63,9 @@ public class DynamicContext {
     if (parameterObject != null && !(parameterObject instanceof Map)) {
       // 对于非 Map 类型的参数，会创建对应的 MetaObject 对象，并封装成 ContextMap 对象
       MetaObject metaObject = configuration.newMetaObject(parameterObject);
-      bindings = new ContextMap(metaObject);
+      bindings = new ContextMap(metaObject, configuration.getReflectorFactory());
     } else {
-      bindings = new ContextMap(null);
+      bindings = new ContextMap(null, configuration.getReflectorFactory());
     }
     bindings.put(PARAMETER_OBJECT_KEY, parameterObject);
     bindings.put(DATABASE_ID_KEY, configuration.getDatabaseId());
@@ -70,9 +79,13 @@ public class DynamicContext {
     bindings.put(name, value);
   }
 
+  /**
+   * Writes a fragment at the end of {@link #getSqlBuilder()}, where the enclosing nodes may rewrite it.
+   */
   public void appendSql(String sql) {
+    final int start = sqlBuilder.length();
     sqlBuilder.append(sql);
-    sqlBuilder.append(" ");
+    filterSql(scope, start, sqlBuilder.length());
   }
 
   public String getSql() {
@@ -83,14 +96,79 @@ public class DynamicContext {
     return uniqueNumber++;
   }
 
+  /**
+   * Returns the buffer that holds the SQL written so far, which the nodes rewrite in place.
+   *
+   * @since 3.5.1
+   */
+  protected StringBuilder getSqlBuilder() {
+    return sqlBuilder;
+  }
+
+  void enterScope(SqlScope scope) {
+    scope.parent = this.scope;
+    this.scope = scope;
+  }
+
+  void exitScope(SqlScope scope) {
+    this.scope = scope.parent;
+  }
+
+  /**
+   * Passes the fragment held in {@code sqlBuilder[start, end)} through the given scope and its enclosing scopes.
+   *
+   * @return the end of the fragment after it has been rewritten
+   */
+  int filterSql(SqlScope scope, int start, int end) {
+    if (scope == null) {
+      sqlBuilder.insert(end, ' ');
+      return end + 1;
+    }
+    return scope.filter(this, start, end);
+  }
+
+  /**
+   * A {@code <trim>} or {@code <foreach>} node being applied. Instead of collecting its fragments in a
+   * separate buffer, the node rewrites them in place in the buffer shared by the whole statement.
+   *
+   * @since 3.5.1
+   */
+  abstract static class SqlScope {
+
+    SqlScope parent;
+
+    /**
+     * Rewrites a fragment that has just been appended to {@code sqlBuilder[start, end)}.
+     *
+     * @return the end of the fragment after it has been rewritten
+     */
+    abstract int filter(DynamicContext context, int start, int end);
+
+    /**
+     * Hands a rewritten fragment over to the enclosing scope.
+     */
+    final int filterInParent(DynamicContext context, int start, int end) {
+      return context.filterSql(parent, start, end);
+    }
+  }
+
   static class ContextMap extends HashMap<String, Object> {
     private static final long serialVersionUID = 2977601501966151582L;
 
     // 将用户传入的参数封装成了 MetaObject 对象
     private MetaObject parameterMetaObject;
+    private final ReflectorFactory reflectorFactory;
 
-    public ContextMap(MetaObject parameterMetaObject) {
+    public ContextMap(MetaObject parameterMetaObject, ReflectorFactory reflectorFactory) {
       this.parameterMetaObject = parameterMetaObject;
+      this.reflectorFactory = reflectorFactory;
+    }
+
+    /**
+     * Returns the reflector factory of the configuration, used to read the properties of the bound beans.
+     */
+    ReflectorFactory getReflectorFactory() {
+      return reflectorFactory;
     }
 
     @Override
@@ -15,11 +15,23 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -27,26 +39,168 @@ import org.apache.ibatis.session.Configuration;
  */
 public class DynamicSqlSource implements SqlSource {
 
+  /**
+   * Upper bound of the parsed SQL shapes kept per statement, as ${} substitutions can produce any number of them.
+   */
+  private static final int MAX_CACHED_SHAPES = 128;
+
   private final Configuration configuration;
   private final SqlNode rootSqlNode;
+  private final Map<CacheKey, SqlShape> sqlShapes = new ConcurrentHashMap<>();
+  private final List<ForEachSqlNode> chunkedForEachNodes;
 
   public DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode) {
+    this(configuration, rootSqlNode, Collections.emptyList());
+  }
+
+  DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode, List<ForEachSqlNode> chunkedForEachNodes) {
     this.configuration = configuration;
     this.rootSqlNode = rootSqlNode;
+    this.chunkedForEachNodes = chunkedForEachNodes;
+  }
+
+  /**
+   * Splits the parameter of a statement whose {@code <foreach>} has a {@code chunkSize} into one parameter per chunk
+   * when the collection is larger than that. Only collections that are passed as a parameter of their own, i.e. the
+   * {@code collection} attribute names a key of the parameter map, are split.
+   *
+   * @return the parameters to execute the statement with one after the other, or {@code null} if the statement is
+   *         executed once with the given parameter
+   * @throws BuilderException if more than one collection is larger than its chunk size, as the chunks of one
+   *         could not be combined with those of another
+   * @since 3.5.1
+   */
+  public List<Object> splitParameterObject(Object parameterObject) {
+    if (chunkedForEachNodes.isEmpty() || !(parameterObject instanceof Map)) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    Map<String, Object> parameterMap = (Map<String, Object>) parameterObject;
+    Object collection = null;
+    String collectionExpression = null;
+    int chunkSize = 0;
+    for (ForEachSqlNode forEachSqlNode : chunkedForEachNodes) {
+      String key = forEachSqlNode.getCollectionExpression();
+      Object value = parameterMap.containsKey(key) ? parameterMap.get(key) : null;
+      if (sizeOf(value) <= forEachSqlNode.getChunkSize()) {
+        continue;
+      }
+      if (collection == null) {
+        collection = value;
+        collectionExpression = key;
+        chunkSize = forEachSqlNode.getChunkSize();
+      } else if (value != collection) {
+        throw new BuilderException("Both the collections '" + collectionExpression + "' and '" + key
+            + "' are larger than their chunkSize, but only one collection of a statement can be split into chunks.");
+      } else {
+        chunkSize = Math.min(chunkSize, forEachSqlNode.getChunkSize());
+      }
+    }
+    if (collection == null) {
+      return null;
+    }
+    int size = sizeOf(collection);
+    List<Object> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+    for (int from = 0; from < size; from += chunkSize) {
+      Object chunk = slice(collection, from, Math.min(from + chunkSize, size));
+      Map<String, Object> chunkParameterMap = copy(parameterMap);
+      // the same collection may be available under several names, e.g. "ids" and "param1"
+      for (Map.Entry<String, Object> entry : parameterMap.entrySet()) {
+        if (entry.getValue() == collection) {
+          chunkParameterMap.put(entry.getKey(), chunk);
+        }
+      }
+      chunks.add(chunkParameterMap);
+    }
+    return chunks;
+  }
+
+  private static int sizeOf(Object collection) {
+    if (collection instanceof Collection) {
+      return ((Collection<?>) collection).size();
+    } else if (collection != null && collection.getClass().isArray()) {
+      return Array.getLength(collection);
+    }
+    return -1;
+  }
+
+  private static Object slice(Object collection, int from, int to) {
+    if (collection instanceof List) {
+      return new ArrayList<>(((List<?>) collection).subList(from, to));
+    } else if (collection instanceof Collection) {
+      return new ArrayList<>(new ArrayList<>((Collection<?>) collection).subList(from, to));
+    }
+    Object array = Array.newInstance(collection.getClass().getComponentType(), to - from);
+    System.arraycopy(collection, from, array, 0, to - from);
+    return array;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> copy(Map<String, Object> parameterMap) {
+    // cloning keeps the type of the map, e.g. a ParamMap that reports unknown names
+    if (parameterMap instanceof HashMap) {
+      return (Map<String, Object>) ((HashMap<String, Object>) parameterMap).clone();
+    }
+    return new HashMap<>(parameterMap);
   }
 
   @Override
   public BoundSql getBoundSql(Object parameterObject) {
     DynamicContext context = new DynamicContext(configuration, parameterObject);
     rootSqlNode.apply(context);
-    SqlSourceBuilder sqlSourceParser = new SqlSourceBuilder(configuration);
     Class<?> parameterType = parameterObject == null ? Object.class : parameterObject.getClass();
-    SqlSource sqlSource = sqlSourceParser.parse(context.getSql(), parameterType, context.getBindings());
-    BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
+    String sql = context.getSql();
+    // the same generated text only needs to be parsed again if a binding it refers to changed its type
+    CacheKey shapeKey = new CacheKey(new Object[] {parameterType, sql});
+    MetaObject metaBindings = configuration.newMetaObject(context.getBindings());
+    SqlShape shape = sqlShapes.get(shapeKey);
+    if (shape == null || !shape.matches(metaBindings)) {
+      SqlSourceBuilder sqlSourceParser = new SqlSourceBuilder(configuration);
+      SqlSource sqlSource = sqlSourceParser.parse(sql, parameterType, context.getBindings());
+      BoundSql parsedSql = sqlSource.getBoundSql(parameterObject);
+      shape = new SqlShape(parsedSql.getSql(), parsedSql.getParameterMappings(), metaBindings);
+      if (sqlShapes.containsKey(shapeKey) || sqlShapes.size() < MAX_CACHED_SHAPES) {
+        sqlShapes.put(shapeKey, shape);
+      }
+    }
+    BoundSql boundSql = new BoundSql(configuration, shape.sql, new ArrayList<>(shape.parameterMappings), parameterObject);
     for (Map.Entry<String, Object> entry : context.getBindings().entrySet()) {
       boundSql.setAdditionalParameter(entry.getKey(), entry.getValue());
     }
     return boundSql;
   }
 
+  /**
+   * The SQL and parameter mappings parsed from one generated text, along with the types of the bindings
+   * that the parameter mappings were resolved from.
+   */
+  private static class SqlShape {
+
+    private final String sql;
+    private final List<ParameterMapping> parameterMappings;
+    private final Class<?>[] bindingTypes;
+
+    SqlShape(String sql, List<ParameterMapping> parameterMappings, MetaObject metaBindings) {
+      this.sql = sql;
+      this.parameterMappings = parameterMappings;
+      this.bindingTypes = new Class<?>[parameterMappings.size()];
+      for (int i = 0; i < bindingTypes.length; i++) {
+        bindingTypes[i] = getBindingType(metaBindings, parameterMappings.get(i).getProperty());
+      }
+    }
+
+    boolean matches(MetaObject metaBindings) {
+      for (int i = 0; i < bindingTypes.length; i++) {
+        if (!Objects.equals(bindingTypes[i], getBindingType(metaBindings, parameterMappings.get(i).getProperty()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static Class<?> getBindingType(MetaObject metaBindings, String property) {
+      return property != null && metaBindings.hasGetter(property) ? metaBindings.getGetterType(property) : null;
+    }
+  }
+
 }
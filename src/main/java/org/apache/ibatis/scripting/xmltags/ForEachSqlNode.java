@@ -15,10 +15,13 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
-import org.apache.ibatis.parsing.GenericTokenParser;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.ArrayTypeHandler;
 
 /**
  * @author Clinton Begin
@@ -36,9 +39,28 @@ public class ForEachSqlNode implements SqlNode {
   // index 是当前迭代的次数，item 的值是本次选代的元素。 若迭代集合是 Map ，则 index 是键，item 是值
   private final String item;
   private final String index;
+  // binds the whole collection as one JDBC array instead of one "?" per item
+  private final boolean bindAsArray;
+  // repeats the last item up to the next power of two so that few distinct statements are generated
+  private final boolean padding;
+  // the statement runs once per chunk of this many items, 0 for no chunking
+  private final int chunkSize;
   private final Configuration configuration;
 
   public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, String index, String item, String open, String close, String separator) {
+    this(configuration, contents, collectionExpression, index, item, open, close, separator, false, false, 0);
+  }
+
+  /**
+   * @param bindAsArray whether the whole collection is bound to a single parameter through the {@link ArrayTypeHandler}
+   *          instead of one parameter per item, the contents are not used in that case
+   * @param padding whether the last item is repeated until the number of items is a power of two, which only suits
+   *          contents like IN lists where a repeated item makes no difference
+   * @param chunkSize the number of items above which the statement is executed once per chunk of items, 0 for no limit
+   * @since 3.5.1
+   */
+  public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, String index, String item,
+      String open, String close, String separator, boolean bindAsArray, boolean padding, int chunkSize) {
     this.evaluator = new ExpressionEvaluator();
     this.collectionExpression = collectionExpression;
     this.contents = contents;
@@ -47,9 +69,20 @@ public class ForEachSqlNode implements SqlNode {
     this.separator = separator;
     this.index = index;
     this.item = item;
+    this.bindAsArray = bindAsArray;
+    this.padding = padding;
+    this.chunkSize = chunkSize;
     this.configuration = configuration;
   }
 
+  String getCollectionExpression() {
+    return collectionExpression;
+  }
+
+  int getChunkSize() {
+    return chunkSize;
+  }
+
   @Override
   public boolean apply(DynamicContext context) {
     Map<String, Object> bindings = context.getBindings();
@@ -57,40 +90,75 @@ public class ForEachSqlNode implements SqlNode {
     if (!iterable.iterator().hasNext()) {
       return true;
     }
+    if (bindAsArray) {
+      applyArray(context, iterable);
+      return true;
+    }
     boolean first = true;
     applyOpen(context);
+    // one scope serves all the items, it rewrites the item placeholders and adds the separator in place
+    ItemScope scope = new ItemScope();
+    context.enterScope(scope);
     int i = 0;
+    Object last = null;
     for (Object o : iterable) {
-      DynamicContext oldContext = context;
-      if (first || separator == null) {
-        context = new PrefixedContext(context, "");
-      } else {
-        context = new PrefixedContext(context, separator);
-      }
-      int uniqueNumber = context.getUniqueNumber();
-      // Issue #709
-      if (o instanceof Map.Entry) {
-        @SuppressWarnings("unchecked")
-        Map.Entry<Object, Object> mapEntry = (Map.Entry<Object, Object>) o;
-        applyIndex(context, mapEntry.getKey(), uniqueNumber);
-        applyItem(context, mapEntry.getValue(), uniqueNumber);
-      } else {
-        applyIndex(context, i, uniqueNumber);
-        applyItem(context, o, uniqueNumber);
-      }
-      contents.apply(new FilteredDynamicContext(configuration, context, index, item, uniqueNumber));
-      if (first) {
-        first = !((PrefixedContext) context).isPrefixApplied();
-      }
-      context = oldContext;
+      first = applyIteration(context, scope, o, i, first);
+      last = o;
       i++;
     }
+    if (padding) {
+      // the extra positions repeat the last item along with its index
+      final int lastIndex = i - 1;
+      for (int size = bucketSize(i); i < size; i++) {
+        first = applyIteration(context, scope, last, lastIndex, first);
+      }
+    }
+    context.exitScope(scope);
     applyClose(context);
     context.getBindings().remove(item);
     context.getBindings().remove(index);
     return true;
   }
 
+  private boolean applyIteration(DynamicContext context, ItemScope scope, Object o, int i, boolean first) {
+    scope.prefix = first || separator == null ? "" : separator;
+    scope.prefixApplied = false;
+    int uniqueNumber = context.getUniqueNumber();
+    scope.uniqueNumber = uniqueNumber;
+    // Issue #709
+    if (o instanceof Map.Entry) {
+      @SuppressWarnings("unchecked")
+      Map.Entry<Object, Object> mapEntry = (Map.Entry<Object, Object>) o;
+      applyIndex(context, mapEntry.getKey(), uniqueNumber);
+      applyItem(context, mapEntry.getValue(), uniqueNumber);
+    } else {
+      applyIndex(context, i, uniqueNumber);
+      applyItem(context, o, uniqueNumber);
+    }
+    contents.apply(context);
+    return first && !scope.prefixApplied;
+  }
+
+  private static int bucketSize(int size) {
+    return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+  }
+
+  private void applyArray(DynamicContext context, Iterable<?> iterable) {
+    Collection<?> values = iterable instanceof Collection ? (Collection<?>) iterable : null;
+    if (values == null || values.iterator().next() instanceof Map.Entry) {
+      List<Object> list = new ArrayList<>();
+      for (Object o : iterable) {
+        list.add(o instanceof Map.Entry ? ((Map.Entry<?, ?>) o).getValue() : o);
+      }
+      values = list;
+    }
+    String name = itemizeItem(item == null ? "array" : item, context.getUniqueNumber());
+    context.bind(name, values);
+    applyOpen(context);
+    context.appendSql("#{" + name + ",typeHandler=" + ArrayTypeHandler.class.getName() + "}");
+    applyClose(context);
+  }
+
   private void applyIndex(DynamicContext context, Object o, int i) {
     if (index != null) {
       context.bind(index, o);
@@ -121,99 +189,123 @@ public class ForEachSqlNode implements SqlNode {
     return ITEM_PREFIX + item + "_" + i;
   }
 
-  private static class FilteredDynamicContext extends DynamicContext {
-    private final DynamicContext delegate;
-    private final int index; // 对应集合项在集合中的索引位置
-    private final String itemIndex; // 对应集合项的index ，参见对 ForeachSqlNode.index 字段的介绍
-    private final String item; // 对应集合项的 item ，参见 ForeachSqlNode.item 字段的介绍
-
-    public FilteredDynamicContext(Configuration configuration,DynamicContext delegate, String itemIndex, String item, int i) {
-      super(configuration, null);
-      this.delegate = delegate;
-      this.index = i;
-      this.itemIndex = itemIndex;
-      this.item = item;
-    }
-
-    @Override
-    public Map<String, Object> getBindings() {
-      return delegate.getBindings();
-    }
-
-    @Override
-    public void bind(String name, Object value) {
-      delegate.bind(name, value);
-    }
-
-    @Override
-    public String getSql() {
-      return delegate.getSql();
-    }
-
-    @Override
-    public void appendSql(String sql) {
-      GenericTokenParser parser = new GenericTokenParser("#{", "}", content -> {
-        String newContent = content.replaceFirst("^\\s*" + item + "(?![^.,:\\s])", itemizeItem(item, index));
-        if (itemIndex != null && newContent.equals(content)) {
-          newContent = content.replaceFirst("^\\s*" + itemIndex + "(?![^.,:\\s])", itemizeItem(itemIndex, index));
-        }
-        return "#{" + newContent + "}";
-      });
-
-      delegate.appendSql(parser.parse(sql));
-    }
+  private static int indexOf(StringBuilder sql, String str, int from, int end) {
+    int found = sql.indexOf(str, from);
+    return found == -1 || found + str.length() > end ? -1 : found;
+  }
 
-    @Override
-    public int getUniqueNumber() {
-      return delegate.getUniqueNumber();
+  private static boolean isBlank(StringBuilder sql, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (sql.charAt(i) > ' ') {
+        return false;
+      }
     }
-
+    return true;
   }
 
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
 
-  private class PrefixedContext extends DynamicContext {
-    private final DynamicContext delegate; // 底层封装的 DynamicContext 对象
-    private final String prefix; // 指定的前缀
+  private class ItemScope extends DynamicContext.SqlScope {
+    private String prefix; // 指定的前缀
     private boolean prefixApplied; // 是否已经处理过前缀
-
-    public PrefixedContext(DynamicContext delegate, String prefix) {
-      super(configuration, null);
-      this.delegate = delegate;
-      this.prefix = prefix;
-      this.prefixApplied = false;
-    }
-
-    public boolean isPrefixApplied() {
-      return prefixApplied;
-    }
-
-    @Override
-    public Map<String, Object> getBindings() {
-      return delegate.getBindings();
-    }
-
-    @Override
-    public void bind(String name, Object value) {
-      delegate.bind(name, value);
-    }
+    private int uniqueNumber; // the number the current item is bound with
 
     @Override
-    public void appendSql(String sql) {
-      if (!prefixApplied && sql != null && sql.trim().length() > 0) {
-        delegate.appendSql(prefix);
+    int filter(DynamicContext context, int start, int end) {
+      final StringBuilder sql = context.getSqlBuilder();
+      end = itemizePlaceholders(sql, start, end);
+      if (!prefixApplied && !isBlank(sql, start, end)) {
+        sql.insert(start, prefix);
+        int prefixEnd = filterInParent(context, start, start + prefix.length());
+        end += prefixEnd - start;
+        start = prefixEnd;
         prefixApplied = true;
       }
-      delegate.appendSql(sql);
+      return filterInParent(context, start, end);
     }
 
-    @Override
-    public String getSql() {
-      return delegate.getSql();
+    /**
+     * Replaces {@code #{item}} and {@code #{index}} in {@code sql[start, end)} by the names they have been bound to
+     * for the current item, following the rules of {@link org.apache.ibatis.parsing.GenericTokenParser}.
+     */
+    private int itemizePlaceholders(StringBuilder sql, int start, int end) {
+      int open = indexOf(sql, "#{", start, end);
+      while (open != -1) {
+        if (open > start && sql.charAt(open - 1) == '\\') {
+          // this open token is escaped. remove the backslash and continue.
+          sql.deleteCharAt(open - 1);
+          end--;
+          open = indexOf(sql, "#{", open + 1, end);
+          continue;
+        }
+        final int contentStart = open + 2;
+        int offset = contentStart;
+        int close = indexOf(sql, "}", offset, end);
+        while (close > offset && sql.charAt(close - 1) == '\\') {
+          offset = close + 1;
+          close = indexOf(sql, "}", offset, end);
+        }
+        if (close == -1) {
+          // close token was not found.
+          break;
+        }
+        // remove the backslashes of the escaped close tokens
+        for (int i = close - 1; i > contentStart; i--) {
+          if (sql.charAt(i) == '}') {
+            sql.deleteCharAt(--i);
+            close--;
+            end--;
+          }
+        }
+        int nameEnd = itemizeName(sql, contentStart, close, item);
+        if (nameEnd == -1 && index != null) {
+          nameEnd = itemizeName(sql, contentStart, close, index);
+        }
+        if (nameEnd != -1) {
+          end += nameEnd - close;
+          close = nameEnd;
+        }
+        open = indexOf(sql, "#{", close + 1, end);
+      }
+      return end;
     }
 
-    @Override
-    public int getUniqueNumber() {
-      return delegate.getUniqueNumber();
+    /**
+     * @return the new end of the placeholder content if it referred to {@code name}, -1 otherwise
+     */
+    private int itemizeName(StringBuilder sql, int contentStart, int contentEnd, String name) {
+      if (name == null) {
+        return -1;
+      }
+      int nameStart = contentStart;
+      while (nameStart < contentEnd && isWhitespace(sql.charAt(nameStart))) {
+        nameStart++;
+      }
+      final int nameEnd = nameStart + name.length();
+      if (nameEnd > contentEnd) {
+        return -1;
+      }
+      for (int i = 0; i < name.length(); i++) {
+        if (sql.charAt(nameStart + i) != name.charAt(i)) {
+          return -1;
+        }
+      }
+      if (nameEnd < contentEnd) {
+        char next = sql.charAt(nameEnd);
+        if (next != '.' && next != ',' && next != ':' && !isWhitespace(next)) {
+          return -1;
+        }
+      }
+      final int length = sql.length();
+      sql.replace(contentStart, nameEnd, ITEM_PREFIX);
+      int position = contentStart + ITEM_PREFIX.length();
+      sql.insert(position, name);
+      position += name.length();
+      sql.insert(position, '_');
+      sql.insert(position + 1, uniqueNumber);
+      return contentEnd + sql.length() - length;
     }
   }
 
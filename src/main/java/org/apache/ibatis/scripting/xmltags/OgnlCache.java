@@ -15,16 +15,26 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import ognl.Ognl;
+import ognl.OgnlContext;
 import ognl.OgnlException;
 
 import org.apache.ibatis.builder.BuilderException;
 
 /**
  * Caches OGNL parsed expressions.
+ * Expressions of the subset supported by {@link CompiledExpression} are evaluated without OGNL.
+ * <p>
+ * The cache holds at most {@link #getMaxSize()} expressions. When it is full, an arbitrary tenth of the
+ * expressions is evicted, so that expressions built at runtime cannot make it grow forever.
+ * <p>
+ * Each thread keeps an OGNL context that is cleared after every evaluation, see {@link #removeContext()} and
+ * {@link #setContextReuseEnabled(boolean)}.
  *
  * @author Eduardo Macarron
  *
@@ -32,32 +42,203 @@ import org.apache.ibatis.builder.BuilderException;
  */
 public final class OgnlCache {
 
+  /**
+   * @since 3.5.1
+   */
+  public static final int DEFAULT_MAX_SIZE = 10000;
+
   private static final OgnlMemberAccess MEMBER_ACCESS = new OgnlMemberAccess();
   private static final OgnlClassResolver CLASS_RESOLVER = new OgnlClassResolver();
-  private static final Map<String, Object> expressionCache = new ConcurrentHashMap<>();
+  private static final Map<String, CachedExpression> expressionCache = new ConcurrentHashMap<>();
+  private static final LongAdder hitCount = new LongAdder();
+  private static final LongAdder missCount = new LongAdder();
+  private static final LongAdder evictionCount = new LongAdder();
+  private static final ThreadLocal<ReusableContext> reusableContext = ThreadLocal.withInitial(ReusableContext::new);
+  private static volatile int maxSize = DEFAULT_MAX_SIZE;
+  private static volatile boolean contextReuseEnabled = true;
 
   private OgnlCache() {
     // Prevent Instantiation of Static Class
   }
 
   public static Object getValue(String expression, Object root) {
+    CachedExpression cachedExpression = getCachedExpression(expression);
+    if (cachedExpression.compiled != null) {
+      Object value = cachedExpression.compiled.getValue(root);
+      if (value != CompiledExpression.FALLBACK) {
+        return value;
+      }
+    }
+    // 创建 OgnlContext 对象， OgnlClassResolver 替代了 OGNL 中原有的 DefaultClassResolver,其主要功能是使用前面介绍的 Resource 工具类定位资源
+    ReusableContext reusable = contextReuseEnabled ? reusableContext.get() : null;
+    // an evaluation may start another one on the same thread from a getter, which then gets its own context
+    boolean reused = reusable != null && !reusable.inUse;
+    Map context = reused ? reusable.context : Ognl.createDefaultContext(root, MEMBER_ACCESS, CLASS_RESOLVER, null);
+    if (reused) {
+      reusable.inUse = true;
+    }
     try {
-      // 创建 OgnlContext 对象， OgnlClassResolver 替代了 OGNL 中原有的 DefaultClassResolver,其主要功能是使用前面介绍的 Resource 工具类定位资源
-      Map context = Ognl.createDefaultContext(root, MEMBER_ACCESS, CLASS_RESOLVER, null);
       // 使用 OGNL 执行 expression 表达式
-      return Ognl.getValue(parseExpression(expression), context, root);
+      return Ognl.getValue(cachedExpression.getOgnlNode(), context, root);
     } catch (OgnlException e) {
       throw new BuilderException("Error evaluating expression '" + expression + "'. Cause: " + e, e);
+    } finally {
+      if (reused) {
+        // drops the root, the values and the evaluation state, so that the thread does not keep them
+        reusable.context.clear();
+        reusable.inUse = false;
+      }
+    }
+  }
+
+  /**
+   * Returns whether each thread keeps an OGNL context for the expressions that are not compiled.
+   *
+   * @since 3.5.1
+   */
+  public static boolean isContextReuseEnabled() {
+    return contextReuseEnabled;
+  }
+
+  /**
+   * Sets whether each thread keeps an OGNL context for the expressions that are not compiled, rather than creating
+   * one per evaluation. Enabled by default. When disabled, the contexts already kept are no longer used, and
+   * {@link #removeContext()} does not have to be called.
+   *
+   * @since 3.5.1
+   */
+  public static void setContextReuseEnabled(boolean contextReuseEnabled) {
+    OgnlCache.contextReuseEnabled = contextReuseEnabled;
+    if (!contextReuseEnabled) {
+      removeContext();
     }
   }
 
-  private static Object parseExpression(String expression) throws OgnlException {
-    Object node = expressionCache.get(expression);
-    if (node == null) {
-      node = Ognl.parseExpression(expression);
-      expressionCache.put(expression, node);
+  /**
+   * Removes the OGNL context kept by the current thread. A thread that outlives the application, like the thread
+   * of a container pool, keeps the classes of MyBatis loaded through the context until this method is called.
+   *
+   * @since 3.5.1
+   */
+  public static void removeContext() {
+    reusableContext.remove();
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public static int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Sets the maximum number of expressions kept in the cache.
+   *
+   * @since 3.5.1
+   */
+  public static void setMaxSize(int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("The maximum size of the expression cache must be positive but was " + maxSize);
     }
-    return node;
+    OgnlCache.maxSize = maxSize;
+    evictIfFull(0);
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public static int getSize() {
+    return expressionCache.size();
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public static long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public static long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public static long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  /**
+   * Removes all the expressions and resets the statistics.
+   *
+   * @since 3.5.1
+   */
+  public static void clear() {
+    expressionCache.clear();
+    hitCount.reset();
+    missCount.reset();
+    evictionCount.reset();
+  }
+
+  private static CachedExpression getCachedExpression(String expression) {
+    CachedExpression cachedExpression = expressionCache.get(expression);
+    if (cachedExpression != null) {
+      hitCount.increment();
+      return cachedExpression;
+    }
+    missCount.increment();
+    evictIfFull(1);
+    cachedExpression = new CachedExpression(expression);
+    CachedExpression previous = expressionCache.putIfAbsent(expression, cachedExpression);
+    return previous == null ? cachedExpression : previous;
+  }
+
+  private static void evictIfFull(int toBeAdded) {
+    int size = expressionCache.size();
+    if (size + toBeAdded <= maxSize) {
+      return;
+    }
+    int toBeEvicted = size + toBeAdded - maxSize + maxSize / 10;
+    Iterator<String> iterator = expressionCache.keySet().iterator();
+    while (toBeEvicted-- > 0 && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+      evictionCount.increment();
+    }
+  }
+
+  private static class CachedExpression {
+
+    private final String expression;
+    private final CompiledExpression compiled;
+    private volatile Object ognlNode;
+
+    CachedExpression(String expression) {
+      this.expression = expression;
+      this.compiled = CompiledExpression.compile(expression);
+    }
+
+    /**
+     * Parses the expression for OGNL on first use, as compiled expressions rarely need it.
+     */
+    Object getOgnlNode() throws OgnlException {
+      Object node = ognlNode;
+      if (node == null) {
+        node = Ognl.parseExpression(expression);
+        ognlNode = node;
+      }
+      return node;
+    }
+  }
+
+  private static class ReusableContext {
+
+    private final OgnlContext context = (OgnlContext) Ognl.createDefaultContext(null, MEMBER_ACCESS, CLASS_RESOLVER, null);
+    private boolean inUse;
   }
 
 }
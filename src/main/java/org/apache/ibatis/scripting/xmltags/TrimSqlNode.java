@@ -18,8 +18,6 @@ package org.apache.ibatis.scripting.xmltags;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 import java.util.StringTokenizer;
 
 import org.apache.ibatis.session.Configuration;
@@ -53,12 +51,13 @@ public class TrimSqlNode implements SqlNode {
 
   @Override
   public boolean apply(DynamicContext context) {
-    // 创建 FilteredDynamicContext 对象，其 中封装了 DynamicContext
-    FilteredDynamicContext filteredDynamicContext = new FilteredDynamicContext(context);
+    // the children write into the buffer of the context, the prefix and suffix are applied there in place
+    TrimScope scope = new TrimScope(context.getSqlBuilder().length());
+    context.enterScope(scope);
     // 调用子节点的 apply （）方法进行解析
-    boolean result = contents.apply(filteredDynamicContext);
-    // 使用 FilteredDynamicContext . applyAll （）方法处理前级和后缀
-    filteredDynamicContext.applyAll();
+    boolean result = contents.apply(context);
+    context.exitScope(scope);
+    scope.applyAll(context);
     return result;
   }
 
@@ -68,105 +67,102 @@ public class TrimSqlNode implements SqlNode {
       final StringTokenizer parser = new StringTokenizer(overrides, "|", false);
       final List<String> list = new ArrayList<>(parser.countTokens());
       while (parser.hasMoreTokens()) {
-        // 转换为大写， 并添加到集合中
-        list.add(parser.nextToken().toUpperCase(Locale.ENGLISH));
+        list.add(parser.nextToken());
       }
       return list;
     }
     return Collections.emptyList();
   }
 
-  private class FilteredDynamicContext extends DynamicContext {
-    // 底层封装的 DynamicContext 对象
-    private DynamicContext delegate;
-    // 是否 已经处理过前级和后缀， 初始位都为 false
-    private boolean prefixApplied;
-    private boolean suffixApplied;
-    // 用于记录子节点解析后的结果， FilteredDynam工cContext. appendSql （）方法会向该字段添加解析结果, 而不是调 用 delegate.appendSql （）方法
-    private StringBuilder sqlBuffer;
-
-    public FilteredDynamicContext(DynamicContext delegate) {
-      super(configuration, null);
-      this.delegate = delegate;
-      this.prefixApplied = false;
-      this.suffixApplied = false;
-      this.sqlBuffer = new StringBuilder();
+  private static boolean regionMatchesIgnoreCase(CharSequence sql, int offset, String other) {
+    if (offset < 0 || offset + other.length() > sql.length()) {
+      return false;
     }
-
-    public void applyAll() {
-      // 获取子节点解析后的结采， 并全部转换为大写
-      sqlBuffer = new StringBuilder(sqlBuffer.toString().trim());
-      String trimmedUppercaseSql = sqlBuffer.toString().toUpperCase(Locale.ENGLISH);
-      if (trimmedUppercaseSql.length() > 0) {
-        applyPrefix(sqlBuffer, trimmedUppercaseSql); // 处理前缀
-        applySuffix(sqlBuffer, trimmedUppercaseSql); // 处理后缀
+    for (int i = 0; i < other.length(); i++) {
+      char c1 = sql.charAt(offset + i);
+      char c2 = other.charAt(i);
+      if (c1 != c2 && Character.toUpperCase(c1) != Character.toUpperCase(c2)) {
+        return false;
       }
-      delegate.appendSql(sqlBuffer.toString()); // 将解析后的结果添加到 delegate 中
-    }
-
-    @Override
-    public Map<String, Object> getBindings() {
-      return delegate.getBindings();
     }
+    return true;
+  }
 
-    @Override
-    public void bind(String name, Object value) {
-      delegate.bind(name, value);
-    }
+  private class TrimScope extends DynamicContext.SqlScope {
+    // where the output of the children starts in the buffer
+    private final int start;
 
-    @Override
-    public int getUniqueNumber() {
-      return delegate.getUniqueNumber();
+    TrimScope(int start) {
+      this.start = start;
     }
 
     @Override
-    public void appendSql(String sql) {
-      sqlBuffer.append(sql);
+    int filter(DynamicContext context, int start, int end) {
+      // the fragments are only joined here, applyAll() hands the trimmed result over to the enclosing scope
+      return end;
     }
 
-    @Override
-    public String getSql() {
-      return delegate.getSql();
+    void applyAll(DynamicContext context) {
+      final StringBuilder sql = context.getSqlBuilder();
+      int end = sql.length();
+      while (end > start && sql.charAt(end - 1) <= ' ') {
+        end--;
+      }
+      int first = start;
+      while (first < end && sql.charAt(first) <= ' ') {
+        first++;
+      }
+      sql.setLength(end);
+      sql.delete(start, first);
+      if (sql.length() > start) {
+        // the suffix is matched against the fragment as it was before the prefix was applied
+        int suffixLength = matchSuffix(sql);
+        applyPrefix(sql);
+        applySuffix(sql, suffixLength);
+      }
+      filterInParent(context, start, sql.length());
     }
 
-    private void applyPrefix(StringBuilder sql, String trimmedUppercaseSql) {
-      if (!prefixApplied) {
-        prefixApplied = true;
-        if (prefixesToOverride != null) {
-          for (String toRemove : prefixesToOverride) {
-            if (trimmedUppercaseSql.startsWith(toRemove)) {
-              sql.delete(0, toRemove.trim().length());
-              break;
-            }
+    private int matchSuffix(StringBuilder sql) {
+      if (suffixesToOverride != null) {
+        for (String toRemove : suffixesToOverride) {
+          String trimmed = toRemove.trim();
+          if (endsWithIgnoreCase(sql, toRemove) || endsWithIgnoreCase(sql, trimmed)) {
+            return trimmed.length();
           }
         }
-        if (prefix != null) {
-          sql.insert(0, " ");
-          sql.insert(0, prefix);
-        }
       }
+      return -1;
+    }
+
+    private boolean endsWithIgnoreCase(StringBuilder sql, String other) {
+      return sql.length() - other.length() >= start && regionMatchesIgnoreCase(sql, sql.length() - other.length(), other);
     }
 
-    private void applySuffix(StringBuilder sql, String trimmedUppercaseSql) {
-      if (!suffixApplied) {
-        suffixApplied = true;
-        if (suffixesToOverride != null) {
-          for (String toRemove : suffixesToOverride) {
-            if (trimmedUppercaseSql.endsWith(toRemove) || trimmedUppercaseSql.endsWith(toRemove.trim())) {
-              int start = sql.length() - toRemove.trim().length();
-              int end = sql.length();
-              sql.delete(start, end);
-              break;
-            }
+    private void applyPrefix(StringBuilder sql) {
+      if (prefixesToOverride != null) {
+        for (String toRemove : prefixesToOverride) {
+          if (regionMatchesIgnoreCase(sql, start, toRemove)) {
+            sql.delete(start, start + toRemove.trim().length());
+            break;
           }
         }
-        if (suffix != null) {
-          sql.append(" ");
-          sql.append(suffix);
-        }
+      }
+      if (prefix != null) {
+        sql.insert(start, ' ');
+        sql.insert(start, prefix);
       }
     }
 
+    private void applySuffix(StringBuilder sql, int suffixLength) {
+      if (suffixLength >= 0) {
+        sql.setLength(Math.max(start, sql.length() - suffixLength));
+      }
+      if (suffix != null) {
+        sql.append(' ');
+        sql.append(suffix);
+      }
+    }
   }
 
 }
@@ -38,6 +38,7 @@ public class XMLScriptBuilder extends BaseBuilder {
   private boolean isDynamic;
   private final Class<?> parameterType;
   private final Map<String, NodeHandler> nodeHandlerMap = new HashMap<>();
+  private final List<ForEachSqlNode> chunkedForEachNodes = new ArrayList<>();
 
   public XMLScriptBuilder(Configuration configuration, XNode context) {
     this(configuration, context, null);
@@ -67,7 +68,7 @@ public class XMLScriptBuilder extends BaseBuilder {
     MixedSqlNode rootSqlNode = parseDynamicTags(context);
     SqlSource sqlSource = null;
     if (isDynamic) {
-      sqlSource = new DynamicSqlSource(configuration, rootSqlNode);
+      sqlSource = new DynamicSqlSource(configuration, rootSqlNode, chunkedForEachNodes);
     } else {
       sqlSource = new RawSqlSource(configuration, rootSqlNode, parameterType);
     }
@@ -176,7 +177,14 @@ public class XMLScriptBuilder extends BaseBuilder {
       String open = nodeToHandle.getStringAttribute("open");
       String close = nodeToHandle.getStringAttribute("close");
       String separator = nodeToHandle.getStringAttribute("separator");
-      ForEachSqlNode forEachSqlNode = new ForEachSqlNode(configuration, mixedSqlNode, collection, index, item, open, close, separator);
+      boolean bindAsArray = nodeToHandle.getBooleanAttribute("bindAsArray", false);
+      boolean padding = nodeToHandle.getBooleanAttribute("padding", false);
+      int chunkSize = nodeToHandle.getIntAttribute("chunkSize", 0);
+      ForEachSqlNode forEachSqlNode = new ForEachSqlNode(configuration, mixedSqlNode, collection, index, item, open, close, separator,
+          bindAsArray, padding, chunkSize);
+      if (chunkSize > 0) {
+        chunkedForEachNodes.add(forEachSqlNode);
+      }
       targetContents.add(forEachSqlNode);
     }
   }
@@ -15,21 +15,23 @@
  */
 package org.apache.ibatis.session;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.binding.MapperRegistry;
 import org.apache.ibatis.builder.CacheRefResolver;
 import org.apache.ibatis.builder.IncompleteElementException;
+import org.apache.ibatis.builder.IncompleteElements;
 import org.apache.ibatis.builder.ResultMapResolver;
 import org.apache.ibatis.builder.annotation.MethodResolver;
 import org.apache.ibatis.builder.xml.XMLStatementBuilder;
@@ -112,6 +114,12 @@ public class Configuration {
   protected boolean callSettersOnNulls;
   protected boolean useActualParamName = true;
   protected boolean returnInstanceForEmptyRow;
+  protected boolean resultSetMetaDataCacheEnabled;
+  protected boolean parallelResultMappingEnabled;
+  protected boolean nativeJavaTimeEnabled;
+  protected boolean mapperClassGenerationEnabled;
+  protected boolean parallelMapperLoadingEnabled;
+  protected boolean compiledSqlEnabled;
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
@@ -121,6 +129,7 @@ public class Configuration {
   protected Set<String> lazyLoadTriggerMethods = new HashSet<>(Arrays.asList("equals", "clone", "hashCode", "toString"));
   protected Integer defaultStatementTimeout;
   protected Integer defaultFetchSize;
+  protected Integer cursorPrefetchSize;
   protected ExecutorType defaultExecutorType = ExecutorType.SIMPLE;
   protected AutoMappingBehavior autoMappingBehavior = AutoMappingBehavior.PARTIAL;
   protected AutoMappingUnknownColumnBehavior autoMappingUnknownColumnBehavior = AutoMappingUnknownColumnBehavior.NONE;
@@ -151,18 +160,28 @@ public class Configuration {
   protected final Map<String, MappedStatement> mappedStatements = new StrictMap<MappedStatement>("Mapped Statements collection")
       .conflictMessageProducer((savedValue, targetValue) ->
           ". please check " + savedValue.getResource() + " and " + targetValue.getResource());
-  protected final Map<String, Cache> caches = new StrictMap<>("Caches collection");
-  protected final Map<String, ResultMap> resultMaps = new StrictMap<>("Result Maps collection");
-  protected final Map<String, ParameterMap> parameterMaps = new StrictMap<>("Parameter Maps collection");
+  protected final Map<String, Cache> caches = new StrictMap<Cache>("Caches collection")
+      .putListener(id -> referenceRegistered("cache", id));
+  protected final Map<String, ResultMap> resultMaps = new StrictMap<ResultMap>("Result Maps collection")
+      .putListener(id -> referenceRegistered("resultMap", id));
+  protected final Map<String, ParameterMap> parameterMaps = new StrictMap<ParameterMap>("Parameter Maps collection")
+      .putListener(id -> referenceRegistered("parameterMap", id));
   protected final Map<String, KeyGenerator> keyGenerators = new StrictMap<>("Key Generators collection");
 
   protected final Set<String> loadedResources = new HashSet<>();
-  protected final Map<String, XNode> sqlFragments = new StrictMap<>("XML fragments parsed from previous mappers");
+  protected final Map<String, XNode> sqlFragments = new StrictMap<XNode>("XML fragments parsed from previous mappers")
+      .putListener(id -> referenceRegistered("sql", id));
 
-  protected final Collection<XMLStatementBuilder> incompleteStatements = new LinkedList<>();
-  protected final Collection<CacheRefResolver> incompleteCacheRefs = new LinkedList<>();
-  protected final Collection<ResultMapResolver> incompleteResultMaps = new LinkedList<>();
-  protected final Collection<MethodResolver> incompleteMethods = new LinkedList<>();
+  // typed views of the collections below, which subclasses may hide behind their getters
+  private final IncompleteElements<XMLStatementBuilder> pendingStatements = new IncompleteElements<>();
+  private final IncompleteElements<CacheRefResolver> pendingCacheRefs = new IncompleteElements<>();
+  private final IncompleteElements<ResultMapResolver> pendingResultMaps = new IncompleteElements<>();
+  private final IncompleteElements<MethodResolver> pendingMethods = new IncompleteElements<>();
+
+  protected final Collection<XMLStatementBuilder> incompleteStatements = pendingStatements;
+  protected final Collection<CacheRefResolver> incompleteCacheRefs = pendingCacheRefs;
+  protected final Collection<ResultMapResolver> incompleteResultMaps = pendingResultMaps;
+  protected final Collection<MethodResolver> incompleteMethods = pendingMethods;
 
   /*
    * A map holds cache-ref relationship. The key is the namespace that
@@ -264,6 +283,91 @@ public class Configuration {
     this.returnInstanceForEmptyRow = returnEmptyInstance;
   }
 
+  /**
+   * @since 3.5.1
+   */
+  public boolean isResultSetMetaDataCacheEnabled() {
+    return resultSetMetaDataCacheEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void setResultSetMetaDataCacheEnabled(boolean resultSetMetaDataCacheEnabled) {
+    this.resultSetMetaDataCacheEnabled = resultSetMetaDataCacheEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public boolean isParallelResultMappingEnabled() {
+    return parallelResultMappingEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void setParallelResultMappingEnabled(boolean parallelResultMappingEnabled) {
+    this.parallelResultMappingEnabled = parallelResultMappingEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public boolean isNativeJavaTimeEnabled() {
+    return nativeJavaTimeEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void setNativeJavaTimeEnabled(boolean nativeJavaTimeEnabled) {
+    this.nativeJavaTimeEnabled = nativeJavaTimeEnabled;
+    typeHandlerRegistry.setNativeJavaTime(nativeJavaTimeEnabled);
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public boolean isMapperClassGenerationEnabled() {
+    return mapperClassGenerationEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void setMapperClassGenerationEnabled(boolean mapperClassGenerationEnabled) {
+    this.mapperClassGenerationEnabled = mapperClassGenerationEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public boolean isParallelMapperLoadingEnabled() {
+    return parallelMapperLoadingEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void setParallelMapperLoadingEnabled(boolean parallelMapperLoadingEnabled) {
+    this.parallelMapperLoadingEnabled = parallelMapperLoadingEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public boolean isCompiledSqlEnabled() {
+    return compiledSqlEnabled;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void setCompiledSqlEnabled(boolean compiledSqlEnabled) {
+    this.compiledSqlEnabled = compiledSqlEnabled;
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
@@ -431,6 +535,20 @@ public class Configuration {
     this.defaultFetchSize = defaultFetchSize;
   }
 
+  /**
+   * @since 3.5.1
+   */
+  public Integer getCursorPrefetchSize() {
+    return cursorPrefetchSize;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void setCursorPrefetchSize(Integer cursorPrefetchSize) {
+    this.cursorPrefetchSize = cursorPrefetchSize;
+  }
+
   public boolean isUseColumnLabel() {
     return useColumnLabel;
   }
@@ -692,7 +810,14 @@ public class Configuration {
   }
 
   public void addIncompleteStatement(XMLStatementBuilder incompleteStatement) {
-    incompleteStatements.add(incompleteStatement);
+    pendingStatements.add(incompleteStatement);
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void addIncompleteStatement(XMLStatementBuilder incompleteStatement, IncompleteElementException cause) {
+    pendingStatements.add(incompleteStatement, cause);
   }
 
   public Collection<CacheRefResolver> getIncompleteCacheRefs() {
@@ -700,7 +825,14 @@ public class Configuration {
   }
 
   public void addIncompleteCacheRef(CacheRefResolver incompleteCacheRef) {
-    incompleteCacheRefs.add(incompleteCacheRef);
+    pendingCacheRefs.add(incompleteCacheRef);
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void addIncompleteCacheRef(CacheRefResolver incompleteCacheRef, IncompleteElementException cause) {
+    pendingCacheRefs.add(incompleteCacheRef, cause);
   }
 
   public Collection<ResultMapResolver> getIncompleteResultMaps() {
@@ -708,17 +840,67 @@ public class Configuration {
   }
 
   public void addIncompleteResultMap(ResultMapResolver resultMapResolver) {
-    incompleteResultMaps.add(resultMapResolver);
+    pendingResultMaps.add(resultMapResolver);
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void addIncompleteResultMap(ResultMapResolver resultMapResolver, IncompleteElementException cause) {
+    pendingResultMaps.add(resultMapResolver, cause);
   }
 
   public void addIncompleteMethod(MethodResolver builder) {
-    incompleteMethods.add(builder);
+    pendingMethods.add(builder);
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public void addIncompleteMethod(MethodResolver builder, IncompleteElementException cause) {
+    pendingMethods.add(builder, cause);
   }
 
   public Collection<MethodResolver> getIncompleteMethods() {
     return incompleteMethods;
   }
 
+  /**
+   * Retries the incomplete result maps whose missing references have been registered since they failed.
+   *
+   * @since 3.5.1
+   */
+  public void resolveIncompleteResultMaps() {
+    pendingResultMaps.resolve(ResultMapResolver::resolve);
+  }
+
+  /**
+   * Retries the incomplete cache references whose caches have been registered since they failed.
+   *
+   * @since 3.5.1
+   */
+  public void resolveIncompleteCacheRefs() {
+    pendingCacheRefs.resolve(CacheRefResolver::resolveCacheRef);
+  }
+
+  /**
+   * Retries the incomplete statements whose missing references have been registered since they failed.
+   *
+   * @since 3.5.1
+   */
+  public void resolveIncompleteStatements() {
+    pendingStatements.resolve(XMLStatementBuilder::parseStatementNode);
+  }
+
+  /**
+   * Retries the incomplete mapper methods whose missing references have been registered since they failed.
+   *
+   * @since 3.5.1
+   */
+  public void resolveIncompleteMethods() {
+    pendingMethods.resolve(MethodResolver::resolve);
+  }
+
   public MappedStatement getMappedStatement(String id) {
     return this.getMappedStatement(id, true);
   }
@@ -779,57 +961,67 @@ public class Configuration {
    * statement validation.
    */
   protected void buildAllStatements() {
-    parsePendingResultMaps();
-    if (!incompleteCacheRefs.isEmpty()) {
-      synchronized (incompleteCacheRefs) {
-        incompleteCacheRefs.removeIf(x -> x.resolveCacheRef() != null);
-      }
+    if (!hasIncompleteElements()) {
+      return;
     }
-    if (!incompleteStatements.isEmpty()) {
-      synchronized (incompleteStatements) {
-        incompleteStatements.removeIf(x -> {
-          x.parseStatementNode();
-          return true;
-        });
-      }
+    pendingResultMaps.resolveAll(ResultMapResolver::resolve);
+    pendingCacheRefs.resolveAll(CacheRefResolver::resolveCacheRef);
+    pendingStatements.resolveAll(XMLStatementBuilder::parseStatementNode);
+    pendingMethods.resolveAll(MethodResolver::resolve);
+    if (!hasIncompleteElements()) {
+      return;
     }
-    if (!incompleteMethods.isEmpty()) {
-      synchronized (incompleteMethods) {
-        incompleteMethods.removeIf(x -> {
-          x.resolve();
-          return true;
-        });
+    List<IncompleteElementException> causes = new ArrayList<>();
+    causes.addAll(pendingResultMaps.getCauses());
+    causes.addAll(pendingCacheRefs.getCauses());
+    causes.addAll(pendingStatements.getCauses());
+    causes.addAll(pendingMethods.getCauses());
+    if (causes.isEmpty()) {
+      // the elements left were added by other threads meanwhile, without having been tried yet
+      return;
+    }
+    if (causes.size() == 1) {
+      throw causes.get(0);
+    }
+    // report every missing reference at once, elements waiting on the same one are counted
+    Map<String, Integer> messages = new LinkedHashMap<>();
+    for (IncompleteElementException cause : causes) {
+      messages.merge(cause.getMessage(), 1, Integer::sum);
+    }
+    StringBuilder message = new StringBuilder("Could not resolve ").append(causes.size()).append(" incomplete elements:");
+    for (Map.Entry<String, Integer> entry : messages.entrySet()) {
+      message.append("\n  ").append(entry.getKey());
+      if (entry.getValue() > 1) {
+        message.append(" (").append(entry.getValue()).append(" elements)");
       }
     }
+    throw new IncompleteElementException(message.toString(), causes.get(0));
   }
 
-  private void parsePendingResultMaps() {
-    if (incompleteResultMaps.isEmpty()) {
-      return;
-    }
-    synchronized (incompleteResultMaps) {
-      boolean resolved;
-      IncompleteElementException ex = null;
-      do {
-        resolved = false;
-        Iterator<ResultMapResolver> iterator = incompleteResultMaps.iterator();
-        while (iterator.hasNext()) {
-          try {
-            iterator.next().resolve();
-            iterator.remove();
-            resolved = true;
-          } catch (IncompleteElementException e) {
-            ex = e;
-          }
-        }
-      } while (resolved);
-      if (!incompleteResultMaps.isEmpty() && ex != null) {
-        // At least one result map is unresolvable.
-        throw ex;
-      }
+  private boolean hasIncompleteElements() {
+    return !pendingResultMaps.isEmpty() || !pendingCacheRefs.isEmpty()
+        || !pendingStatements.isEmpty() || !pendingMethods.isEmpty();
+  }
+
+  /**
+   * Marks the incomplete elements waiting on the given element as ready to be resolved again.
+   * Elements are looked up by full id as well as by short name, as the maps holding them are.
+   */
+  private void referenceRegistered(String type, String id) {
+    referenceRegistered(IncompleteElements.reference(type, id));
+    int lastPeriod = id.lastIndexOf('.');
+    if (lastPeriod >= 0) {
+      referenceRegistered(IncompleteElements.reference(type, id.substring(lastPeriod + 1)));
     }
   }
 
+  private void referenceRegistered(String reference) {
+    pendingResultMaps.referenceRegistered(reference);
+    pendingCacheRefs.referenceRegistered(reference);
+    pendingStatements.referenceRegistered(reference);
+    pendingMethods.referenceRegistered(reference);
+  }
+
   /**
    * Extracts namespace from fully qualified statement id.
    *
@@ -880,6 +1072,7 @@ public class Configuration {
     private static final long serialVersionUID = -4950446264854982944L;
     private final String name;
     private BiFunction<V, V, String> conflictMessageProducer;
+    private Consumer<String> putListener;
 
     public StrictMap(String name, int initialCapacity, float loadFactor) {
       super(initialCapacity, loadFactor);
@@ -914,6 +1107,18 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Assign a listener that is notified with the key of each value that has been put.
+     *
+     * @param putListener A listener receiving the key of the added value
+     * @return this map
+     * @since 3.5.1
+     */
+    public StrictMap<V> putListener(Consumer<String> putListener) {
+      this.putListener = putListener;
+      return this;
+    }
+
     @SuppressWarnings("unchecked")
     public V put(String key, V value) {
       if (containsKey(key)) {
@@ -930,7 +1135,11 @@ public class Configuration {
           super.put(shortKey, (V) new Ambiguity(shortKey));
         }
       }
-      return super.put(key, value);
+      V previous = super.put(key, value);
+      if (putListener != null) {
+        putListener.accept(key);
+      }
+      return previous;
     }
 
     public V get(Object key) {
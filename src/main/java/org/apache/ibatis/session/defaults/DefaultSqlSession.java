@@ -23,17 +23,22 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.apache.ibatis.binding.BindingException;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.cursor.defaults.ChunkedCursor;
 import org.apache.ibatis.exceptions.ExceptionFactory;
 import org.apache.ibatis.exceptions.TooManyResultsException;
+import org.apache.ibatis.executor.BatchExecutor;
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.executor.result.DefaultMapResultHandler;
 import org.apache.ibatis.executor.result.DefaultResultContext;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
@@ -73,7 +78,8 @@ public class DefaultSqlSession implements SqlSession {
   @Override
   public <T> T selectOne(String statement, Object parameter) {
     // Popular vote was to return null on 0 results and throw exception on too many.
-    List<T> list = this.selectList(statement, parameter);
+    // The results of the chunks of a collection cannot be combined into one, e.g. for a count.
+    List<T> list = this.selectList(statement, parameter, RowBounds.DEFAULT, false);
     if (list.size() == 1) {
       return list.get(0);
     } else if (list.size() > 1) {
@@ -120,7 +126,33 @@ public class DefaultSqlSession implements SqlSession {
   public <T> Cursor<T> selectCursor(String statement, Object parameter, RowBounds rowBounds) {
     try {
       MappedStatement ms = configuration.getMappedStatement(statement);
-      Cursor<T> cursor = executor.queryCursor(ms, wrapCollection(parameter), rowBounds);
+      Object parameterObject = wrapCollection(parameter);
+      List<Object> chunks = splitParameter(ms, parameterObject, rowBounds);
+      if (chunks == null) {
+        Cursor<T> cursor = executor.queryCursor(ms, parameterObject, rowBounds);
+        registerCursor(cursor);
+        return cursor;
+      }
+      List<Supplier<Cursor<T>>> chunkCursors = new ArrayList<>();
+      for (Object chunk : chunks) {
+        chunkCursors.add(() -> queryChunkCursor(ms, chunk, rowBounds));
+      }
+      Cursor<T> cursor = new ChunkedCursor<>(chunkCursors);
+      registerCursor(cursor);
+      return cursor;
+    } catch (Exception e) {
+      throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
+    } finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
+  /**
+   * Executes the statement for one chunk, once the cursor of the previous chunk has been consumed.
+   */
+  private <T> Cursor<T> queryChunkCursor(MappedStatement ms, Object chunk, RowBounds rowBounds) {
+    try {
+      Cursor<T> cursor = executor.queryCursor(ms, chunk, rowBounds);
       registerCursor(cursor);
       return cursor;
     } catch (Exception e) {
@@ -142,9 +174,26 @@ public class DefaultSqlSession implements SqlSession {
 
   @Override
   public <E> List<E> selectList(String statement, Object parameter, RowBounds rowBounds) {
+    return selectList(statement, parameter, rowBounds, true);
+  }
+
+  private <E> List<E> selectList(String statement, Object parameter, RowBounds rowBounds, boolean chunksAllowed) {
     try {
       MappedStatement ms = configuration.getMappedStatement(statement);
-      return executor.query(ms, wrapCollection(parameter), rowBounds, Executor.NO_RESULT_HANDLER);
+      Object parameterObject = wrapCollection(parameter);
+      List<Object> chunks = splitParameter(ms, parameterObject, rowBounds);
+      if (chunks == null) {
+        return executor.query(ms, parameterObject, rowBounds, Executor.NO_RESULT_HANDLER);
+      }
+      if (!chunksAllowed) {
+        throw new ExecutorException("The statement '" + ms.getId() + "' would be executed once for each of the "
+            + chunks.size() + " chunks of its collection, but selectOne() expects a single result.");
+      }
+      List<E> results = new ArrayList<>();
+      for (Object chunk : chunks) {
+        results.addAll(executor.<E>query(ms, chunk, rowBounds, Executor.NO_RESULT_HANDLER));
+      }
+      return results;
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
     } finally {
@@ -166,7 +215,15 @@ public class DefaultSqlSession implements SqlSession {
   public void select(String statement, Object parameter, RowBounds rowBounds, ResultHandler handler) {
     try {
       MappedStatement ms = configuration.getMappedStatement(statement);
-      executor.query(ms, wrapCollection(parameter), rowBounds, handler);
+      Object parameterObject = wrapCollection(parameter);
+      List<Object> chunks = splitParameter(ms, parameterObject, rowBounds);
+      if (chunks == null) {
+        executor.query(ms, parameterObject, rowBounds, handler);
+      } else {
+        for (Object chunk : chunks) {
+          executor.query(ms, chunk, rowBounds, handler);
+        }
+      }
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
     } finally {
@@ -194,7 +251,23 @@ public class DefaultSqlSession implements SqlSession {
     try {
       dirty = true;
       MappedStatement ms = configuration.getMappedStatement(statement);
-      return executor.update(ms, wrapCollection(parameter));
+      Object parameterObject = wrapCollection(parameter);
+      List<Object> chunks = splitParameter(ms, parameterObject, RowBounds.DEFAULT);
+      if (chunks == null) {
+        return executor.update(ms, parameterObject);
+      }
+      int updateCount = 0;
+      boolean batched = false;
+      for (Object chunk : chunks) {
+        int chunkUpdateCount = executor.update(ms, chunk);
+        if (chunkUpdateCount == BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+          // the counts are only known when the batch is flushed
+          batched = true;
+        } else {
+          updateCount += chunkUpdateCount;
+        }
+      }
+      return batched ? BatchExecutor.BATCH_UPDATE_RETURN_VALUE : updateCount;
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error updating database.  Cause: " + e, e);
     } finally {
@@ -316,6 +389,18 @@ public class DefaultSqlSession implements SqlSession {
     return (!autoCommit && dirty) || force;
   }
 
+  /**
+   * Splits the parameter when a {@code <foreach>} of the statement limits the number of items per execution.
+   * Statements with row bounds are executed once, as the bounds could not be applied across the chunks.
+   */
+  private List<Object> splitParameter(MappedStatement ms, Object parameterObject, RowBounds rowBounds) {
+    if (!(ms.getSqlSource() instanceof DynamicSqlSource)
+        || rowBounds.getOffset() != RowBounds.NO_ROW_OFFSET || rowBounds.getLimit() != RowBounds.NO_ROW_LIMIT) {
+      return null;
+    }
+    return ((DynamicSqlSource) ms.getSqlSource()).splitParameterObject(parameterObject);
+  }
+
   private Object wrapCollection(final Object object) {
     if (object instanceof Collection) {
       StrictMap<Object> map = new StrictMap<>();
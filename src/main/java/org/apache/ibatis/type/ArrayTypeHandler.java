@@ -15,24 +15,117 @@
  */
 package org.apache.ibatis.type;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Array;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Clinton Begin
  */
 public class ArrayTypeHandler extends BaseTypeHandler<Object> {
 
+  private static final Map<Class<?>, String> STANDARD_MAPPING;
+  static {
+    STANDARD_MAPPING = new HashMap<>();
+    STANDARD_MAPPING.put(BigDecimal.class, JdbcType.NUMERIC.name());
+    STANDARD_MAPPING.put(BigInteger.class, JdbcType.BIGINT.name());
+    STANDARD_MAPPING.put(boolean.class, JdbcType.BOOLEAN.name());
+    STANDARD_MAPPING.put(Boolean.class, JdbcType.BOOLEAN.name());
+    STANDARD_MAPPING.put(byte[].class, JdbcType.VARBINARY.name());
+    STANDARD_MAPPING.put(byte.class, JdbcType.TINYINT.name());
+    STANDARD_MAPPING.put(Byte.class, JdbcType.TINYINT.name());
+    STANDARD_MAPPING.put(java.util.Date.class, JdbcType.TIMESTAMP.name());
+    STANDARD_MAPPING.put(java.sql.Date.class, JdbcType.DATE.name());
+    STANDARD_MAPPING.put(double.class, JdbcType.DOUBLE.name());
+    STANDARD_MAPPING.put(Double.class, JdbcType.DOUBLE.name());
+    STANDARD_MAPPING.put(float.class, JdbcType.REAL.name());
+    STANDARD_MAPPING.put(Float.class, JdbcType.REAL.name());
+    STANDARD_MAPPING.put(int.class, JdbcType.INTEGER.name());
+    STANDARD_MAPPING.put(Integer.class, JdbcType.INTEGER.name());
+    STANDARD_MAPPING.put(long.class, JdbcType.BIGINT.name());
+    STANDARD_MAPPING.put(Long.class, JdbcType.BIGINT.name());
+    STANDARD_MAPPING.put(short.class, JdbcType.SMALLINT.name());
+    STANDARD_MAPPING.put(Short.class, JdbcType.SMALLINT.name());
+    STANDARD_MAPPING.put(String.class, JdbcType.VARCHAR.name());
+    STANDARD_MAPPING.put(Time.class, JdbcType.TIME.name());
+    STANDARD_MAPPING.put(Timestamp.class, JdbcType.TIMESTAMP.name());
+  }
+
   public ArrayTypeHandler() {
     super();
   }
 
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Object parameter, JdbcType jdbcType) throws SQLException {
-    ps.setArray(i, (Array) parameter);
+    if (parameter instanceof Array) {
+      // it's the user's responsibility to properly free() the Array instance
+      ps.setArray(i, (Array) parameter);
+    } else {
+      Object[] elements = toObjectArray(parameter);
+      String typeName = resolveTypeName(parameter, elements);
+      Array array = ps.getConnection().createArrayOf(typeName, elements);
+      ps.setArray(i, array);
+      array.free();
+    }
+  }
+
+  /**
+   * Returns the SQL type name that is passed to {@link java.sql.Connection#createArrayOf(String, Object[])}
+   * for the given Java array or collection. It is derived from the component type of the array or, for
+   * collections and {@code Object[]}, from the type of the elements.
+   *
+   * @throws TypeException if the type of the elements has no standard SQL type name
+   * @since 3.5.1
+   */
+  protected String resolveTypeName(Object parameter, Object[] elements) {
+    Class<?> elementType = parameter.getClass().getComponentType();
+    if (elementType == null || elementType == Object.class) {
+      elementType = null;
+      for (Object element : elements) {
+        if (element != null) {
+          if (elementType == null) {
+            elementType = element.getClass();
+          } else if (elementType != element.getClass()) {
+            elementType = null;
+            break;
+          }
+        }
+      }
+    }
+    String typeName = elementType == null ? null : STANDARD_MAPPING.get(elementType);
+    if (typeName == null) {
+      throw new TypeException("ArrayTypeHandler cannot derive the SQL type name of the array elements of type "
+          + (elementType == null ? "unknown (empty, null or mixed elements)" : elementType.getName())
+          + ". Bind a java.sql.Array or override resolveTypeName.");
+    }
+    return typeName;
+  }
+
+  private Object[] toObjectArray(Object parameter) {
+    if (parameter instanceof Object[]) {
+      return (Object[]) parameter;
+    } else if (parameter instanceof Collection) {
+      return ((Collection<?>) parameter).toArray();
+    } else if (parameter.getClass().isArray()) {
+      // a primitive array, the driver expects the boxed values
+      int length = java.lang.reflect.Array.getLength(parameter);
+      Object[] elements = new Object[length];
+      for (int i = 0; i < length; i++) {
+        elements[i] = java.lang.reflect.Array.get(parameter, i);
+      }
+      return elements;
+    }
+    throw new TypeException("ArrayTypeHandler cannot bind a parameter of type " + parameter.getClass().getName()
+        + ", expected a java.sql.Array, a Java array or a collection.");
   }
 
   @Override
@@ -0,0 +1,197 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.executor.statement.StatementUtil;
+
+/**
+ * The {@link TypeHandler} for {@link Blob}/{@link Path} that streams the content of a file,
+ * so that large binary values never have to fit into a {@code byte[]}.
+ * <p>
+ * A parameter is bound with {@link PreparedStatement#setBinaryStream(int, InputStream, long)} using the file size.
+ * The file is only opened when the driver starts reading it, and closed once all of its bytes have been read,
+ * or at the latest when the executor closes the statement.
+ * A result is copied from the {@link Blob} stream into a new temporary file, which belongs to the caller afterwards.
+ * </p>
+ * This handler is not registered by default, it has to be set on the mappings that use it.
+ *
+ * @since 3.5.1
+ */
+public class BlobPathTypeHandler extends BaseTypeHandler<Path> {
+
+  private final Path directory;
+
+  public BlobPathTypeHandler() {
+    this(null);
+  }
+
+  /**
+   * @param directory the directory of the temporary files created for results, {@code null} for the default one
+   */
+  public BlobPathTypeHandler(Path directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, Path parameter, JdbcType jdbcType)
+      throws SQLException {
+    final long length;
+    try {
+      length = Files.size(parameter);
+    } catch (IOException e) {
+      throw new TypeException("Could not read the file " + parameter + ".  Cause: " + e, e);
+    }
+    final InputStream in = new FileContentInputStream(parameter, length);
+    StatementUtil.closeWithStatement(ps, in);
+    ps.setBinaryStream(i, in, length);
+  }
+
+  @Override
+  public Path getNullableResult(ResultSet rs, String columnName)
+      throws SQLException {
+    return toPath(rs.getBlob(columnName));
+  }
+
+  @Override
+  public Path getNullableResult(ResultSet rs, int columnIndex)
+      throws SQLException {
+    return toPath(rs.getBlob(columnIndex));
+  }
+
+  @Override
+  public Path getNullableResult(CallableStatement cs, int columnIndex)
+      throws SQLException {
+    return toPath(cs.getBlob(columnIndex));
+  }
+
+  private Path toPath(Blob blob) throws SQLException {
+    if (blob == null) {
+      return null;
+    }
+    Path file = null;
+    try (InputStream in = blob.getBinaryStream()) {
+      file = directory == null ? Files.createTempFile("mybatis", ".blob") : Files.createTempFile(directory, "mybatis", ".blob");
+      Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+      return file;
+    } catch (IOException e) {
+      deleteQuietly(file);
+      throw new TypeException("Could not copy the BLOB into a file.  Cause: " + e, e);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        // ignore
+      }
+    }
+  }
+
+  /**
+   * Opens the file on the first read, and closes it once all of its bytes have been read or skipped.
+   */
+  static class FileContentInputStream extends InputStream {
+
+    private final Path file;
+    private long remaining;
+    private InputStream in;
+    private boolean closed;
+
+    FileContentInputStream(Path file, long length) {
+      this.file = file;
+      this.remaining = length;
+      this.closed = length <= 0;
+    }
+
+    InputStream open(Path file) throws IOException {
+      return Files.newInputStream(file);
+    }
+
+    private InputStream in() throws IOException {
+      if (in == null) {
+        in = open(file);
+      }
+      return in;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (closed) {
+        return -1;
+      }
+      final int b = in().read();
+      closeAtEnd(b < 0 ? -1 : 1);
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (closed) {
+        return -1;
+      }
+      final int n = in().read(b, off, len);
+      closeAtEnd(n);
+      return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      if (closed) {
+        return 0;
+      }
+      final long skipped = in().skip(n);
+      closeAtEnd(skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+      return closed ? 0 : in().available();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        if (in != null) {
+          in.close();
+        }
+      }
+    }
+
+    private void closeAtEnd(long read) throws IOException {
+      remaining -= Math.max(read, 0);
+      if (read < 0 || remaining <= 0) {
+        close();
+      }
+    }
+
+  }
+
+}
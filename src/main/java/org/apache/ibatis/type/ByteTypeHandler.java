@@ -23,7 +23,7 @@ import java.sql.SQLException;
 /**
  * @author Clinton Begin
  */
-public class ByteTypeHandler extends BaseTypeHandler<Byte> {
+public class ByteTypeHandler extends BaseTypeHandler<Byte> implements PrimitiveTypeHandler {
 
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Byte parameter, JdbcType jdbcType)
@@ -51,4 +51,14 @@ public class ByteTypeHandler extends BaseTypeHandler<Byte> {
     byte result = cs.getByte(columnIndex);
     return result == 0 && cs.wasNull() ? null : result;
   }
+
+  @Override
+  public Class<?> getPrimitiveType() {
+    return byte.class;
+  }
+
+  @Override
+  public byte getByte(ResultSet rs, String columnName) throws SQLException {
+    return rs.getByte(columnName);
+  }
 }
@@ -23,7 +23,7 @@ import java.sql.SQLException;
 /**
  * @author Clinton Begin
  */
-public class DoubleTypeHandler extends BaseTypeHandler<Double> {
+public class DoubleTypeHandler extends BaseTypeHandler<Double> implements PrimitiveTypeHandler {
 
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Double parameter, JdbcType jdbcType)
@@ -52,4 +52,14 @@ public class DoubleTypeHandler extends BaseTypeHandler<Double> {
     return result == 0 && cs.wasNull() ? null : result;
   }
 
+
+  @Override
+  public Class<?> getPrimitiveType() {
+    return double.class;
+  }
+
+  @Override
+  public double getDouble(ResultSet rs, String columnName) throws SQLException {
+    return rs.getDouble(columnName);
+  }
 }
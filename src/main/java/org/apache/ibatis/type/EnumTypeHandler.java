@@ -19,6 +19,8 @@ import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Clinton Begin
@@ -26,12 +28,21 @@ import java.sql.SQLException;
 public class EnumTypeHandler<E extends Enum<E>> extends BaseTypeHandler<E> {
 
   private final Class<E> type;
+  private final Map<String, E> enumsByName;
 
   public EnumTypeHandler(Class<E> type) {
     if (type == null) {
       throw new IllegalArgumentException("Type argument cannot be null");
     }
     this.type = type;
+    final E[] enums = type.getEnumConstants();
+    if (enums == null) {
+      throw new IllegalArgumentException(type.getSimpleName() + " does not represent an enum type.");
+    }
+    this.enumsByName = new HashMap<>(enums.length * 4 / 3 + 1);
+    for (E e : enums) {
+      enumsByName.put(e.name(), e);
+    }
   }
 
   @Override
@@ -46,18 +57,27 @@ public class EnumTypeHandler<E extends Enum<E>> extends BaseTypeHandler<E> {
   @Override
   public E getNullableResult(ResultSet rs, String columnName) throws SQLException {
     String s = rs.getString(columnName);
-    return s == null ? null : Enum.valueOf(type, s);
+    return s == null ? null : valueOf(s);
   }
 
   @Override
   public E getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
     String s = rs.getString(columnIndex);
-    return s == null ? null : Enum.valueOf(type, s);
+    return s == null ? null : valueOf(s);
   }
 
   @Override
   public E getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
     String s = cs.getString(columnIndex);
-    return s == null ? null : Enum.valueOf(type, s);
+    return s == null ? null : valueOf(s);
+  }
+
+  private E valueOf(String name) {
+    final E e = enumsByName.get(name);
+    if (e == null) {
+      // same as Enum#valueOf
+      throw new IllegalArgumentException("No enum constant " + type.getCanonicalName() + "." + name);
+    }
+    return e;
   }
-}
\ No newline at end of file
+}
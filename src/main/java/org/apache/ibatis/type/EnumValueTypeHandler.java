@@ -0,0 +1,200 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.lang.reflect.Field;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Maps an enum to the code held by its {@link EnumValue} field, or to its name when the enum has no such field.
+ * <p>
+ * The codes are read once when the handler is created. Text codes are looked up in a hash table,
+ * and integral codes in an array indexed by the code when they are dense enough, otherwise in a hash table.
+ * As it falls back to names, this handler can also be set as {@code defaultEnumTypeHandler}.
+ * </p>
+ *
+ * @since 3.5.1
+ */
+public class EnumValueTypeHandler<E extends Enum<E>> extends BaseTypeHandler<E> {
+
+  private final Class<E> type;
+  private final Object[] codes;
+  private final boolean numeric;
+  private final Map<Object, E> enumsByCode;
+  private final E[] enumTable;
+  private final long minCode;
+
+  public EnumValueTypeHandler(Class<E> type) {
+    if (type == null) {
+      throw new IllegalArgumentException("Type argument cannot be null");
+    }
+    this.type = type;
+    final E[] enums = type.getEnumConstants();
+    if (enums == null) {
+      throw new IllegalArgumentException(type.getSimpleName() + " does not represent an enum type.");
+    }
+    final Field codeField = findCodeField(type);
+    this.numeric = codeField != null && isIntegral(codeField.getType());
+    this.codes = new Object[enums.length];
+    this.enumsByCode = new HashMap<>(enums.length * 4 / 3 + 1);
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (E e : enums) {
+      final Object code = codeField == null ? e.name() : readCode(codeField, e);
+      final Object key = numeric ? (Object) ((Number) code).longValue() : code;
+      if (enumsByCode.put(key, e) != null) {
+        throw new IllegalArgumentException("Duplicate code " + code + " in " + type.getSimpleName() + ".");
+      }
+      codes[e.ordinal()] = code;
+      if (numeric) {
+        min = Math.min(min, (Long) key);
+        max = Math.max(max, (Long) key);
+      }
+    }
+    this.minCode = min;
+    this.enumTable = numeric && isDense(min, max, enums.length) ? createTable(enums, min, max) : null;
+  }
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, E parameter, JdbcType jdbcType) throws SQLException {
+    final Object code = codes[parameter.ordinal()];
+    if (jdbcType != null) {
+      ps.setObject(i, code, jdbcType.TYPE_CODE);
+    } else if (numeric) {
+      ps.setObject(i, code);
+    } else {
+      ps.setString(i, (String) code);
+    }
+  }
+
+  @Override
+  public E getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    if (numeric) {
+      final long code = rs.getLong(columnName);
+      return code == 0 && rs.wasNull() ? null : valueOf(code);
+    }
+    final String code = rs.getString(columnName);
+    return code == null ? null : valueOf(code);
+  }
+
+  @Override
+  public E getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    if (numeric) {
+      final long code = rs.getLong(columnIndex);
+      return code == 0 && rs.wasNull() ? null : valueOf(code);
+    }
+    final String code = rs.getString(columnIndex);
+    return code == null ? null : valueOf(code);
+  }
+
+  @Override
+  public E getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    if (numeric) {
+      final long code = cs.getLong(columnIndex);
+      return code == 0 && cs.wasNull() ? null : valueOf(code);
+    }
+    final String code = cs.getString(columnIndex);
+    return code == null ? null : valueOf(code);
+  }
+
+  private E valueOf(long code) {
+    E e = null;
+    if (enumTable != null) {
+      final long index = code - minCode;
+      if (index >= 0 && index < enumTable.length) {
+        e = enumTable[(int) index];
+      }
+    } else {
+      e = enumsByCode.get(code);
+    }
+    if (e == null) {
+      throw new IllegalArgumentException("Cannot convert " + code + " to " + type.getSimpleName() + " by code value.");
+    }
+    return e;
+  }
+
+  private E valueOf(String code) {
+    final E e = enumsByCode.get(code);
+    if (e == null) {
+      throw new IllegalArgumentException("Cannot convert " + code + " to " + type.getSimpleName() + " by code value.");
+    }
+    return e;
+  }
+
+  private static Field findCodeField(Class<?> type) {
+    Field codeField = null;
+    for (Field field : type.getDeclaredFields()) {
+      if (field.isAnnotationPresent(EnumValue.class)) {
+        if (codeField != null) {
+          throw new IllegalArgumentException("More than one field of " + type.getSimpleName() + " is annotated with @EnumValue.");
+        }
+        final Class<?> fieldType = field.getType();
+        if (fieldType != String.class && fieldType != char.class && fieldType != Character.class && !isIntegral(fieldType)) {
+          throw new IllegalArgumentException("The @EnumValue field '" + field.getName() + "' of " + type.getSimpleName()
+              + " must be a String, a char or an integral number.");
+        }
+        codeField = field;
+      }
+    }
+    if (codeField != null && !codeField.isAccessible() && Reflector.canControlMemberAccessible()) {
+      codeField.setAccessible(true);
+    }
+    return codeField;
+  }
+
+  private static Object readCode(Field codeField, Enum<?> e) {
+    final Object code;
+    try {
+      code = codeField.get(e);
+    } catch (IllegalAccessException ex) {
+      throw new IllegalArgumentException("Cannot read the @EnumValue field '" + codeField.getName() + "' of " + e + ".", ex);
+    }
+    if (code == null) {
+      throw new IllegalArgumentException("The @EnumValue field '" + codeField.getName() + "' of " + e + " is null.");
+    }
+    // chars are stored as one character strings
+    return code instanceof Character ? code.toString() : code;
+  }
+
+  private static boolean isIntegral(Class<?> type) {
+    return type == int.class || type == Integer.class || type == long.class || type == Long.class
+        || type == short.class || type == Short.class || type == byte.class || type == Byte.class;
+  }
+
+  private static boolean isDense(long min, long max, int count) {
+    // the difference may overflow for codes far apart, so check both bounds
+    final long span = max - min;
+    return span >= 0 && span < Math.max(64, count * 4L);
+  }
+
+  private E[] createTable(E[] enums, long min, long max) {
+    final E[] table = Arrays.copyOf(enums, (int) (max - min + 1));
+    Arrays.fill(table, null);
+    for (E e : enums) {
+      table[(int) (((Number) codes[e.ordinal()]).longValue() - min)] = e;
+    }
+    return table;
+  }
+
+}
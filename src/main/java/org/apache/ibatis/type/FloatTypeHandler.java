@@ -23,7 +23,7 @@ import java.sql.SQLException;
 /**
  * @author Clinton Begin
  */
-public class FloatTypeHandler extends BaseTypeHandler<Float> {
+public class FloatTypeHandler extends BaseTypeHandler<Float> implements PrimitiveTypeHandler {
 
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Float parameter, JdbcType jdbcType)
@@ -51,4 +51,14 @@ public class FloatTypeHandler extends BaseTypeHandler<Float> {
     float result = cs.getFloat(columnIndex);
     return result == 0 && cs.wasNull() ? null : result;
   }
+
+  @Override
+  public Class<?> getPrimitiveType() {
+    return float.class;
+  }
+
+  @Override
+  public float getFloat(ResultSet rs, String columnName) throws SQLException {
+    return rs.getFloat(columnName);
+  }
 }
@@ -0,0 +1,86 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Detects whether a JDBC driver implements the JDBC 4.2 mapping of the {@code java.time} types,
+ * that is whether it accepts them in {@code setObject} and returns them from {@code getObject(column, Class)}.
+ * <p>
+ * Each type handler keeps its own instance. As the handlers belong to the type handler registry of one configuration,
+ * which has a single data source, the database metadata is only consulted for the first value.
+ *
+ * @since 3.5.1
+ */
+final class JavaTimeSupport {
+
+  private volatile Boolean supported;
+
+  boolean isSupported(Statement statement) {
+    Boolean supported = this.supported;
+    if (supported == null) {
+      supported = isJdbc42(statement);
+      this.supported = supported;
+    }
+    return supported;
+  }
+
+  boolean isSupported(ResultSet rs) {
+    Boolean supported = this.supported;
+    if (supported == null) {
+      final Statement statement;
+      try {
+        statement = rs.getStatement();
+      } catch (SQLException | AbstractMethodError e) {
+        markUnsupported();
+        return false;
+      }
+      if (statement == null) {
+        // e.g. result sets of DatabaseMetaData, decide on a later value
+        return false;
+      }
+      supported = isJdbc42(statement);
+      this.supported = supported;
+    }
+    return supported;
+  }
+
+  /**
+   * Records that the driver rejected a {@code java.time} value although it reports JDBC 4.2,
+   * so that the values are converted through the {@code java.sql} types from now on.
+   */
+  void markUnsupported() {
+    this.supported = false;
+  }
+
+  /**
+   * A driver that fails to tell its JDBC version is treated as not supporting JDBC 4.2.
+   */
+  private static boolean isJdbc42(Statement statement) {
+    try {
+      final DatabaseMetaData metaData = statement.getConnection().getMetaData();
+      final int majorVersion = metaData.getJDBCMajorVersion();
+      return majorVersion > 4 || majorVersion == 4 && metaData.getJDBCMinorVersion() >= 2;
+    } catch (SQLException | AbstractMethodError e) {
+      return false;
+    }
+  }
+
+}
@@ -19,6 +19,7 @@ import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 
@@ -28,26 +29,77 @@ import java.time.LocalDateTime;
  */
 public class LocalDateTimeTypeHandler extends BaseTypeHandler<LocalDateTime> {
 
+  private final JavaTimeSupport javaTimeSupport;
+
+  public LocalDateTimeTypeHandler() {
+    this(false);
+  }
+
+  /**
+   * @param nativeJavaTime whether to pass {@link LocalDateTime} values as they are to drivers that implement JDBC 4.2,
+   *          instead of converting them from and to {@link Timestamp}
+   * @since 3.5.1
+   */
+  public LocalDateTimeTypeHandler(boolean nativeJavaTime) {
+    this.javaTimeSupport = nativeJavaTime ? new JavaTimeSupport() : null;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public boolean isNativeJavaTime() {
+    return javaTimeSupport != null;
+  }
+
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, LocalDateTime parameter, JdbcType jdbcType)
           throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(ps)) {
+      try {
+        ps.setObject(i, parameter);
+        return;
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     ps.setTimestamp(i, Timestamp.valueOf(parameter));
   }
 
   @Override
   public LocalDateTime getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(rs)) {
+      try {
+        return rs.getObject(columnName, LocalDateTime.class);
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     Timestamp timestamp = rs.getTimestamp(columnName);
     return getLocalDateTime(timestamp);
   }
 
   @Override
   public LocalDateTime getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(rs)) {
+      try {
+        return rs.getObject(columnIndex, LocalDateTime.class);
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     Timestamp timestamp = rs.getTimestamp(columnIndex);
     return getLocalDateTime(timestamp);
   }
 
   @Override
   public LocalDateTime getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(cs)) {
+      try {
+        return cs.getObject(columnIndex, LocalDateTime.class);
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     Timestamp timestamp = cs.getTimestamp(columnIndex);
     return getLocalDateTime(timestamp);
   }
@@ -20,6 +20,7 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.time.LocalDate;
 
 /**
@@ -28,26 +29,77 @@ import java.time.LocalDate;
  */
 public class LocalDateTypeHandler extends BaseTypeHandler<LocalDate> {
 
+  private final JavaTimeSupport javaTimeSupport;
+
+  public LocalDateTypeHandler() {
+    this(false);
+  }
+
+  /**
+   * @param nativeJavaTime whether to pass {@link LocalDate} values as they are to drivers that implement JDBC 4.2,
+   *          instead of converting them from and to {@link Date}
+   * @since 3.5.1
+   */
+  public LocalDateTypeHandler(boolean nativeJavaTime) {
+    this.javaTimeSupport = nativeJavaTime ? new JavaTimeSupport() : null;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public boolean isNativeJavaTime() {
+    return javaTimeSupport != null;
+  }
+
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, LocalDate parameter, JdbcType jdbcType)
           throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(ps)) {
+      try {
+        ps.setObject(i, parameter);
+        return;
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     ps.setDate(i, Date.valueOf(parameter));
   }
 
   @Override
   public LocalDate getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(rs)) {
+      try {
+        return rs.getObject(columnName, LocalDate.class);
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     Date date = rs.getDate(columnName);
     return getLocalDate(date);
   }
 
   @Override
   public LocalDate getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(rs)) {
+      try {
+        return rs.getObject(columnIndex, LocalDate.class);
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     Date date = rs.getDate(columnIndex);
     return getLocalDate(date);
   }
 
   @Override
   public LocalDate getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(cs)) {
+      try {
+        return cs.getObject(columnIndex, LocalDate.class);
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     Date date = cs.getDate(columnIndex);
     return getLocalDate(date);
   }
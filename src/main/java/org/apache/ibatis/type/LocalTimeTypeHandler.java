@@ -19,6 +19,7 @@ import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Time;
 import java.time.LocalTime;
 
@@ -28,26 +29,77 @@ import java.time.LocalTime;
  */
 public class LocalTimeTypeHandler extends BaseTypeHandler<LocalTime> {
 
+  private final JavaTimeSupport javaTimeSupport;
+
+  public LocalTimeTypeHandler() {
+    this(false);
+  }
+
+  /**
+   * @param nativeJavaTime whether to pass {@link LocalTime} values as they are to drivers that implement JDBC 4.2,
+   *          instead of converting them from and to {@link Time}
+   * @since 3.5.1
+   */
+  public LocalTimeTypeHandler(boolean nativeJavaTime) {
+    this.javaTimeSupport = nativeJavaTime ? new JavaTimeSupport() : null;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public boolean isNativeJavaTime() {
+    return javaTimeSupport != null;
+  }
+
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, LocalTime parameter, JdbcType jdbcType)
           throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(ps)) {
+      try {
+        ps.setObject(i, parameter);
+        return;
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     ps.setTime(i, Time.valueOf(parameter));
   }
 
   @Override
   public LocalTime getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(rs)) {
+      try {
+        return rs.getObject(columnName, LocalTime.class);
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     Time time = rs.getTime(columnName);
     return getLocalTime(time);
   }
 
   @Override
   public LocalTime getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(rs)) {
+      try {
+        return rs.getObject(columnIndex, LocalTime.class);
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     Time time = rs.getTime(columnIndex);
     return getLocalTime(time);
   }
 
   @Override
   public LocalTime getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    if (javaTimeSupport != null && javaTimeSupport.isSupported(cs)) {
+      try {
+        return cs.getObject(columnIndex, LocalTime.class);
+      } catch (SQLFeatureNotSupportedException e) {
+        javaTimeSupport.markUnsupported();
+      }
+    }
     Time time = cs.getTime(columnIndex);
     return getLocalTime(time);
   }
@@ -0,0 +1,70 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A type handler that can read a column as a primitive value, without boxing it.
+ * <p>
+ * Like the JDBC getters, these methods return {@code 0} or {@code false} for SQL {@code NULL},
+ * so the caller has to check {@link ResultSet#wasNull()} to tell both cases apart.
+ * Only the method that matches {@link #getPrimitiveType()} has to be implemented.
+ * </p>
+ *
+ * @since 3.5.1
+ */
+public interface PrimitiveTypeHandler {
+
+  /**
+   * @return the primitive type this handler can read, e.g. {@code int.class}
+   */
+  Class<?> getPrimitiveType();
+
+  default boolean getBoolean(ResultSet rs, String columnName) throws SQLException {
+    throw unsupported(boolean.class);
+  }
+
+  default byte getByte(ResultSet rs, String columnName) throws SQLException {
+    throw unsupported(byte.class);
+  }
+
+  default short getShort(ResultSet rs, String columnName) throws SQLException {
+    throw unsupported(short.class);
+  }
+
+  default int getInt(ResultSet rs, String columnName) throws SQLException {
+    throw unsupported(int.class);
+  }
+
+  default long getLong(ResultSet rs, String columnName) throws SQLException {
+    throw unsupported(long.class);
+  }
+
+  default float getFloat(ResultSet rs, String columnName) throws SQLException {
+    throw unsupported(float.class);
+  }
+
+  default double getDouble(ResultSet rs, String columnName) throws SQLException {
+    throw unsupported(double.class);
+  }
+
+  default TypeException unsupported(Class<?> type) {
+    return new TypeException(getClass().getName() + " cannot read a column as " + type + ".");
+  }
+
+}
@@ -23,7 +23,7 @@ import java.sql.SQLException;
 /**
  * @author Clinton Begin
  */
-public class ShortTypeHandler extends BaseTypeHandler<Short> {
+public class ShortTypeHandler extends BaseTypeHandler<Short> implements PrimitiveTypeHandler {
 
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Short parameter, JdbcType jdbcType)
@@ -51,4 +51,14 @@ public class ShortTypeHandler extends BaseTypeHandler<Short> {
     short result = cs.getShort(columnIndex);
     return result == 0 && cs.wasNull() ? null : result;
   }
+
+  @Override
+  public Class<?> getPrimitiveType() {
+    return short.class;
+  }
+
+  @Override
+  public short getShort(ResultSet rs, String columnName) throws SQLException {
+    return rs.getShort(columnName);
+  }
 }
@@ -42,7 +42,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import org.apache.ibatis.binding.MapperMethod.ArrayParamMap;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.io.ResolverUtil;
 import org.apache.ibatis.io.Resources;
@@ -65,8 +67,13 @@ public final class TypeHandlerRegistry {
   // 记录了全部 TypeHandler 的类型以及该类型相应的 TypeHandler 对象
   private final Map<Class<?>, TypeHandler<?>> ALL_TYPE_HANDLERS_MAP = new HashMap<>();
 
-  // 空 TypeHandler 集合的标识
-  private static final Map<JdbcType, TypeHandler<?>> NULL_TYPE_HANDLER_MAP = Collections.emptyMap();
+  // marks the java type and jdbc type combinations without a type handler in resolvedTypeHandlers
+  private static final Object NO_TYPE_HANDLER = new Object();
+  private static final int JDBC_TYPE_COUNT = JdbcType.values().length;
+
+  // the handlers returned by getTypeHandler(Type, JdbcType), indexed by JdbcType ordinal + 1 (0 for a null jdbc type);
+  // replaced by a new map on every registration, so that results resolved before are never used again
+  private volatile Map<Type, AtomicReferenceArray<Object>> resolvedTypeHandlers = new ConcurrentHashMap<>();
 
   private Class<? extends TypeHandler> defaultEnumTypeHandler = EnumTypeHandler.class;
 
@@ -181,6 +188,25 @@ public final class TypeHandlerRegistry {
     this.defaultEnumTypeHandler = typeHandler;
   }
 
+  /**
+   * Replaces the built-in type handlers for {@link LocalDateTime}, {@link LocalDate} and {@link LocalTime}
+   * with ones that pass the values as they are to drivers implementing JDBC 4.2, or restores the converting ones.
+   * Type handlers registered by users for these types are kept.
+   * @param nativeJavaTime whether to use the JDBC 4.2 mapping of the {@code java.time} types
+   * @since 3.5.1
+   */
+  public void setNativeJavaTime(boolean nativeJavaTime) {
+    if (getTypeHandler(LocalDateTime.class).getClass() == LocalDateTimeTypeHandler.class) {
+      register(LocalDateTime.class, new LocalDateTimeTypeHandler(nativeJavaTime));
+    }
+    if (getTypeHandler(LocalDate.class).getClass() == LocalDateTypeHandler.class) {
+      register(LocalDate.class, new LocalDateTypeHandler(nativeJavaTime));
+    }
+    if (getTypeHandler(LocalTime.class).getClass() == LocalTimeTypeHandler.class) {
+      register(LocalTime.class, new LocalTimeTypeHandler(nativeJavaTime));
+    }
+  }
+
   public boolean hasTypeHandler(Class<?> javaType) {
     return hasTypeHandler(javaType, null);
   }
@@ -223,10 +249,28 @@ public final class TypeHandlerRegistry {
 
   @SuppressWarnings("unchecked")
   private <T> TypeHandler<T> getTypeHandler(Type type, JdbcType jdbcType) {
-    if (ParamMap.class.equals(type)) {
+    if (ParamMap.class.equals(type) || ArrayParamMap.class.equals(type)) {
       return null;
     }
+    Map<Type, AtomicReferenceArray<Object>> resolvedTypeHandlers = this.resolvedTypeHandlers;
+    AtomicReferenceArray<Object> handlers = resolvedTypeHandlers.get(type);
+    if (handlers == null) {
+      handlers = new AtomicReferenceArray<>(JDBC_TYPE_COUNT + 1);
+      AtomicReferenceArray<Object> previous = resolvedTypeHandlers.putIfAbsent(type, handlers);
+      if (previous != null) {
+        handlers = previous;
+      }
+    }
+    int index = jdbcType == null ? 0 : jdbcType.ordinal() + 1;
+    Object handler = handlers.get(index);
+    if (handler == null) {
+      handler = resolveTypeHandler(type, jdbcType);
+      handlers.set(index, handler == null ? NO_TYPE_HANDLER : handler);
+    }
+    return handler == NO_TYPE_HANDLER ? null : (TypeHandler<T>) handler;
+  }
 
+  private TypeHandler<?> resolveTypeHandler(Type type, JdbcType jdbcType) {
     // 查找（或初始化） Java 类型对应的 TypeHandler 集合
     Map<JdbcType, TypeHandler<?>> jdbcHandlerMap = getJdbcHandlerMap(type);
     TypeHandler<?> handler = null;
@@ -242,15 +286,11 @@ public final class TypeHandlerRegistry {
         handler = pickSoleHandler(jdbcHandlerMap);
       }
     }
-    // type drives generics here
-    return (TypeHandler<T>) handler;
+    return handler;
   }
 
   private Map<JdbcType, TypeHandler<?>> getJdbcHandlerMap(Type type) {
     Map<JdbcType, TypeHandler<?>> jdbcHandlerMap = TYPE_HANDLER_MAP.get(type);
-    if (NULL_TYPE_HANDLER_MAP.equals(jdbcHandlerMap)) {
-      return null;
-    }
 
     // 初始化指定 Java 类型 的 TypeHandler 集合
     if (jdbcHandlerMap == null && type instanceof Class) {
@@ -262,13 +302,14 @@ public final class TypeHandlerRegistry {
           register(clazz, getInstance(clazz, defaultEnumTypeHandler));
           return TYPE_HANDLER_MAP.get(clazz);
         }
+        TYPE_HANDLER_MAP.put(clazz, jdbcHandlerMap);
+        resolvedTypeHandlers = new ConcurrentHashMap<>();
       } else {
-        // 查找父类对应的 TypeHandler 集合，并作为初始集合
+        // 查找父类对应的 TypeHandler 集合
+        // it is not copied to the class, so that handlers registered later for the superclass are found
         jdbcHandlerMap = getJdbcHandlerMapForSuperclass(clazz);
       }
     }
-    // 以 NULL_TYPE_HANDLER_MAP 作为 Type Handler 集合
-    TYPE_HANDLER_MAP.put(type, jdbcHandlerMap == null ? NULL_TYPE_HANDLER_MAP : jdbcHandlerMap);
     return jdbcHandlerMap;
   }
 
@@ -389,11 +430,12 @@ public final class TypeHandlerRegistry {
   private void register(Type javaType, JdbcType jdbcType, TypeHandler<?> handler) {
     if (javaType != null) {
       Map<JdbcType, TypeHandler<?>> map = TYPE_HANDLER_MAP.get(javaType);
-      if (map == null || map == NULL_TYPE_HANDLER_MAP) {
+      if (map == null) {
         map = new HashMap<>();
         TYPE_HANDLER_MAP.put(javaType, map);
       }
       map.put(jdbcType, handler);
+      resolvedTypeHandlers = new ConcurrentHashMap<>();
     }
     ALL_TYPE_HANDLERS_MAP.put(handler.getClass(), handler);
   }
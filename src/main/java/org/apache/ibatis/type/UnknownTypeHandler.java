@@ -68,6 +68,19 @@ public class UnknownTypeHandler extends BaseTypeHandler<Object> {
     return cs.getObject(columnIndex);
   }
 
+  /**
+   * Returns the type handler that {@link #getResult(ResultSet, String)} delegates to for the column,
+   * so that callers reading many rows can resolve it once per result set.
+   *
+   * @param rs the result set
+   * @param columnName the column name
+   * @return the type handler for the column, never {@code null}
+   * @since 3.5.1
+   */
+  public TypeHandler<?> resolveResultTypeHandler(ResultSet rs, String columnName) {
+    return resolveTypeHandler(rs, columnName);
+  }
+
   private TypeHandler<? extends Object> resolveTypeHandler(Object parameter, JdbcType jdbcType) {
     TypeHandler<? extends Object> handler;
     if (parameter == null) {
@@ -0,0 +1,156 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Post;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class GeneratedMapperTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  public static void setup() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DDL);
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DATA);
+    Configuration configuration = new Configuration(new Environment("Production", new JdbcTransactionFactory(), dataSource));
+    configuration.setMapperClassGenerationEnabled(true);
+    configuration.addMapper(BoundAuthorMapper.class);
+    configuration.addMapper(AuthorMapper.class);
+    configuration.addMapper(CovariantMapper.class);
+    configuration.addMapper(MergedMapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @Test
+  public void shouldExecuteStatementsThroughGeneratedClass() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      BoundAuthorMapper mapper = session.getMapper(BoundAuthorMapper.class);
+      assertFalse(Proxy.isProxyClass(mapper.getClass()));
+      assertTrue(mapper instanceof GeneratedMapper);
+      Author author = mapper.selectAuthor(101);
+      assertEquals("jim", author.getUsername());
+      List<Post> posts = mapper.findPostsInArray(new Integer[] { 1, 3, 5 });
+      assertEquals(3, posts.size());
+      session.rollback();
+    }
+  }
+
+  @Test
+  public void shouldSupportPrimitivesVoidAndDefaultMethods() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      AuthorMapper mapper = session.getMapper(AuthorMapper.class);
+      assertTrue(mapper instanceof GeneratedMapper);
+      assertEquals(2, mapper.countAuthors());
+      assertEquals("jim", mapper.selectUsername(101));
+      assertEquals("JIM", mapper.selectUpperCaseUsername(101));
+      mapper.selectNothing();
+      assertThrows(BindingException.class, () -> mapper.countAuthorsById(-1));
+      assertTrue(mapper.toString().contains(AuthorMapper.class.getName()));
+    }
+  }
+
+  @Test
+  public void shouldCallCovariantMethodsThroughBridges() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      CovariantMapper mapper = session.getMapper(CovariantMapper.class);
+      assertTrue(mapper instanceof GeneratedMapper);
+      assertEquals("jim", mapper.select(101));
+      assertEquals("jim", ((BaseMapper) mapper).select(101));
+    }
+  }
+
+  @Test
+  public void shouldFallBackToProxyForMethodsInheritedWithDifferentReturnTypes() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      MergedMapper mapper = session.getMapper(MergedMapper.class);
+      assertTrue(Proxy.isProxyClass(mapper.getClass()));
+      assertEquals("jim", ((StringMapper) mapper).select(101));
+    }
+  }
+
+  @Test
+  public void shouldShareGeneratedClassBetweenConfigurations() {
+    GeneratedMapperFactory<AuthorMapper> first = new GeneratedMapperFactory<>(AuthorMapper.class);
+    GeneratedMapperFactory<AuthorMapper> second = new GeneratedMapperFactory<>(AuthorMapper.class);
+    assertTrue(first.isGenerated());
+    assertTrue(second.isGenerated());
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      assertEquals(first.newInstance(session).getClass(), second.newInstance(session).getClass());
+      assertEquals(Arrays.asList(AuthorMapper.class), Arrays.asList(first.newInstance(session).getClass().getInterfaces()));
+    }
+  }
+
+  interface AuthorMapper {
+    @Select("select count(*) from author")
+    int countAuthors();
+
+    @Select("select count(*) from author where id = #{id} having count(*) > 0")
+    int countAuthorsById(int id);
+
+    @Select("select username from author where id = #{id}")
+    String selectUsername(@Param("id") int id);
+
+    @Select("select username from author where id = -1")
+    void selectNothing();
+
+    default String selectUpperCaseUsername(int id) {
+      return selectUsername(id).toUpperCase();
+    }
+  }
+
+  interface BaseMapper {
+    Object select(int id);
+  }
+
+  interface CovariantMapper extends BaseMapper {
+    @Override
+    @Select("select username from author where id = #{id}")
+    String select(int id);
+  }
+
+  interface StringMapper {
+    @Select("select username from author where id = #{id}")
+    String select(int id);
+  }
+
+  interface MergedMapper extends BaseMapper, StringMapper {
+  }
+
+}
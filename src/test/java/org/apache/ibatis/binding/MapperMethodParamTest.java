@@ -16,23 +16,31 @@
 package org.apache.ibatis.binding;
 
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.binding.MapperMethod.ArrayParamMap;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
 import org.apache.ibatis.transaction.TransactionFactory;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.HashMap;
+import java.util.Map;
 
 public class MapperMethodParamTest {
 
@@ -70,6 +78,70 @@ public class MapperMethodParamTest {
     }
   }
 
+  @Test
+  public void shouldReadNamedParamsFromTheArguments() throws Exception {
+    ParamNameResolver resolver = new ParamNameResolver(new Configuration(), Mapper.class.getMethod("insert", String.class, long.class));
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver.getNamedParams(new Object[] { "foo", 1L });
+    assertThat(params).isInstanceOf(ArrayParamMap.class);
+    assertThat(params.get("id")).isEqualTo("foo");
+    assertThat(params.get("param2")).isEqualTo(1L);
+    assertThat(params.containsKey("size")).isTrue();
+    assertThat(params.containsKey("name")).isFalse();
+    assertThat(params.size()).isEqualTo(4);
+    BindingException e = Assertions.assertThrows(BindingException.class, () -> params.get("name"));
+    assertThat(e.getMessage()).startsWith("Parameter 'name' not found. Available parameters are [")
+      .contains("id", "size", "param1", "param2");
+  }
+
+  @Test
+  public void shouldKeepAnnotatedGenericNames() throws Exception {
+    ParamNameResolver resolver = new ParamNameResolver(new Configuration(), Mapper.class.getMethod("selectByRange", long.class, long.class));
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver.getNamedParams(new Object[] { 1L, 2L });
+    assertThat(params.get("param2")).isEqualTo(1L);
+    assertThat(params.get("max")).isEqualTo(2L);
+    assertThat(params.size()).isEqualTo(3);
+    assertThat(params).isEqualTo(hashMapOf(params));
+  }
+
+  @Test
+  public void shouldBehaveLikeParamMapAfterModification() throws Exception {
+    ParamNameResolver resolver = new ParamNameResolver(new Configuration(), Mapper.class.getMethod("insert", String.class, long.class));
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver.getNamedParams(new Object[] { "foo", 1L });
+    params.put("extra", "bar");
+    params.remove("param1");
+    assertThat(params).containsOnlyKeys("id", "size", "param2", "extra");
+    assertThat(params.get("id")).isEqualTo("foo");
+    Assertions.assertThrows(BindingException.class, () -> params.get("param1"));
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> copy = (Map<String, Object>) ((HashMap<String, Object>) params).clone();
+    assertThat(copy).isEqualTo(params);
+  }
+
+  @Test
+  public void shouldSerializeNamedParams() throws Exception {
+    ParamNameResolver resolver = new ParamNameResolver(new Configuration(), Mapper.class.getMethod("insert", String.class, long.class));
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver.getNamedParams(new Object[] { "foo", 1L });
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(params);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      @SuppressWarnings("unchecked")
+      Map<String, Object> copy = (Map<String, Object>) in.readObject();
+      assertThat(copy).isEqualTo(hashMapOf(params));
+      assertThat(copy.get("param1")).isEqualTo("foo");
+    }
+  }
+
+  private static Map<String, Object> hashMapOf(Map<String, Object> params) {
+    return new HashMap<>(params);
+  }
+
   interface Mapper {
     @Insert("insert into param_test (id, size) values(#{id}, #{size})")
     void insert(@Param("id") String id, @Param("size") long size);
@@ -79,6 +151,9 @@ public class MapperMethodParamTest {
 
     @Select("select size from param_test where id = #{id}")
     long selectSize(@Param("id") String id);
+
+    @Select("select id from param_test where size between #{param2} and #{max}")
+    String selectByRange(@Param("param2") long min, @Param("max") long max);
   }
 
 }
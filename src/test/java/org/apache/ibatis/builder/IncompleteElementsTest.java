@@ -0,0 +1,138 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class IncompleteElementsTest {
+
+  @Test
+  void shouldRetryElementsOnceTheirReferenceIsRegistered() {
+    IncompleteElements<String> elements = new IncompleteElements<>();
+    elements.add("statement", new IncompleteElementException("missing", "resultMap:result"));
+    List<String> resolved = new ArrayList<>();
+
+    elements.resolve(resolved::add);
+    assertThat(resolved).isEmpty();
+    assertThat(elements).containsExactly("statement");
+
+    elements.referenceRegistered("resultMap:result");
+    elements.resolve(resolved::add);
+    assertThat(resolved).containsExactly("statement");
+    assertThat(elements).isEmpty();
+  }
+
+  @Test
+  void shouldKeepElementsWhoseResolutionFails() {
+    IncompleteElements<String> elements = new IncompleteElements<>();
+    elements.add("statement");
+
+    assertThatThrownBy(() -> elements.resolve(element -> {
+      throw new BuilderException("invalid");
+    })).isInstanceOf(BuilderException.class);
+    assertThat(elements).containsExactly("statement");
+  }
+
+  @Test
+  void shouldRetryElementsWhoseReferenceWasRegisteredWhileResolving() {
+    IncompleteElements<String> elements = new IncompleteElements<>();
+    elements.add("statement");
+    List<String> attempts = new ArrayList<>();
+
+    elements.resolve(element -> {
+      attempts.add(element);
+      if (attempts.size() == 1) {
+        // registered by another thread after the element looked the result map up
+        elements.referenceRegistered("resultMap:result");
+        throw new IncompleteElementException("missing", "resultMap:result");
+      }
+    });
+    assertThat(attempts).hasSize(2);
+    assertThat(elements).isEmpty();
+  }
+
+  @Test
+  void shouldNotReportElementsThatWereNotTried() {
+    IncompleteElements<String> elements = new IncompleteElements<>();
+    IncompleteElementException cause = new IncompleteElementException("missing", "resultMap:result");
+    elements.add("statement1");
+    elements.add("statement2", cause);
+    assertThat(elements.getCauses()).containsExactly(cause);
+  }
+
+  @Test
+  void shouldNotHoldLockWhileResolving() throws Exception {
+    IncompleteElements<String> resultMaps = new IncompleteElements<>();
+    IncompleteElements<String> statements = new IncompleteElements<>();
+    resultMaps.add("resultMap");
+    statements.add("statement");
+    CountDownLatch bothResolving = new CountDownLatch(2);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      // each resolution registers a reference the other collection may be waiting on
+      Future<?> resolvingResultMaps = executor.submit(() -> resultMaps.resolve(element -> {
+        await(bothResolving);
+        statements.referenceRegistered("resultMap:" + element);
+      }));
+      Future<?> resolvingStatements = executor.submit(() -> statements.resolve(element -> {
+        await(bothResolving);
+        resultMaps.referenceRegistered("statement:" + element);
+      }));
+      resolvingResultMaps.get(10, TimeUnit.SECONDS);
+      resolvingStatements.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(resultMaps).isEmpty();
+    assertThat(statements).isEmpty();
+  }
+
+  @Test
+  void shouldTellEmptinessWithoutLocking() throws Exception {
+    IncompleteElements<String> elements = new IncompleteElements<>();
+    elements.add("statement");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      synchronized (elements) {
+        assertThat(executor.submit(elements::isEmpty).get(10, TimeUnit.SECONDS)).isFalse();
+        assertThat(executor.submit(elements::size).get(10, TimeUnit.SECONDS)).isEqualTo(1);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    latch.countDown();
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
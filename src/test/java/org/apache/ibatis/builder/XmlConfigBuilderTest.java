@@ -25,6 +25,7 @@ import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Properties;
+import java.util.Scanner;
 import java.util.Set;
 
 import org.apache.ibatis.builder.mapper.CustomMapper;
@@ -98,6 +99,13 @@ public class XmlConfigBuilderTest {
       assertNull(config.getLogPrefix());
       assertNull(config.getLogImpl());
       assertNull(config.getConfigurationFactory());
+      assertThat(config.isCompiledSqlEnabled()).isFalse();
+      assertThat(config.isParallelMapperLoadingEnabled()).isFalse();
+      assertThat(config.isMapperClassGenerationEnabled()).isFalse();
+      assertThat(config.isNativeJavaTimeEnabled()).isFalse();
+      assertThat(config.isParallelResultMappingEnabled()).isFalse();
+      assertNull(config.getCursorPrefetchSize());
+      assertThat(config.isResultSetMetaDataCacheEnabled()).isFalse();
       assertThat(config.getTypeHandlerRegistry().getTypeHandler(RoundingMode.class)).isInstanceOf(EnumTypeHandler.class);
     }
   }
@@ -191,6 +199,13 @@ public class XmlConfigBuilderTest {
         assertThat(config.getLogPrefix()).isEqualTo("mybatis_");
         assertThat(config.getLogImpl().getName()).isEqualTo(Slf4jImpl.class.getName());
         assertThat(config.getVfsImpl().getName()).isEqualTo(JBoss6VFS.class.getName());
+        assertThat(config.isCompiledSqlEnabled()).isTrue();
+        assertThat(config.isParallelMapperLoadingEnabled()).isTrue();
+        assertThat(config.isMapperClassGenerationEnabled()).isTrue();
+        assertThat(config.isNativeJavaTimeEnabled()).isTrue();
+        assertThat(config.isParallelResultMappingEnabled()).isTrue();
+        assertThat(config.getCursorPrefetchSize()).isEqualTo(50);
+        assertThat(config.isResultSetMetaDataCacheEnabled()).isTrue();
         assertThat(config.getConfigurationFactory().getName()).isEqualTo(String.class.getName());
 
         assertTrue(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor").equals(Author.class));
@@ -254,6 +269,47 @@ public class XmlConfigBuilderTest {
     }
   }
 
+  @Test
+  public void shouldLoadXmlMappersInParallel() throws Exception {
+    String resource = "org/apache/ibatis/builder/MapperConfig.xml";
+    Configuration sequential;
+    try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+      sequential = new XMLConfigBuilder(inputStream).parse();
+    }
+    String config;
+    try (Scanner scanner = new Scanner(Resources.getResourceAsStream(resource), "UTF-8")) {
+      config = scanner.useDelimiter("\\A").next().replace("<settings>",
+          "<settings>\n    <setting name=\"parallelMapperLoadingEnabled\" value=\"true\"/>");
+    }
+    Configuration parallel = new XMLConfigBuilder(new StringReader(config)).parse();
+
+    assertThat(parallel.isParallelMapperLoadingEnabled()).isTrue();
+    assertThat(parallel.getMappedStatementNames()).isNotEmpty().isEqualTo(sequential.getMappedStatementNames());
+    assertThat(parallel.getResultMapNames()).isEqualTo(sequential.getResultMapNames());
+    assertThat(parallel.getCacheNames()).isEqualTo(sequential.getCacheNames());
+    assertThat(parallel.getIncompleteStatements()).isEmpty();
+  }
+
+  @Test
+  public void shouldReportMissingMapperWhenLoadingInParallel() {
+    final String MAPPER_CONFIG = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+            + "<!DOCTYPE configuration PUBLIC \"-//mybatis.org//DTD Config 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-config.dtd\">\n"
+            + "<configuration>\n"
+            + "  <settings>\n"
+            + "    <setting name=\"parallelMapperLoadingEnabled\" value=\"true\"/>\n"
+            + "  </settings>\n"
+            + "  <mappers>\n"
+            + "    <mapper resource=\"org/apache/ibatis/autoconstructor/AutoConstructorMapper.xml\"/>\n"
+            + "    <mapper resource=\"a/b/c/MissingMapper.xml\"/>\n"
+            + "  </mappers>\n"
+            + "</configuration>\n";
+
+    XMLConfigBuilder builder = new XMLConfigBuilder(new StringReader(MAPPER_CONFIG));
+    when(builder).parse();
+    then(caughtException()).isInstanceOf(BuilderException.class)
+      .hasMessageContaining("Could not find resource a/b/c/MissingMapper.xml");
+  }
+
   @Test
   public void unknownSettings() {
     final String MAPPER_CONFIG = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
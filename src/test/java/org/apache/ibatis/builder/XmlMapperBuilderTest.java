@@ -15,10 +15,15 @@
  */
 package org.apache.ibatis.builder;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.regex.Pattern;
 
 import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.builder.xml.XMLStatementBuilder;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ResultSetType;
@@ -181,6 +186,79 @@ public class XmlMapperBuilderTest {
     }
   }
 
+  @Test
+  public void shouldResolveForwardReferencesOnceRegistered() {
+    Configuration configuration = new Configuration();
+    parseMapper(configuration, "a", "<select id=\"select\" resultMap=\"b.result\">select <include refid=\"b.columns\"/> from b</select>");
+    assertThat(configuration.getIncompleteStatements()).hasSize(1);
+    IncompleteElementException cause = ((IncompleteElements<XMLStatementBuilder>) configuration.getIncompleteStatements()).getCauses().get(0);
+    assertThat(cause.getMissingReference()).isEqualTo(IncompleteElements.reference("sql", "b.columns"));
+
+    // an unrelated mapper does not retry the parked statement
+    parseMapper(configuration, "c", "<select id=\"select\" resultType=\"map\">select 1</select>");
+    assertThat(((IncompleteElements<XMLStatementBuilder>) configuration.getIncompleteStatements()).getCauses()).containsExactly(cause);
+
+    parseMapper(configuration, "b", "<resultMap id=\"result\" type=\"map\"/><sql id=\"columns\">id, name</sql>");
+    assertThat(configuration.getIncompleteStatements()).isEmpty();
+    assertThat(configuration.hasStatement("a.select", false)).isTrue();
+    assertThat(configuration.getMappedStatement("a.select").getResultMaps().get(0).getId()).isEqualTo("b.result");
+  }
+
+  @Test
+  public void shouldResolveWhenIncompleteGettersAreOverridden() {
+    Configuration configuration = new Configuration() {
+      @Override
+      public Collection<XMLStatementBuilder> getIncompleteStatements() {
+        return Collections.unmodifiableCollection(super.getIncompleteStatements());
+      }
+
+      @Override
+      public Collection<ResultMapResolver> getIncompleteResultMaps() {
+        return Collections.unmodifiableCollection(super.getIncompleteResultMaps());
+      }
+    };
+    parseMapper(configuration, "a", "<select id=\"select\" resultMap=\"b.result\">select 1</select>");
+    parseMapper(configuration, "b", "<resultMap id=\"result\" type=\"map\"/>");
+    assertThat(configuration.getIncompleteStatements()).isEmpty();
+    assertThat(configuration.hasStatement("a.select", false)).isTrue();
+  }
+
+  @Test
+  public void shouldResolveCacheRefsBeforeWaitingStatements() {
+    Configuration configuration = new Configuration();
+    parseMapper(configuration, "a", "<cache-ref namespace=\"b\"/><select id=\"select\" resultType=\"map\">select 1</select>");
+    assertThat(configuration.getIncompleteCacheRefs()).hasSize(1);
+    assertThat(configuration.getIncompleteStatements()).hasSize(1);
+
+    parseMapper(configuration, "b", "<cache/>");
+    assertThat(configuration.getIncompleteCacheRefs()).isEmpty();
+    assertThat(configuration.getIncompleteStatements()).isEmpty();
+    assertThat(configuration.getMappedStatement("a.select").getCache()).isSameAs(configuration.getCache("b"));
+  }
+
+  @Test
+  public void shouldReportAllUnresolvedReferences() {
+    Configuration configuration = new Configuration();
+    parseMapper(configuration, "a", "<select id=\"select1\" resultMap=\"missing1\">select 1</select>"
+        + "<select id=\"select2\" resultMap=\"missing1\">select 2</select>"
+        + "<select id=\"select3\" parameterMap=\"missing2\">select 3</select>");
+
+    when(configuration).getMappedStatementNames();
+    then(caughtException()).isInstanceOf(IncompleteElementException.class)
+      .hasMessage("Could not resolve 3 incomplete elements:"
+          + "\n  Could not find result map a.missing1 (2 elements)"
+          + "\n  Could not find parameter map a.missing2");
+  }
+
+  private static void parseMapper(Configuration configuration, String namespace, String body) {
+    String mapper = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+        + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">\n"
+        + "<mapper namespace=\"" + namespace + "\">" + body + "</mapper>";
+    XMLMapperBuilder builder = new XMLMapperBuilder(new ByteArrayInputStream(mapper.getBytes(StandardCharsets.UTF_8)),
+        configuration, namespace + ".xml", configuration.getSqlFragments());
+    builder.parse();
+  }
+
 //  @Test
 //  public void shouldNotLoadTheSameNamespaceFromTwoResourcesWithDifferentNames() throws Exception {
 //    Configuration configuration = new Configuration();
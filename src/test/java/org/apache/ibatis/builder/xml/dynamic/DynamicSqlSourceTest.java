@@ -16,12 +16,15 @@
 package org.apache.ibatis.builder.xml.dynamic;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,12 +33,14 @@ import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.scripting.xmltags.ChooseSqlNode;
+import org.apache.ibatis.scripting.xmltags.DynamicContext;
 import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
 import org.apache.ibatis.scripting.xmltags.ForEachSqlNode;
 import org.apache.ibatis.scripting.xmltags.IfSqlNode;
 import org.apache.ibatis.scripting.xmltags.MixedSqlNode;
 import org.apache.ibatis.scripting.xmltags.SetSqlNode;
 import org.apache.ibatis.scripting.xmltags.SqlNode;
+import org.apache.ibatis.scripting.xmltags.StaticTextSqlNode;
 import org.apache.ibatis.scripting.xmltags.TextSqlNode;
 import org.apache.ibatis.scripting.xmltags.WhereSqlNode;
 import org.apache.ibatis.session.Configuration;
@@ -147,6 +152,22 @@ public class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals(expected, boundSql.getSql());
   }
 
+  @Test
+  public void shouldWriteFragmentsThroughOverriddenAppendSql() {
+    final List<String> fragments = new ArrayList<>();
+    DynamicContext context = new DynamicContext(new Configuration(), null) {
+      @Override
+      public void appendSql(String sql) {
+        fragments.add(sql);
+        super.appendSql(sql);
+      }
+    };
+    mixedContents(new StaticTextSqlNode("SELECT * FROM BLOG"),
+        new WhereSqlNode(new Configuration(), mixedContents(new StaticTextSqlNode("and ID = ?")))).apply(context);
+    assertEquals(Arrays.asList("SELECT * FROM BLOG", "and ID = ?"), fragments);
+    assertEquals("SELECT * FROM BLOG WHERE  ID = ?", context.getSql());
+  }
+
   @Test
   public void shouldTrimWHEREANDWithLFForFirstCondition() throws Exception {
     final String expected = "SELECT * FROM BLOG WHERE \n ID = ?";
@@ -376,6 +397,81 @@ public class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals("__frch_u_0", boundSql.getParameterMappings().get(3).getProperty());
   }
 
+  @Test
+  public void shouldReuseParsedSqlOfSameShape() throws Exception {
+    DynamicSqlSource source = createDynamicSqlSource(new TextSqlNode("SELECT * FROM BLOG"),
+        new ForEachSqlNode(new Configuration(), mixedContents(
+            new TextSqlNode("#{item}")), "list", null, "item", "WHERE id in (", ")", ","));
+    BoundSql first = source.getBoundSql(Collections.singletonMap("list", Arrays.asList(1, 2)));
+    BoundSql second = source.getBoundSql(Collections.singletonMap("list", Arrays.asList(3, 4)));
+    assertEquals("SELECT * FROM BLOG WHERE id in (  ? , ? )", second.getSql());
+    assertNotSame(first.getParameterMappings(), second.getParameterMappings());
+    assertSame(first.getParameterMappings().get(1), second.getParameterMappings().get(1));
+    assertEquals(4, second.getAdditionalParameter("__frch_item_1"));
+
+    BoundSql third = source.getBoundSql(Collections.singletonMap("list", Arrays.asList(5, 6, 7)));
+    assertEquals(3, third.getParameterMappings().size());
+  }
+
+  @Test
+  public void shouldParseSameShapeAgainWhenBindingTypesChange() throws Exception {
+    DynamicSqlSource source = createDynamicSqlSource(new TextSqlNode("SELECT * FROM BLOG"),
+        new ForEachSqlNode(new Configuration(), mixedContents(
+            new TextSqlNode("#{item}")), "list", null, "item", "WHERE id in (", ")", ","));
+    BoundSql integers = source.getBoundSql(Collections.singletonMap("list", Collections.singletonList(1)));
+    BoundSql strings = source.getBoundSql(Collections.singletonMap("list", Collections.singletonList("1")));
+    assertEquals(integers.getSql(), strings.getSql());
+    assertEquals(Integer.class, integers.getParameterMappings().get(0).getJavaType());
+    assertEquals(String.class, strings.getParameterMappings().get(0).getJavaType());
+  }
+
+  @Test
+  public void shouldTrimLowerCasePrefixOfNestedForEach() throws Exception {
+    final String expected = "SELECT * FROM BLOG WHERE  ID = ? or ID = ? or ID = ?";
+    DynamicSqlSource source = createDynamicSqlSource(new TextSqlNode("SELECT * FROM BLOG"),
+        new WhereSqlNode(new Configuration(), mixedContents(
+            new ForEachSqlNode(new Configuration(), mixedContents(
+                new TextSqlNode("or ID = #{item} ")), "list", null, "item", null, null, null))));
+    BoundSql boundSql = source.getBoundSql(Collections.singletonMap("list", Arrays.asList(1, 2, 3)));
+    assertEquals(expected, boundSql.getSql());
+    assertEquals("__frch_item_2", boundSql.getParameterMappings().get(2).getProperty());
+  }
+
+  @Test
+  public void shouldItemizeIndexButNotSimilarNamesInForEach() throws Exception {
+    final String expected = "(  ? = ?, ? , ? = ?, ? )";
+    DynamicSqlSource source = createDynamicSqlSource(
+        new ForEachSqlNode(new Configuration(), mixedContents(
+            new TextSqlNode("#{ idx } = #{item}, #{items}")), "list", "idx", "item", "(", ")", ","));
+    Map<String, Object> param = new HashMap<>();
+    param.put("list", Arrays.asList("a", "b"));
+    param.put("items", "c");
+    BoundSql boundSql = source.getBoundSql(param);
+    assertEquals(expected, boundSql.getSql());
+    assertEquals("__frch_idx_0", boundSql.getParameterMappings().get(0).getProperty());
+    assertEquals("__frch_item_0", boundSql.getParameterMappings().get(1).getProperty());
+    assertEquals("items", boundSql.getParameterMappings().get(2).getProperty());
+    assertEquals("__frch_idx_1", boundSql.getParameterMappings().get(3).getProperty());
+  }
+
+  @Test
+  public void shouldPadForEachItemsToPowerOfTwo() throws Exception {
+    DynamicSqlSource source = createDynamicSqlSource(new TextSqlNode("SELECT * FROM BLOG WHERE id in"),
+        new ForEachSqlNode(new Configuration(), mixedContents(new TextSqlNode("#{item}")), "list", "index", "item", "(", ")", ",",
+            false, true, 0));
+    BoundSql three = source.getBoundSql(Collections.singletonMap("list", Arrays.asList(1, 2, 3)));
+    BoundSql four = source.getBoundSql(Collections.singletonMap("list", Arrays.asList(4, 5, 6, 7)));
+    BoundSql five = source.getBoundSql(Collections.singletonMap("list", Arrays.asList(1, 2, 3, 4, 5)));
+    BoundSql one = source.getBoundSql(Collections.singletonMap("list", Collections.singletonList(1)));
+    assertEquals(four.getSql(), three.getSql());
+    assertEquals(4, three.getParameterMappings().size());
+    assertEquals(3, three.getAdditionalParameter("__frch_item_3"));
+    assertEquals(2, three.getAdditionalParameter("__frch_index_3"));
+    assertEquals(8, five.getParameterMappings().size());
+    assertEquals(5, five.getAdditionalParameter("__frch_item_7"));
+    assertEquals(1, one.getParameterMappings().size());
+  }
+
   private DynamicSqlSource createDynamicSqlSource(SqlNode... contents) throws IOException, SQLException {
     createBlogDataSource();
     final String resource = "org/apache/ibatis/builder/MapperConfig.xml";
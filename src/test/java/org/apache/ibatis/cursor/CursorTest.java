@@ -0,0 +1,101 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CursorTest {
+
+  @Test
+  void shouldFetchChunksByDefault() {
+    Cursor<Integer> cursor = new IteratorCursor<>(Arrays.asList(1, 2, 3, 4, 5).iterator());
+
+    List<List<Integer>> chunks = new ArrayList<>();
+    cursor.chunks(3).forEach(chunks::add);
+    assertThat(chunks).containsExactly(Arrays.asList(1, 2, 3), Arrays.asList(4, 5));
+  }
+
+  @Test
+  void shouldShareThePositionOfTheIterator() {
+    Cursor<Integer> cursor = new IteratorCursor<>(Arrays.asList(1, 2, 3, 4, 5).iterator());
+
+    Iterator<Integer> iterator = cursor.iterator();
+    assertThat(iterator.next()).isEqualTo(1);
+    Iterator<List<Integer>> chunks = cursor.chunks(2).iterator();
+    assertThat(chunks.next()).containsExactly(2, 3);
+    assertThat(iterator.next()).isEqualTo(4);
+    assertThat(chunks.next()).containsExactly(5);
+    assertThat(chunks.hasNext()).isFalse();
+  }
+
+  /**
+   * A cursor over an iterator that, as the contract requires, can only be retrieved once.
+   */
+  private static class IteratorCursor<T> implements Cursor<T> {
+
+    private final Iterator<T> iterator;
+    private boolean iteratorRetrieved;
+
+    IteratorCursor(Iterator<T> iterator) {
+      this.iterator = iterator;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public boolean isConsumed() {
+      return !iterator.hasNext();
+    }
+
+    @Override
+    public int getCurrentIndex() {
+      return -1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      if (iteratorRetrieved) {
+        throw new IllegalStateException("Cannot open more than one iterator on a Cursor");
+      }
+      iteratorRetrieved = true;
+      return iterator;
+    }
+
+    @Override
+    public List<T> fetch(int size) {
+      List<T> items = new ArrayList<>();
+      while (items.size() < size && iterator.hasNext()) {
+        items.add(iterator.next());
+      }
+      return items;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+}
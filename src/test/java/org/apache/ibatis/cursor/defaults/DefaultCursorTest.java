@@ -18,23 +18,38 @@ package org.apache.ibatis.cursor.defaults;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.result.DefaultResultContext;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetWrapper;
 import org.apache.ibatis.mapping.BoundSql;
@@ -101,6 +116,88 @@ public class DefaultCursorTest {
     }
   }
 
+  @Test
+  public void shouldRethrowErrorsRaisedWhilePrefetching() throws Exception {
+    final DefaultResultSetHandler resultSetHandler = mock(DefaultResultSetHandler.class);
+    final ResultSetWrapper rsw = mock(ResultSetWrapper.class);
+    when(rsw.getResultSet()).thenReturn(rs);
+    doReturn(false).when(rs).isClosed();
+    final StackOverflowError error = new StackOverflowError();
+    doThrow(error).when(resultSetHandler).handleRowValues(eq(rsw), any(), any(), any(), any());
+
+    try (DefaultCursor<Object> cursor = new DefaultCursor<>(resultSetHandler, null, rsw, RowBounds.DEFAULT, 1)) {
+      Iterator<Object> iterator = cursor.iterator();
+      assertSame(error, assertThrows(StackOverflowError.class, iterator::hasNext));
+    }
+  }
+
+  @Test
+  public void shouldCancelStatementWhenClosedWhilePrefetching() throws Exception {
+    final DefaultResultSetHandler resultSetHandler = mock(DefaultResultSetHandler.class);
+    final ResultSetWrapper rsw = mock(ResultSetWrapper.class);
+    final Statement statement = mock(Statement.class);
+    when(rsw.getResultSet()).thenReturn(rs);
+    doReturn(false).when(rs).isClosed();
+    doReturn(statement).when(rs).getStatement();
+    final CountDownLatch cancelled = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      cancelled.countDown();
+      return null;
+    }).when(statement).cancel();
+    final AtomicInteger rows = new AtomicInteger();
+    doAnswer(invocation -> {
+      if (rows.incrementAndGet() > 1) {
+        // a driver blocked on the next row until the statement gets cancelled
+        cancelled.await(10, TimeUnit.SECONDS);
+        throw new SQLException("Statement cancelled");
+      }
+      DefaultResultContext<Object> context = new DefaultResultContext<>();
+      context.nextResultObject("row");
+      invocation.<ResultHandler<Object>>getArgument(2).handleResult(context);
+      return null;
+    }).when(resultSetHandler).handleRowValues(eq(rsw), any(), any(), any(), any());
+
+    DefaultCursor<Object> cursor = new DefaultCursor<>(resultSetHandler, null, rsw, RowBounds.DEFAULT, 1);
+    Iterator<Object> iterator = cursor.iterator();
+    assertEquals("row", iterator.next());
+    cursor.close();
+
+    verify(statement).cancel();
+    assertFalse(cursor.isOpen());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void shouldStopPrefetchingWhenCursorIsNoLongerReferenced() throws Exception {
+    final DefaultResultSetHandler resultSetHandler = mock(DefaultResultSetHandler.class);
+    final ResultSetWrapper rsw = mock(ResultSetWrapper.class);
+    when(rsw.getResultSet()).thenReturn(rs);
+    doReturn(false).when(rs).isClosed();
+    final AtomicReference<Thread> prefetchThread = new AtomicReference<>();
+    doAnswer(invocation -> {
+      prefetchThread.set(Thread.currentThread());
+      DefaultResultContext<Object> context = new DefaultResultContext<>();
+      context.nextResultObject("row");
+      invocation.<ResultHandler<Object>>getArgument(2).handleResult(context);
+      return null;
+    }).when(resultSetHandler).handleRowValues(eq(rsw), any(), any(), any(), any());
+
+    DefaultCursor<Object> cursor = new DefaultCursor<>(resultSetHandler, null, rsw, RowBounds.DEFAULT, 1);
+    assertEquals("row", cursor.iterator().next());
+    cursor = null;
+
+    long deadline = System.currentTimeMillis() + 10000;
+    while (isPrefetching(prefetchThread.get()) && System.currentTimeMillis() < deadline) {
+      System.gc();
+      Thread.sleep(50);
+    }
+    assertFalse(isPrefetching(prefetchThread.get()));
+  }
+
+  private static boolean isPrefetching(Thread thread) {
+    return Arrays.stream(thread.getStackTrace()).anyMatch(element -> element.getClassName().endsWith("$Prefetcher"));
+  }
+
   @SuppressWarnings("serial")
   private MappedStatement getNestedAndOrderedMappedStatement() {
     final Configuration config = new Configuration();
@@ -0,0 +1,119 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BufferedResultSetTest {
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+  private ResultSet rs;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    Map<String, Integer> columnIndexes = new HashMap<>();
+    columnIndexes.put("TS", 1);
+    columnIndexes.put("D", 2);
+    columnIndexes.put("T", 3);
+    columnIndexes.put("AMOUNT", 4);
+    columnIndexes.put("NAME", 5);
+    Object[] row = { Timestamp.valueOf("2019-03-04 05:06:07.123456789"), Date.valueOf("2019-03-04"),
+        Time.valueOf("05:06:07"), new BigDecimal("12.345"), "été" };
+    rs = new BufferedResultSet(mock(ResultSetWrapper.class), columnIndexes, Collections.singletonList(row));
+    assertThat(rs.next()).isTrue();
+  }
+
+  @Test
+  public void shouldInterpretDateTimeValuesInTheTimeZoneOfTheCalendar() throws Exception {
+    Calendar calendar = Calendar.getInstance(UTC);
+    Timestamp timestamp = rs.getTimestamp("ts", calendar);
+    assertThat(timestamp.toInstant()).isEqualTo(LocalDateTime.of(2019, 3, 4, 5, 6, 7, 123456789).atZone(UTC.toZoneId()).toInstant());
+    assertThat(rs.getDate(2, calendar).getTime()).isEqualTo(LocalDate.of(2019, 3, 4).atStartOfDay(UTC.toZoneId()).toInstant().toEpochMilli());
+    assertThat(rs.getTime(3, calendar).getTime()).isEqualTo(LocalTime.of(5, 6, 7).atDate(LocalDate.of(1970, 1, 1)).atZone(UTC.toZoneId()).toInstant().toEpochMilli());
+    assertThat(rs.getTimestamp("ts", null)).isEqualTo(Timestamp.valueOf("2019-03-04 05:06:07.123456789"));
+  }
+
+  @Test
+  public void shouldSupportOtherTwoArgumentGetters() throws Exception {
+    assertThat(rs.getObject(4, Collections.<String, Class<?>>emptyMap())).isEqualTo(new BigDecimal("12.345"));
+    @SuppressWarnings("deprecation")
+    BigDecimal scaled = rs.getBigDecimal(4, 2);
+    assertThat(scaled).isEqualTo(new BigDecimal("12.35"));
+    assertThat(rs.getObject(1, LocalDateTime.class)).isEqualTo(LocalDateTime.of(2019, 3, 4, 5, 6, 7, 123456789));
+  }
+
+  @Test
+  public void shouldNotConvertStringsToBytes() {
+    assertThatThrownBy(() -> rs.getBytes("name")).isInstanceOf(SQLException.class)
+        .hasMessageContaining("java.lang.String");
+  }
+
+  @Test
+  public void shouldOnlyBufferColumnsOfSupportedClasses() {
+    assertThat(BufferedResultSet.canBuffer(wrapper(JdbcType.TIMESTAMP, "java.sql.Timestamp"))).isTrue();
+    assertThat(BufferedResultSet.canBuffer(wrapper(JdbcType.TIMESTAMP, "oracle.sql.TIMESTAMP"))).isFalse();
+    assertThat(BufferedResultSet.canBuffer(wrapper(JdbcType.TIMESTAMP, "java.time.LocalDateTime"))).isFalse();
+    assertThat(BufferedResultSet.canBuffer(wrapper(JdbcType.VARBINARY, "java.lang.String"))).isFalse();
+    assertThat(BufferedResultSet.canBuffer(wrapper(JdbcType.VARCHAR, "[B"))).isFalse();
+  }
+
+  @Test
+  public void shouldLetTheDriverConvertValuesOfAnotherClass() throws Exception {
+    ResultSet driverResultSet = mock(ResultSet.class);
+    when(driverResultSet.getObject(1)).thenReturn(LocalDateTime.of(2019, 3, 4, 5, 6, 7));
+    when(driverResultSet.getTimestamp(1)).thenReturn(Timestamp.valueOf("2019-03-04 05:06:07"));
+    when(driverResultSet.getObject(2)).thenReturn(42);
+    Object[] row = BufferedResultSet.readRow(driverResultSet, new Class<?>[] { Timestamp.class, Integer.class });
+    assertThat(row).containsExactly(Timestamp.valueOf("2019-03-04 05:06:07"), 42);
+  }
+
+  @Test
+  public void shouldNotExposeAStatement() throws Exception {
+    assertThat(rs.getStatement()).isNull();
+    assertThat((Object) rs.getWarnings()).isNull();
+  }
+
+  private static ResultSetWrapper wrapper(JdbcType jdbcType, String className) {
+    ResultSetWrapper rsw = mock(ResultSetWrapper.class);
+    when(rsw.getJdbcTypes()).thenReturn(Collections.singletonList(jdbcType));
+    when(rsw.getClassNames()).thenReturn(Collections.singletonList(className));
+    return rsw;
+  }
+
+}
@@ -17,7 +17,10 @@ package org.apache.ibatis.executor.resultset;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.Connection;
@@ -44,6 +47,8 @@ import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.IntegerTypeHandler;
+import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.junit.jupiter.api.Assertions;
@@ -101,6 +106,151 @@ public class DefaultResultSetHandlerTest {
     assertEquals(Integer.valueOf(100), ((HashMap) results.get(0)).get("cOlUmN1"));
   }
 
+  @Test
+  public void shouldReuseColumnMetaDataOfPreviousExecution() throws Exception {
+    final MappedStatement ms = getMappedStatement();
+    ms.getConfiguration().setResultSetMetaDataCacheEnabled(true);
+
+    when(stmt.getResultSet()).thenReturn(rs);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+    when(rs.next()).thenReturn(true, false, true, false);
+    when(rs.getInt("CoLuMn1")).thenReturn(100, 200);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnLabel(1)).thenReturn("CoLuMn1");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getCanonicalName());
+    when(stmt.getConnection()).thenReturn(conn);
+    when(conn.getMetaData()).thenReturn(dbmd);
+    when(dbmd.supportsMultipleResultSets()).thenReturn(false);
+
+    final RowBounds rowBounds = new RowBounds(0, 100);
+    List<Object> results = new DefaultResultSetHandler(null, ms, null, null, null, rowBounds).handleResultSets(stmt);
+    assertEquals(Integer.valueOf(100), ((HashMap) results.get(0)).get("cOlUmN1"));
+    results = new DefaultResultSetHandler(null, ms, null, null, null, rowBounds).handleResultSets(stmt);
+    assertEquals(Integer.valueOf(200), ((HashMap) results.get(0)).get("cOlUmN1"));
+
+    verify(rsmd, times(1)).getColumnType(1);
+    verify(rsmd, times(1)).getColumnClassName(1);
+    assertEquals(1, ms.getResultSetMetaDataCache().getSize());
+  }
+
+  @Test
+  public void shouldReloadColumnMetaDataWhenColumnsChange() throws Exception {
+    final MappedStatement ms = getMappedStatement();
+    ms.getConfiguration().setResultSetMetaDataCacheEnabled(true);
+
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnLabel(1)).thenReturn("CoLuMn1", "CoLuMn2");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER, Types.VARCHAR);
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getCanonicalName(), String.class.getCanonicalName());
+
+    ResultSetWrapper rsw = new ResultSetWrapper(rs, ms.getConfiguration(), ms.getResultSetMetaDataCache(), 0);
+    assertEquals(Collections.singletonList("CoLuMn1"), rsw.getColumnNames());
+    rsw = new ResultSetWrapper(rs, ms.getConfiguration(), ms.getResultSetMetaDataCache(), 0);
+    assertEquals(Collections.singletonList("CoLuMn2"), rsw.getColumnNames());
+    assertEquals(Collections.singletonList(JdbcType.VARCHAR), rsw.getJdbcTypes());
+  }
+
+  @Test
+  public void shouldMapPrimitivePropertiesAndLeaveNullColumnsUntouched() throws Exception {
+    final Configuration config = new Configuration();
+    final MappedStatement ms = new MappedStatement.Builder(config, "testSelect", new StaticSqlSource(config, "some select statement"), SqlCommandType.SELECT)
+        .resultMaps(Collections.singletonList(new ResultMap.Builder(config, "testMap", PrimitiveBean.class, new ArrayList<>()).build())).build();
+
+    when(stmt.getResultSet()).thenReturn(rs);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+    when(rs.next()).thenReturn(true, false);
+    when(rs.getInt("count")).thenReturn(0);
+    when(rs.getDouble("amount")).thenReturn(1.5d);
+    when(rs.wasNull()).thenReturn(true);
+    when(rsmd.getColumnCount()).thenReturn(2);
+    doReturn("count").when(rsmd).getColumnLabel(1);
+    doReturn("amount").when(rsmd).getColumnLabel(2);
+    doReturn(Types.INTEGER).when(rsmd).getColumnType(1);
+    doReturn(Types.DOUBLE).when(rsmd).getColumnType(2);
+    when(stmt.getConnection()).thenReturn(conn);
+    when(conn.getMetaData()).thenReturn(dbmd);
+    when(dbmd.supportsMultipleResultSets()).thenReturn(false);
+
+    final List<Object> results = new DefaultResultSetHandler(null, ms, null, null, null, new RowBounds(0, 100)).handleResultSets(stmt);
+    final PrimitiveBean bean = (PrimitiveBean) results.get(0);
+    assertEquals(-1, bean.count);
+    assertEquals(1.5d, bean.amount);
+  }
+
+  @Test
+  public void shouldResolveUnknownTypeHandlerOncePerColumn() throws Exception {
+    final Configuration config = new Configuration();
+    final TypeHandler<?> unknownTypeHandler = config.getTypeHandlerRegistry().getUnknownTypeHandler();
+    final MappedStatement ms = new MappedStatement.Builder(config, "testSelect", new StaticSqlSource(config, "some select statement"), SqlCommandType.SELECT)
+        .resultMaps(Collections.singletonList(new ResultMap.Builder(config, "testMap", HashMap.class,
+            Collections.singletonList(new ResultMapping.Builder(config, "value", "value", unknownTypeHandler).build())).build())).build();
+
+    when(stmt.getResultSet()).thenReturn(rs);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+    when(rs.next()).thenReturn(true, true, true, false);
+    when(rs.getString("value")).thenReturn("a", "b", "c");
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnLabel(1)).thenReturn("value");
+    when(rsmd.getColumnName(1)).thenReturn("value");
+    when(rsmd.getColumnType(1)).thenReturn(Types.VARCHAR);
+    when(rsmd.getColumnClassName(1)).thenReturn(String.class.getName());
+    when(stmt.getConnection()).thenReturn(conn);
+    when(conn.getMetaData()).thenReturn(dbmd);
+    when(dbmd.supportsMultipleResultSets()).thenReturn(false);
+
+    final List<Object> results = new DefaultResultSetHandler(null, ms, null, null, null, new RowBounds(0, 100)).handleResultSets(stmt);
+    assertEquals(3, results.size());
+    assertEquals("c", ((HashMap) results.get(2)).get("value"));
+    // once for the wrapper and once for resolving the handler of the column
+    verify(rs, times(2)).getMetaData();
+  }
+
+  @Test
+  public void shouldNotBypassTypeHandlersOverridingHowColumnsAreRead() throws Exception {
+    final Configuration config = new Configuration();
+    config.getTypeHandlerRegistry().register(int.class, new IntegerTypeHandler() {
+      @Override
+      public Integer getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return rs.getInt(columnName) * 10;
+      }
+    });
+    final MappedStatement ms = new MappedStatement.Builder(config, "testSelect", new StaticSqlSource(config, "some select statement"), SqlCommandType.SELECT)
+        .resultMaps(Collections.singletonList(new ResultMap.Builder(config, "testMap", PrimitiveBean.class, new ArrayList<>()).build())).build();
+
+    when(stmt.getResultSet()).thenReturn(rs);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+    when(rs.next()).thenReturn(true, false);
+    when(rs.getInt("count")).thenReturn(4);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    doReturn("count").when(rsmd).getColumnLabel(1);
+    doReturn(Types.INTEGER).when(rsmd).getColumnType(1);
+    when(stmt.getConnection()).thenReturn(conn);
+    when(conn.getMetaData()).thenReturn(dbmd);
+    when(dbmd.supportsMultipleResultSets()).thenReturn(false);
+
+    final List<Object> results = new DefaultResultSetHandler(null, ms, null, null, null, new RowBounds(0, 100)).handleResultSets(stmt);
+    assertEquals(40, ((PrimitiveBean) results.get(0)).count);
+  }
+
+  public static class PrimitiveBean {
+    private int count = -1;
+    private double amount;
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+
+    public void setAmount(double amount) {
+      this.amount = amount;
+    }
+  }
+
   @Test
   public void shouldThrowExceptionWithColumnName() throws Exception {
     final MappedStatement ms = getMappedStatement();
@@ -116,6 +266,7 @@ public class DefaultResultSetHandlerTest {
     final TypeHandler typeHandler = mock(TypeHandler.class);
     when(resultMapping.getColumn()).thenReturn("column");
     when(resultMapping.getTypeHandler()).thenReturn(typeHandler);
+    doReturn(typeHandler).when(rsw).getResultTypeHandler(typeHandler, "column");
     when(typeHandler.getResult(any(ResultSet.class), any(String.class))).thenThrow(new SQLException("exception"));
     List<ResultMapping> constructorMappings = Collections.singletonList(resultMapping);
 
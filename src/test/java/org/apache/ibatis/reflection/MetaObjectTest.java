@@ -20,8 +20,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.googlecode.catchexception.apis.BDDCatchException.*;
+import static org.assertj.core.api.BDDAssertions.then;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +36,10 @@ import org.apache.ibatis.domain.blog.Section;
 import org.apache.ibatis.domain.misc.CustomBeanWrapper;
 import org.apache.ibatis.domain.misc.CustomBeanWrapperFactory;
 import org.apache.ibatis.domain.misc.RichType;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.wrapper.BeanWrapper;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
 import org.junit.jupiter.api.Test;
 
 public class MetaObjectTest {
@@ -302,4 +310,50 @@ public class MetaObjectTest {
     assertTrue(meta.hasGetter("filterParams[2]"));
   }
 
+  @Test
+  public void shouldGetNestedIndexedAndMappedValues() {
+    RichType rich = new RichType();
+    RichType child = new RichType();
+    child.setRichProperty("child");
+    child.getRichMap().put("key", new int[] {1, 2});
+    rich.setRichList(new ArrayList<>(Collections.singletonList(child)));
+    rich.getRichMap().put("list", Arrays.asList("a", "b"));
+    MetaObject meta = SystemMetaObject.forObject(rich);
+    assertEquals("child", meta.getValue("richList[0].richProperty"));
+    assertEquals(2, meta.getValue("richList[0].richMap.key[1]"));
+    assertEquals("b", meta.getValue("richMap.list[1]"));
+    assertNull(meta.getValue("richList[0].richType.richProperty"));
+
+    meta.setValue("richList[0].richMap.key[0]", 3);
+    meta.setValue("richList[0].richProperty", "changed");
+    assertEquals(3, ((int[]) child.getRichMap().get("key"))[0]);
+    assertEquals("changed", child.getRichProperty());
+  }
+
+  @Test
+  public void shouldUseObjectWrapperFactoryForNestedValues() {
+    Map<String, Object> map = new HashMap<>();
+    map.put("author", new Author(1, "cbegin", null, "cbegin@apache.org", null, null));
+    ObjectWrapperFactory objectWrapperFactory = new CustomBeanWrapperFactory() {
+      @Override
+      public ObjectWrapper getWrapperFor(MetaObject metaObject, Object object) {
+        return new BeanWrapper(metaObject, object) {
+          @Override
+          public Object get(PropertyTokenizer prop) {
+            return "wrapped " + super.get(prop);
+          }
+        };
+      }
+    };
+    MetaObject meta = MetaObject.forObject(map, SystemMetaObject.DEFAULT_OBJECT_FACTORY, objectWrapperFactory, new DefaultReflectorFactory());
+    assertEquals("wrapped cbegin", meta.getValue("author.username"));
+  }
+
+  @Test
+  public void shouldFailOnIndexedValueOfNonCollection() {
+    MetaObject meta = SystemMetaObject.forObject(Collections.singletonMap("value", Collections.singletonMap("name", "foo")));
+    when(meta).getValue("value.name[0]");
+    then(caughtException()).isInstanceOf(ReflectionException.class).hasMessageContaining("is not a List or Array");
+  }
+
 }
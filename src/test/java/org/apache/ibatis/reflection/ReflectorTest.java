@@ -18,8 +18,11 @@ package org.apache.ibatis.reflection;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
+import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
+import org.apache.ibatis.reflection.invoker.MethodInvoker;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import static com.googlecode.catchexception.apis.BDDCatchException.*;
@@ -218,4 +221,102 @@ public class ReflectorTest {
     Reflector reflector = reflectorFactory.findForClass(Bean.class);
     assertTrue((Boolean)reflector.getGetInvoker("bool").invoke(new Bean(), new Byte[0]));
   }
+
+  @Test
+  public void shouldSetPrimitivePropertiesWithoutBoxing() throws Exception {
+    @SuppressWarnings("unused")
+    class Bean {
+      private int count;
+      private long total;
+      private final int fixed = 1;
+      private Integer boxed;
+      public void setTotal(long total) { this.total = total; }
+    }
+    ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    Reflector reflector = reflectorFactory.findForClass(Bean.class);
+    Bean bean = new Bean();
+    reflector.getPrimitiveSetInvoker("count").setInt(bean, 7);
+    reflector.getPrimitiveSetInvoker("total").setLong(bean, 42L);
+    assertEquals(7, bean.count);
+    assertEquals(42L, bean.total);
+    assertEquals(long.class, reflector.getPrimitiveSetInvoker("total").getType());
+    assertNull(reflector.getPrimitiveSetInvoker("fixed"));
+    assertNull(reflector.getPrimitiveSetInvoker("boxed"));
+  }
+
+  @Test
+  public void shouldAccessPublicPropertiesThroughGeneratedInvokers() throws Exception {
+    ReflectorFactory reflectorFactory = new LambdaReflectorFactory();
+    Reflector reflector = reflectorFactory.findForClass(LambdaBean.class);
+    LambdaBean bean = new LambdaBean();
+    reflector.getSetInvoker("name").invoke(bean, new Object[] {"foo"});
+    reflector.getSetInvoker("count").invoke(bean, new Object[] {3});
+    reflector.getSetInvoker("hidden").invoke(bean, new Object[] {"bar"});
+    assertEquals("foo", reflector.getGetInvoker("name").invoke(bean, null));
+    assertEquals(3, reflector.getGetInvoker("count").invoke(bean, null));
+    assertEquals("bar", bean.hidden);
+    assertEquals(int.class, reflector.getSetInvoker("count").getType());
+    assertNotEquals(MethodInvoker.class, reflector.getGetInvoker("name").getClass());
+    assertTrue(reflector.getGetInvoker("hidden") instanceof GetFieldInvoker);
+    assertEquals(MethodInvoker.class, reflector.getSetInvoker("level").getClass());
+  }
+
+  @Test
+  public void shouldWrapExceptionsOfGeneratedInvokers() throws Exception {
+    Reflector reflector = new LambdaReflectorFactory().findForClass(LambdaBean.class);
+    when(reflector.getSetInvoker("count")).invoke(new LambdaBean(), new Object[] {null});
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class);
+    when(reflector.getSetInvoker("name")).invoke(new LambdaBean(), new Object[] {1});
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class);
+    when(reflector.getSetInvoker("name")).invoke(new LambdaBean(), new Object[] {"fail"});
+    then(caughtException()).isInstanceOf(InvocationTargetException.class)
+      .hasRootCauseInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldCachePropertyPathsWithTheReflectors() {
+    DefaultReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    assertSame(PropertyPath.compile("a.b", reflectorFactory), PropertyPath.compile("a.b", reflectorFactory));
+    assertNotSame(PropertyPath.compile("a.b", reflectorFactory), PropertyPath.compile("a.b", new DefaultReflectorFactory()));
+    reflectorFactory.setClassCacheEnabled(false);
+    assertNotSame(PropertyPath.compile("a.c", reflectorFactory), PropertyPath.compile("a.c", reflectorFactory));
+  }
+
+  public static class LambdaBean {
+    private String name;
+    private int count;
+    private String hidden;
+    private Level level;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      if ("fail".equals(name)) {
+        throw new IllegalArgumentException(name);
+      }
+      this.name = name;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+
+    public Level getLevel() {
+      return level;
+    }
+
+    public void setLevel(Level level) {
+      this.level = level;
+    }
+  }
+
+  private enum Level {
+    LOW, HIGH
+  }
 }
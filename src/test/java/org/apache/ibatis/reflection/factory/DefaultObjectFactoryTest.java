@@ -15,6 +15,10 @@
  */
 package org.apache.ibatis.reflection.factory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -94,4 +98,57 @@ public class DefaultObjectFactoryTest {
     Set set = defaultObjectFactory.create(Set.class);
     Assertions.assertTrue(set instanceof HashSet, " set should be HashSet");
   }
+
+  @Test
+  public void shouldCreateWithCachedConstructors() throws Exception {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    for (int i = 0; i < 3; i++) {
+      TestClass testClass = defaultObjectFactory.create(TestClass.class,
+          new ArrayList<>(Arrays.<Class<?>>asList(String.class, Integer.class)), Arrays.<Object>asList("foo" + i, i));
+      Assertions.assertEquals("foo" + i, testClass.myString);
+      Assertions.assertEquals((Integer) i, testClass.myInteger);
+    }
+    Assertions.assertEquals(1, defaultObjectFactory.create(PrivateClass.class, Collections.<Class<?>>singletonList(int.class),
+        Collections.<Object>singletonList(1)).value);
+    Assertions.assertEquals(0, defaultObjectFactory.create(PrivateClass.class).value);
+  }
+
+  @Test
+  public void shouldWrapConstructorExceptions() {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    try {
+      defaultObjectFactory.create(PrivateClass.class, Collections.<Class<?>>singletonList(int.class), Collections.<Object>singletonList(-1));
+      Assertions.fail("Should have thrown ReflectionException");
+    } catch (ReflectionException e) {
+      Assertions.assertTrue(e.getMessage().contains("(int)"));
+      Assertions.assertTrue(e.getCause().getCause() instanceof IllegalArgumentException);
+    }
+  }
+
+  @Test
+  public void shouldCreateAfterDeserialization() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(new DefaultObjectFactory());
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      DefaultObjectFactory defaultObjectFactory = (DefaultObjectFactory) in.readObject();
+      Assertions.assertEquals(0, defaultObjectFactory.create(PrivateClass.class).value);
+    }
+  }
+
+  private static class PrivateClass {
+    private final int value;
+
+    private PrivateClass() {
+      this(0);
+    }
+
+    private PrivateClass(int value) {
+      if (value < 0) {
+        throw new IllegalArgumentException("negative");
+      }
+      this.value = value;
+    }
+  }
 }
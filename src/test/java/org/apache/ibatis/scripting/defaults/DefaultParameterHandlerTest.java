@@ -32,10 +32,14 @@ import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -70,6 +74,90 @@ public class DefaultParameterHandlerTest {
 
   }
 
+  @Test
+  public void shouldReuseBindingPlanForSameParameterMappings() throws SQLException {
+    final MappedStatement mappedStatement = getMappedStatement();
+    final Configuration config = mappedStatement.getConfiguration();
+    final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
+    final List<ParameterMapping> parameterMappings = new ArrayList<>();
+    parameterMappings.add(new ParameterMapping.Builder(config, "id", registry.getTypeHandler(Integer.class)).build());
+    parameterMappings.add(new ParameterMapping.Builder(config, "name", registry.getTypeHandler(String.class)).build());
+    parameterMappings.add(new ParameterMapping.Builder(config, "child.name", registry.getTypeHandler(String.class)).build());
+
+    final Bean bean = new Bean(1, "parent", new Bean(2, "child", null));
+    PreparedStatement ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(mappedStatement, bean, new BoundSql(config, "sql", parameterMappings, bean)).setParameters(ps);
+    verify(ps).setInt(1, 1);
+    verify(ps).setString(2, "parent");
+    verify(ps).setString(3, "child");
+    final ParameterBindingPlanCache.Plan plan = mappedStatement.getParameterBindingPlanCache().getPlan(config, Bean.class, parameterMappings);
+
+    // new mappings with the same properties, as produced by dynamic SQL of the same shape
+    final List<ParameterMapping> sameMappings = new ArrayList<>();
+    sameMappings.add(new ParameterMapping.Builder(config, "id", registry.getTypeHandler(Integer.class)).build());
+    sameMappings.add(new ParameterMapping.Builder(config, "name", registry.getTypeHandler(String.class)).build());
+    sameMappings.add(new ParameterMapping.Builder(config, "child.name", registry.getTypeHandler(String.class)).build());
+    final Bean other = new Bean(3, "other", new Bean(4, "otherChild", null));
+    ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(mappedStatement, other, new BoundSql(config, "sql", sameMappings, other)).setParameters(ps);
+    verify(ps).setInt(1, 3);
+    verify(ps).setString(2, "other");
+    verify(ps).setString(3, "otherChild");
+    assertSame(plan, mappedStatement.getParameterBindingPlanCache().getPlan(config, Bean.class, sameMappings));
+    assertEquals(1, mappedStatement.getParameterBindingPlanCache().getSize());
+
+    // a different property needs a new plan
+    final List<ParameterMapping> otherMappings = new ArrayList<>(sameMappings);
+    otherMappings.set(2, new ParameterMapping.Builder(config, "child.id", registry.getTypeHandler(Integer.class)).build());
+    ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(mappedStatement, other, new BoundSql(config, "sql", otherMappings, other)).setParameters(ps);
+    verify(ps).setInt(3, 4);
+    assertNotSame(plan, mappedStatement.getParameterBindingPlanCache().getPlan(config, Bean.class, otherMappings));
+  }
+
+  @Test
+  public void shouldBindMapParametersAndAdditionalParameters() throws SQLException {
+    final MappedStatement mappedStatement = getMappedStatement();
+    final Configuration config = mappedStatement.getConfiguration();
+    final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
+    final List<ParameterMapping> parameterMappings = new ArrayList<>();
+    parameterMappings.add(new ParameterMapping.Builder(config, "id", registry.getTypeHandler(Integer.class)).build());
+    parameterMappings.add(new ParameterMapping.Builder(config, "item", registry.getTypeHandler(String.class)).build());
+
+    final HashMap<String, Object> parameter = new HashMap<>();
+    parameter.put("id", 7);
+    final BoundSql boundSql = new BoundSql(config, "sql", parameterMappings, parameter);
+    boundSql.setAdditionalParameter("item", "additional");
+    final PreparedStatement ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(mappedStatement, parameter, boundSql).setParameters(ps);
+    verify(ps).setInt(1, 7);
+    verify(ps).setString(2, "additional");
+  }
+
+  public static class Bean {
+    private final int id;
+    private final String name;
+    private final Bean child;
+
+    Bean(int id, String name, Bean child) {
+      this.id = id;
+      this.name = name;
+      this.child = child;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Bean getChild() {
+      return child;
+    }
+  }
+
   MappedStatement getMappedStatement() {
     final Configuration config = new Configuration();
     final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
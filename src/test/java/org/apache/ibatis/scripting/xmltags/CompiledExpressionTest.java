@@ -0,0 +1,225 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ognl.Ognl;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+public class CompiledExpressionTest {
+
+  @Test
+  public void shouldEvaluateLikeOgnl() throws Exception {
+    List<String> expressions = Arrays.asList(
+        "name != null", "name == null", "name != ''", "name == 'Steve'", "name != \"Steve\"",
+        "age > 18", "age >= 30", "age lt 30", "age lte 29", "age eq 30", "age neq 30", "age == 30 and name != null",
+        "tags != null and tags.size() > 0", "tags.isEmpty()", "!tags.isEmpty()", "not active", "active == true",
+        "nickname == null or nickname == ''", "name.length() > 3", "(age > 10 || age < 5) && active",
+        "address.city == 'Paris'", "address.zip != null", "_parameter != null", "_parameter.name", "name and age",
+        "missing == null", "total == 0", "id == 7");
+    int evaluated = 0;
+    for (Object parameter : Arrays.asList(newPerson("Steve", 30, true), newPerson(null, 0, false), newMap("Ann", 17))) {
+      DynamicContext context = new DynamicContext(new Configuration(), parameter);
+      for (String expression : expressions) {
+        Object ognlValue;
+        try {
+          ognlValue = Ognl.getValue(Ognl.parseExpression(expression),
+              Ognl.createDefaultContext(context.getBindings(), new OgnlMemberAccess(), new OgnlClassResolver(), null),
+              context.getBindings());
+        } catch (Exception e) {
+          ognlValue = e.getClass();
+        }
+        CompiledExpression compiled = CompiledExpression.compile(expression);
+        assertNotNull(compiled, expression);
+        Object value;
+        try {
+          value = compiled.getValue(context.getBindings());
+        } catch (Exception e) {
+          // thrown by the parameter object, as with OGNL
+          value = e.getClass();
+        }
+        if (value != CompiledExpression.FALLBACK) {
+          assertEquals(ognlValue, value, expression + " on " + parameter);
+          evaluated++;
+        }
+      }
+    }
+    assertTrue(evaluated > expressions.size() * 2, "evaluated without OGNL: " + evaluated);
+  }
+
+  @Test
+  public void shouldNotCompileOtherExpressions() {
+    for (String expression : Arrays.asList("name == 'a'", "name.trim() != ''", "list[0] != null", "x = 1", "a ? b : c",
+        "@java.lang.Math@max(1, 2)", "name in {'a', 'b'}", "1.5 > x", "list.size > 0", "map.keys", "a + b > 0", "a == b == c", "")) {
+      assertNull(CompiledExpression.compile(expression), expression);
+    }
+  }
+
+  @Test
+  public void shouldFallBackWhenOgnlWouldConvertValues() {
+    DynamicContext context = new DynamicContext(new Configuration(), newMap("Ann", 17));
+    context.bind("amount", new BigDecimal("1.0"));
+    assertSame(CompiledExpression.FALLBACK, CompiledExpression.compile("age != ''").getValue(context.getBindings()));
+    assertSame(CompiledExpression.FALLBACK, CompiledExpression.compile("amount == 1").getValue(context.getBindings()));
+    assertSame(CompiledExpression.FALLBACK, CompiledExpression.compile("missing.name == null").getValue(context.getBindings()));
+    assertNotSame(CompiledExpression.FALLBACK, CompiledExpression.compile("age != 0").getValue(context.getBindings()));
+    // OgnlCache evaluates the fallbacks with OGNL
+    assertEquals(Boolean.TRUE, OgnlCache.getValue("amount == 1", context.getBindings()));
+  }
+
+  @Test
+  public void shouldReadBeansWithReflectorFactoryOfConfiguration() {
+    List<Class<?>> types = new ArrayList<>();
+    Configuration configuration = new Configuration();
+    configuration.setReflectorFactory(new DefaultReflectorFactory() {
+      @Override
+      public Reflector findForClass(Class<?> type) {
+        types.add(type);
+        return super.findForClass(type);
+      }
+    });
+    DynamicContext context = new DynamicContext(configuration, newPerson("Steve", 30, true));
+    types.clear();
+    assertEquals(Boolean.TRUE, CompiledExpression.compile("address.city == 'Paris'").getValue(context.getBindings()));
+    assertEquals(Collections.singletonList(Address.class), types);
+    // without the configuration, OGNL reads the beans
+    assertSame(CompiledExpression.FALLBACK,
+        CompiledExpression.compile("address.city == 'Paris'").getValue(Collections.singletonMap("address", new Address())));
+  }
+
+  @Test
+  public void shouldNotCallFailingGetterTwice() {
+    BrokenPerson person = new BrokenPerson();
+    DynamicContext context = new DynamicContext(new Configuration(), Collections.singletonMap("person", person));
+    BuilderException e = assertThrows(BuilderException.class, () -> OgnlCache.getValue("person.name != null", context.getBindings()));
+    assertTrue(e.getCause() instanceof IllegalStateException);
+    assertEquals(1, person.calls);
+  }
+
+  private static Person newPerson(String name, int age, boolean active) {
+    Person person = new Person();
+    person.name = name;
+    person.age = age;
+    person.active = active;
+    person.tags = name == null ? new ArrayList<>() : Arrays.asList("a", "b");
+    person.address = name == null ? null : new Address();
+    return person;
+  }
+
+  private static Map<String, Object> newMap(String name, int age) {
+    Map<String, Object> map = new HashMap<>();
+    map.put("name", name);
+    map.put("age", age);
+    map.put("active", Boolean.TRUE);
+    map.put("nickname", "");
+    map.put("tags", Collections.emptySet());
+    map.put("total", 0L);
+    map.put("id", (short) 7);
+    map.put("address", Collections.singletonMap("city", "Paris"));
+    return map;
+  }
+
+  public static class Person {
+    private String name;
+    private int age;
+    private boolean active;
+    private List<String> tags;
+    private Address address;
+    private String nickname;
+    private long total;
+    private Integer id = 7;
+
+    public String getName() {
+      return name;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public List<String> getTags() {
+      return tags;
+    }
+
+    public Address getAddress() {
+      return address;
+    }
+
+    public String getNickname() {
+      return nickname;
+    }
+
+    public long getTotal() {
+      return total;
+    }
+
+    public Integer getId() {
+      return id;
+    }
+
+    @Override
+    public String toString() {
+      return "Person " + name;
+    }
+  }
+
+  public static class BrokenPerson {
+    private int calls;
+
+    public String getName() {
+      calls++;
+      throw new IllegalStateException("broken");
+    }
+  }
+
+  public static class Address {
+    private String city = "Paris";
+    private String zip;
+
+    public String getCity() {
+      return city;
+    }
+
+    public String getZip() {
+      return zip;
+    }
+  }
+
+}
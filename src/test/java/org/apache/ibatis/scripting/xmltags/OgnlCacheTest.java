@@ -0,0 +1,116 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OgnlCacheTest {
+
+  @BeforeEach
+  public void clearCache() {
+    OgnlCache.clear();
+  }
+
+  @AfterEach
+  public void restoreDefaults() {
+    OgnlCache.setMaxSize(OgnlCache.DEFAULT_MAX_SIZE);
+    OgnlCache.setContextReuseEnabled(true);
+  }
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    Map<String, Object> root = Collections.singletonMap("name", "Steve");
+    assertEquals("Steve", OgnlCache.getValue("name", root));
+    assertEquals("Steve", OgnlCache.getValue("name", root));
+    assertEquals(3, OgnlCache.getValue("name.indexOf('v')", root));
+    assertEquals(1, OgnlCache.getHitCount());
+    assertEquals(2, OgnlCache.getMissCount());
+    assertEquals(2, OgnlCache.getSize());
+  }
+
+  @Test
+  public void shouldEvictWhenFull() {
+    OgnlCache.setMaxSize(20);
+    Map<String, Object> root = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      root.put("p" + i, i);
+      assertEquals(i, OgnlCache.getValue("p" + i, root));
+      assertTrue(OgnlCache.getSize() <= 20);
+    }
+    assertTrue(OgnlCache.getEvictionCount() >= 80);
+    assertEquals(100, OgnlCache.getMissCount());
+  }
+
+  @Test
+  public void shouldEvaluateNestedExpressionsWithSeparateContexts() {
+    Map<String, Object> root = new HashMap<>();
+    root.put("outer", new Outer());
+    assertEquals("inner", OgnlCache.getValue("outer.value.substring(0)", root));
+    // the reusable context is released after an error
+    assertThrows(BuilderException.class, () -> OgnlCache.getValue("outer.missing.substring(0)", root));
+    assertEquals("inner", OgnlCache.getValue("outer.value.substring(0)", root));
+  }
+
+  @Test
+  public void shouldNotKeepRootAfterEvaluation() throws Exception {
+    Map<String, Object> root = new HashMap<>();
+    root.put("name", "Steve");
+    WeakReference<Object> rootReference = new WeakReference<>(root);
+    assertEquals(3, OgnlCache.getValue("name.indexOf('v')", root));
+    root = null;
+    for (int i = 0; i < 100 && rootReference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(rootReference.get());
+  }
+
+  @Test
+  public void shouldEvaluateWithoutReusingContext() {
+    Map<String, Object> root = Collections.singletonMap("name", "Steve");
+    OgnlCache.removeContext();
+    assertEquals(3, OgnlCache.getValue("name.indexOf('v')", root));
+    OgnlCache.setContextReuseEnabled(false);
+    assertFalse(OgnlCache.isContextReuseEnabled());
+    assertEquals(3, OgnlCache.getValue("name.indexOf('v')", root));
+  }
+
+  @Test
+  public void shouldRejectNonPositiveMaxSize() {
+    assertThrows(IllegalArgumentException.class, () -> OgnlCache.setMaxSize(0));
+  }
+
+  public static class Outer {
+    public String getValue() {
+      return (String) OgnlCache.getValue("value.toString()", Collections.singletonMap("value", "inner"));
+    }
+  }
+
+}
@@ -0,0 +1,226 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.compiled_sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.builder.xml.XMLMapperCompiler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CompiledSqlTest {
+
+  private static final String MAPPER = "org/apache/ibatis/submitted/compiled_sql/Mapper.xml";
+  private static final String ALTERED_MAPPER = "org/apache/ibatis/submitted/compiled_sql/AlteredMapper.xml";
+  private static final String INVALID_MAPPER = "org/apache/ibatis/submitted/compiled_sql/InvalidMapper.xml";
+  private static final String CLASS_NAME = "org.apache.ibatis.submitted.compiled_sql.MapperSqlSources";
+
+  private static Path outputDirectory;
+  private static Path tamperedOutputDirectory;
+  private static String source;
+  private static ClassLoader defaultClassLoader;
+
+  @BeforeAll
+  static void compileMapper() throws Exception {
+    XMLMapperCompiler compiler = new XMLMapperCompiler(new Configuration());
+    try (InputStream inputStream = Resources.getResourceAsStream(MAPPER)) {
+      compiler.addMapper(MAPPER, inputStream);
+    }
+    outputDirectory = Files.createTempDirectory("compiled_sql");
+    compiler.generateSources(outputDirectory.toFile());
+    source = compiler.generateSources().get(CLASS_NAME);
+    compileSource(outputDirectory);
+
+    // the same class building other SQL, to tell the compiled SQL from the XML one
+    tamperedOutputDirectory = Files.createTempDirectory("compiled_sql");
+    compiler.generateSources(tamperedOutputDirectory.toFile());
+    Path tamperedSource = tamperedOutputDirectory.resolve(CLASS_NAME.replace('.', File.separatorChar) + ".java");
+    Files.write(tamperedSource, source.replace("from users where id", "from compiled_users where id").getBytes(StandardCharsets.UTF_8));
+    compileSource(tamperedOutputDirectory);
+
+    defaultClassLoader = Resources.getDefaultClassLoader();
+  }
+
+  private static void compileSource(Path directory) {
+    File sourceFile = directory.resolve(CLASS_NAME.replace('.', File.separatorChar) + ".java").toFile();
+    JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+    assertEquals(0, javaCompiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+        "-d", directory.toString(), sourceFile.getPath()));
+  }
+
+  @AfterAll
+  static void deleteOutputDirectories() throws IOException {
+    Resources.setDefaultClassLoader(defaultClassLoader);
+    for (Path directory : Arrays.asList(outputDirectory, tamperedOutputDirectory)) {
+      try (Stream<Path> paths = Files.walk(directory)) {
+        paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
+  @Test
+  void shouldOnlyCompileStatementsIndependentOfConfiguration() {
+    assertTrue(source.contains("case \"getUsers\":"));
+    assertTrue(source.contains("case \"insertUser!selectKey\":"));
+    assertTrue(source.contains("'a \\\"quoted\\\"\\tnote'"));
+    assertFalse(source.contains("getSortedUsers"));
+    assertFalse(source.contains("getUserByName"));
+  }
+
+  @Test
+  void shouldBuildSameSqlAsXml() throws Exception {
+    Configuration xmlConfiguration = loadMapper(MAPPER, null);
+    Configuration compiledConfiguration = loadMapper(MAPPER, outputDirectory);
+
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("id", 1);
+    parameter.put("name", "User1");
+    parameter.put("ids", Arrays.asList(1, 2, 3));
+    parameter.put("column", "name");
+    for (String id : Arrays.asList("getUsers", "getUser", "getUserById", "updateUser", "insertUser", "insertUser!selectKey",
+        "getSortedUsers", "getUserByName")) {
+      assertSameSql(xmlConfiguration, compiledConfiguration, id, parameter);
+    }
+    parameter.put("name", null);
+    parameter.put("ids", null);
+    assertSameSql(xmlConfiguration, compiledConfiguration, "getUsers", parameter);
+    assertSameSql(xmlConfiguration, compiledConfiguration, "updateUser", parameter);
+  }
+
+  @Test
+  void shouldUseCompiledSqlWhenXmlIsUnchanged() throws Exception {
+    Configuration configuration = loadMapper(MAPPER, tamperedOutputDirectory);
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("id", 1);
+    assertEquals("select * from compiled_users where id = ?", getSql(configuration, "getUserById", parameter));
+  }
+
+  @Test
+  void shouldParseXmlWhenChangedSinceCompiled() throws Exception {
+    Configuration configuration = loadMapper(ALTERED_MAPPER, tamperedOutputDirectory);
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("id", 1);
+    parameter.put("column", "name");
+    assertEquals("select * from altered_users where id = ?", getSql(configuration, "getUserById", parameter));
+    assertEquals("select * from altered_users order by name", getSql(configuration, "getSortedUsers", parameter));
+  }
+
+  @Test
+  void shouldNotLookUpCompiledSqlUnlessEnabled() throws Exception {
+    List<String> loadedClasses = new ArrayList<>();
+    ClassLoader classLoader = new URLClassLoader(new URL[] {tamperedOutputDirectory.toUri().toURL()}) {
+      @Override
+      protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        loadedClasses.add(name);
+        return super.loadClass(name, resolve);
+      }
+    };
+    Configuration configuration = loadMapper(MAPPER, classLoader, false);
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("id", 1);
+    assertEquals("select * from users where id = ?", getSql(configuration, "getUserById", parameter));
+    assertFalse(loadedClasses.contains(CLASS_NAME));
+  }
+
+  @Test
+  void shouldFailOnStatementsThatCannotBeCompiled() throws Exception {
+    XMLMapperCompiler compiler = new XMLMapperCompiler(new Configuration());
+    try (InputStream inputStream = Resources.getResourceAsStream(INVALID_MAPPER)) {
+      compiler.addMapper(INVALID_MAPPER, inputStream);
+    }
+    BuilderException e = assertThrows(BuilderException.class, compiler::generateSources);
+    assertEquals("Could not compile 1 statement(s):\n  " + INVALID_MAPPER + " (getUsersInChunks): For input string: \"many\"",
+        e.getMessage());
+    assertTrue(e.getCause() instanceof NumberFormatException);
+  }
+
+  @Test
+  void shouldRequireOutputDirectoryAndMappers() {
+    assertThrows(IllegalArgumentException.class, () -> XMLMapperCompiler.main(new String[] {"target"}));
+  }
+
+  private Configuration loadMapper(String resource, Path compiledDirectory) throws Exception {
+    if (compiledDirectory == null) {
+      return loadMapper(resource, defaultClassLoader, false);
+    }
+    return loadMapper(resource, new URLClassLoader(new URL[] {compiledDirectory.toUri().toURL()}), true);
+  }
+
+  private Configuration loadMapper(String resource, ClassLoader classLoader, boolean compiledSqlEnabled) throws Exception {
+    Resources.setDefaultClassLoader(classLoader);
+    try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+      Configuration configuration = new Configuration();
+      configuration.setDatabaseId("hsql");
+      configuration.setCompiledSqlEnabled(compiledSqlEnabled);
+      new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+      return configuration;
+    } finally {
+      Resources.setDefaultClassLoader(defaultClassLoader);
+    }
+  }
+
+  private void assertSameSql(Configuration expected, Configuration actual, String id, Object parameter) {
+    BoundSql expectedSql = getBoundSql(expected, id, parameter);
+    BoundSql actualSql = getBoundSql(actual, id, parameter);
+    assertEquals(expectedSql.getSql(), actualSql.getSql());
+    assertEquals(expectedSql.getParameterMappings().size(), actualSql.getParameterMappings().size());
+    for (int i = 0; i < expectedSql.getParameterMappings().size(); i++) {
+      ParameterMapping expectedMapping = expectedSql.getParameterMappings().get(i);
+      ParameterMapping actualMapping = actualSql.getParameterMappings().get(i);
+      assertEquals(expectedMapping.getProperty(), actualMapping.getProperty());
+      assertEquals(expectedSql.getAdditionalParameter(expectedMapping.getProperty()),
+          actualSql.getAdditionalParameter(actualMapping.getProperty()));
+    }
+  }
+
+  private String getSql(Configuration configuration, String id, Object parameter) {
+    return getBoundSql(configuration, id, parameter).getSql().replaceAll("\\s+", " ").trim();
+  }
+
+  private BoundSql getBoundSql(Configuration configuration, String id, Object parameter) {
+    return configuration.getMappedStatement("org.apache.ibatis.submitted.compiled_sql.Mapper." + id).getBoundSql(parameter);
+  }
+
+}
@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.Reader;
 import java.util.Iterator;
+import java.util.List;
 
 public class CursorNestedTest {
 
@@ -105,4 +106,24 @@ public class CursorNestedTest {
       Assertions.assertTrue(usersCursor.isConsumed());
     }
   }
+
+  @Test
+  public void testCursorFetchWithNestedResultMap() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.getMapper(Mapper.class).getAllUsers();
+
+      List<User> users = usersCursor.fetch(3);
+      Assertions.assertEquals(3, users.size());
+      Assertions.assertEquals(2, users.get(0).getGroups().size());
+      Assertions.assertEquals(3, users.get(0).getRoles().size());
+      Assertions.assertEquals(3, users.get(2).getGroups().size());
+      Assertions.assertEquals(1, users.get(2).getRoles().size());
+
+      users = usersCursor.fetch(3);
+      Assertions.assertEquals(1, users.size());
+      Assertions.assertEquals(2, users.get(0).getGroups().size());
+      Assertions.assertEquals(2, users.get(0).getRoles().size());
+      Assertions.assertTrue(usersCursor.isConsumed());
+    }
+  }
 }
@@ -17,7 +17,13 @@ package org.apache.ibatis.submitted.cursor_simple;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -26,12 +32,20 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CursorSimpleTest {
 
@@ -157,6 +171,149 @@ public class CursorSimpleTest {
     }
   }
 
+  @Test
+  public void testCursorChunks() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.getMapper(Mapper.class).getAllUsers();
+
+      List<Integer> chunkSizes = new ArrayList<>();
+      for (List<User> chunk : usersCursor.chunks(2)) {
+        chunkSizes.add(chunk.size());
+      }
+      Assertions.assertEquals(Arrays.asList(2, 2, 1), chunkSizes);
+      Assertions.assertEquals(4, usersCursor.getCurrentIndex());
+      Assertions.assertTrue(usersCursor.isConsumed());
+    }
+  }
+
+  @Test
+  public void testCursorFetchWithRowBoundAndIterator() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.selectCursor("getAllUsers", null, new RowBounds(1, 3));
+      Iterator<User> iterator = usersCursor.iterator();
+
+      // the item fetched by hasNext() is returned first
+      Assertions.assertTrue(iterator.hasNext());
+      List<User> users = usersCursor.fetch(2);
+      Assertions.assertEquals(2, users.size());
+      Assertions.assertEquals("User2", users.get(0).getName());
+      Assertions.assertEquals("User3", users.get(1).getName());
+      Assertions.assertEquals(2, usersCursor.getCurrentIndex());
+
+      users = usersCursor.fetch(5);
+      Assertions.assertEquals(1, users.size());
+      Assertions.assertEquals("User4", users.get(0).getName());
+      Assertions.assertEquals(3, usersCursor.getCurrentIndex());
+      Assertions.assertTrue(usersCursor.isConsumed());
+
+      Assertions.assertTrue(usersCursor.fetch(5).isEmpty());
+      Assertions.assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  public void testPrefetchingCursorWithRowBound() {
+    sqlSessionFactory.getConfiguration().setCursorPrefetchSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.selectCursor("getAllUsers", null, new RowBounds(1, 3));
+
+      List<String> names = new ArrayList<>();
+      for (User user : usersCursor) {
+        names.add(user.getName());
+      }
+      Assertions.assertEquals(Arrays.asList("User2", "User3", "User4"), names);
+      Assertions.assertEquals(3, usersCursor.getCurrentIndex());
+      Assertions.assertFalse(usersCursor.isOpen());
+      Assertions.assertTrue(usersCursor.isConsumed());
+    } finally {
+      sqlSessionFactory.getConfiguration().setCursorPrefetchSize(null);
+    }
+  }
+
+  @Test
+  public void testPrefetchingCursorClosedBeforeConsumed() throws IOException {
+    sqlSessionFactory.getConfiguration().setCursorPrefetchSize(1);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.getMapper(Mapper.class).getAllUsers();
+      Iterator<User> iterator = usersCursor.iterator();
+      Assertions.assertEquals("User1", iterator.next().getName());
+      Assertions.assertTrue(usersCursor.isOpen());
+
+      usersCursor.close();
+      Assertions.assertFalse(usersCursor.isOpen());
+      Assertions.assertFalse(usersCursor.isConsumed());
+      Assertions.assertFalse(iterator.hasNext());
+    } finally {
+      sqlSessionFactory.getConfiguration().setCursorPrefetchSize(null);
+    }
+  }
+
+  @Test
+  public void testNoPrefetchingWithNestedSelects() throws IOException {
+    final SqlSessionFactory factory;
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cursor_simple/mybatis-config.xml")) {
+      factory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    final Set<String> statementThreads = ConcurrentHashMap.newKeySet();
+    factory.getConfiguration().addInterceptor(new StatementThreadInterceptor(statementThreads));
+    factory.getConfiguration().setCursorPrefetchSize(2);
+    try (SqlSession sqlSession = factory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.getMapper(Mapper.class).getAllUsersWithNestedName();
+
+      List<String> names = new ArrayList<>();
+      for (User user : usersCursor) {
+        names.add(user.getName());
+      }
+      Assertions.assertEquals(Arrays.asList("User1", "User2", "User3", "User4", "User5"), names);
+      Assertions.assertEquals(Collections.singleton(Thread.currentThread().getName()), statementThreads);
+    }
+  }
+
+  @Test
+  public void testNoPrefetchingWithStreams() throws IOException {
+    NameReaderTypeHandler.THREADS.clear();
+    sqlSessionFactory.getConfiguration().setCursorPrefetchSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<Map<String, Object>> cursor = sqlSession.selectCursor("getAllUserNameReaders");
+
+      List<String> names = new ArrayList<>();
+      for (Map<String, Object> user : cursor) {
+        try (BufferedReader reader = new BufferedReader((Reader) user.get("name"))) {
+          names.add(reader.readLine());
+        }
+      }
+      Assertions.assertEquals(Arrays.asList("User1", "User2", "User3", "User4", "User5"), names);
+      Assertions.assertEquals(Collections.singleton(Thread.currentThread().getName()), NameReaderTypeHandler.THREADS);
+    } finally {
+      sqlSessionFactory.getConfiguration().setCursorPrefetchSize(null);
+    }
+  }
+
+  @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+  private static class StatementThreadInterceptor implements Interceptor {
+
+    private final Set<String> threads;
+
+    StatementThreadInterceptor(Set<String> threads) {
+      this.threads = threads;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      threads.add(Thread.currentThread().getName());
+      return invocation.proceed();
+    }
+
+    @Override
+    public Object plugin(Object target) {
+      return Plugin.wrap(target, this);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+    }
+  }
+
   @Test
   public void testCursorIteratorNoSuchElementExceptionWithHasNext() throws IOException {
 
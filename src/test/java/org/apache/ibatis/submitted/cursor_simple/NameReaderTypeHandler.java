@@ -0,0 +1,60 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cursor_simple;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * Reads a name as a stream and records the threads it was read on.
+ */
+public class NameReaderTypeHandler extends BaseTypeHandler<Reader> {
+
+  static final Set<String> THREADS = ConcurrentHashMap.newKeySet();
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, Reader parameter, JdbcType jdbcType) throws SQLException {
+    ps.setCharacterStream(i, parameter);
+  }
+
+  @Override
+  public Reader getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    THREADS.add(Thread.currentThread().getName());
+    String name = rs.getString(columnName);
+    return name == null ? null : new StringReader(name);
+  }
+
+  @Override
+  public Reader getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    THREADS.add(Thread.currentThread().getName());
+    String name = rs.getString(columnIndex);
+    return name == null ? null : new StringReader(name);
+  }
+
+  @Override
+  public Reader getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    throw new UnsupportedOperationException();
+  }
+}
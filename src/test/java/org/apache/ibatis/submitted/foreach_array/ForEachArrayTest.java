@@ -0,0 +1,155 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.foreach_array;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ForEachArrayTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/foreach_array/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/foreach_array/CreateDB.sql");
+  }
+
+  @Test
+  public void shouldBindCollectionAsOneArrayParameter() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsers(Arrays.asList(7, 2, 5));
+      assertEquals(3, users.size());
+      assertEquals("User2", users.get(0).getName());
+      assertEquals("User7", users.get(2).getName());
+
+      BoundSql boundSql = sqlSessionFactory.getConfiguration().getMappedStatement("getUsers")
+          .getBoundSql(Collections.singletonMap("ids", Arrays.asList(7, 2, 5)));
+      assertEquals(1, boundSql.getParameterMappings().size());
+    }
+  }
+
+  @Test
+  public void shouldBindPrimitiveArrayAndSet() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals(2, mapper.getUsersByPrimitiveArray(new int[] {1, 10}).size());
+      assertEquals(Arrays.asList("User3", "User4"), mapper.getNames(new LinkedHashSet<>(Arrays.asList("User4", "User3", "Nobody"))));
+    }
+  }
+
+  @Test
+  public void shouldReturnSameRowsWithPaddedList() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getPaddedUsers(Arrays.asList(3, 1, 8, 6, 9));
+      assertEquals(5, users.size());
+      assertEquals("User9", users.get(4).getName());
+    }
+  }
+
+  @Test
+  public void shouldExecuteOncePerChunk() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Integer> counts = sqlSession.getMapper(Mapper.class).countUsersInChunks(Arrays.asList(1, 2, 3, 4, 11), "User%");
+      assertEquals(Arrays.asList(2, 2, 0), counts);
+    }
+  }
+
+  @Test
+  public void shouldNotSplitStatementsOfSelectOne() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals(2, mapper.countUsersInChunksAsOne(Arrays.asList(1, 2), "User%"));
+      PersistenceException e = assertThrows(PersistenceException.class,
+          () -> mapper.countUsersInChunksAsOne(Arrays.asList(1, 2, 3, 4, 11), "User%"));
+      assertTrue(e.getMessage().contains("selectOne()"));
+    }
+  }
+
+  @Test
+  public void shouldOnlySplitOneCollection() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals(2, mapper.getUsersByIdsAndNamesInChunks(Arrays.asList(1, 2, 3), Arrays.asList("User1", "User2")).size());
+      PersistenceException e = assertThrows(PersistenceException.class,
+          () -> mapper.getUsersByIdsAndNamesInChunks(Arrays.asList(1, 2, 3), Arrays.asList("User1", "User2", "User3")));
+      assertTrue(e.getMessage().contains("'ids' and 'names'"));
+    }
+  }
+
+  @Test
+  public void shouldIterateOverCursorsOfChunks() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<String> names = new ArrayList<>();
+      try (Cursor<User> users = sqlSession.getMapper(Mapper.class).getUsersInChunks(Arrays.asList(5, 1, 11, 8, 3))) {
+        assertFalse(users.isOpen());
+        for (User user : users) {
+          names.add(user.getName());
+          assertTrue(users.isOpen());
+        }
+        assertTrue(users.isConsumed());
+        assertEquals(3, users.getCurrentIndex());
+      }
+      // each chunk is ordered on its own
+      assertEquals(Arrays.asList("User1", "User5", "User8", "User3"), names);
+    }
+  }
+
+  @Test
+  public void shouldNotSumUpdateCountsOfBatchedChunks() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals(BatchExecutor.BATCH_UPDATE_RETURN_VALUE, mapper.deleteUsersInChunks(Arrays.asList(1, 2, 3, 4, 11)));
+      sqlSession.flushStatements();
+      assertEquals(6, mapper.getUsers(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)).size());
+    }
+  }
+
+  @Test
+  public void shouldSumUpdateCountsOfChunks() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals(4, mapper.deleteUsersInChunks(Arrays.asList(1, 2, 3, 4, 11)));
+      assertEquals(6, mapper.getUsers(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)).size());
+    }
+  }
+
+}
@@ -0,0 +1,44 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.foreach_array;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+public interface Mapper {
+
+  List<User> getUsers(@Param("ids") List<Integer> ids);
+
+  List<User> getUsersByPrimitiveArray(int[] ids);
+
+  List<String> getNames(@Param("names") Set<String> names);
+
+  List<User> getPaddedUsers(@Param("ids") List<Integer> ids);
+
+  List<Integer> countUsersInChunks(@Param("ids") List<Integer> ids, @Param("prefix") String prefix);
+
+  int countUsersInChunksAsOne(@Param("ids") List<Integer> ids, @Param("prefix") String prefix);
+
+  List<User> getUsersByIdsAndNamesInChunks(@Param("ids") List<Integer> ids, @Param("names") List<String> names);
+
+  Cursor<User> getUsersInChunks(@Param("ids") List<Integer> ids);
+
+  int deleteUsersInChunks(List<Integer> ids);
+
+}
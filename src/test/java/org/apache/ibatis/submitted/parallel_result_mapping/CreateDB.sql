@@ -0,0 +1,44 @@
+--
+--    Copyright 2009-2019 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       http://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+drop table items if exists;
+
+create table items (
+  id int,
+  name varchar(20),
+  price decimal(10,2),
+  created date,
+  active boolean
+);
+
+insert into items (id, name, price, created, active)
+  select n, 'Item' || n, n * 1.5, date '2019-01-01' + (mod(n, 28) day), case when mod(n, 2) = 0 then true else false end
+  from unnest(sequence_array(1, 1000, 1)) as t(n);
+
+drop table events if exists;
+
+create table events (
+  id int,
+  occurred_at timestamp,
+  occurred_on date,
+  occurred_time time,
+  offset_at timestamp with time zone
+);
+
+insert into events (id, occurred_at, occurred_on, occurred_time, offset_at)
+  select n, timestamp '2019-01-01 10:20:30.125' + (n minute), date '2019-01-01' + (mod(n, 28) day),
+    time '10:20:30' + (n second), timestamp '2019-01-01 10:20:30+02:00' + (n minute)
+  from unnest(sequence_array(1, 600, 1)) as t(n);
@@ -0,0 +1,53 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_result_mapping;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+public class Event extends LocalEvent {
+
+  private OffsetDateTime offsetAt;
+  private ZonedDateTime zonedAt;
+
+  public OffsetDateTime getOffsetAt() {
+    return offsetAt;
+  }
+
+  public void setOffsetAt(OffsetDateTime offsetAt) {
+    this.offsetAt = offsetAt;
+  }
+
+  public ZonedDateTime getZonedAt() {
+    return zonedAt;
+  }
+
+  public void setZonedAt(ZonedDateTime zonedAt) {
+    this.zonedAt = zonedAt;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o) && Objects.equals(offsetAt, ((Event) o).offsetAt) && Objects.equals(zonedAt, ((Event) o).zonedAt);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), offsetAt, zonedAt);
+  }
+
+}
@@ -0,0 +1,90 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_result_mapping;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+
+public class LocalEvent {
+
+  private int id;
+  private LocalDateTime occurredAt;
+  private LocalDate occurredOn;
+  private LocalTime occurredTime;
+  private Instant occurredInstant;
+
+  public int getId() {
+    return id;
+  }
+
+  public void setId(int id) {
+    this.id = id;
+  }
+
+  public LocalDateTime getOccurredAt() {
+    return occurredAt;
+  }
+
+  public void setOccurredAt(LocalDateTime occurredAt) {
+    this.occurredAt = occurredAt;
+  }
+
+  public LocalDate getOccurredOn() {
+    return occurredOn;
+  }
+
+  public void setOccurredOn(LocalDate occurredOn) {
+    this.occurredOn = occurredOn;
+  }
+
+  public LocalTime getOccurredTime() {
+    return occurredTime;
+  }
+
+  public void setOccurredTime(LocalTime occurredTime) {
+    this.occurredTime = occurredTime;
+  }
+
+  public Instant getOccurredInstant() {
+    return occurredInstant;
+  }
+
+  public void setOccurredInstant(Instant occurredInstant) {
+    this.occurredInstant = occurredInstant;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    LocalEvent other = (LocalEvent) o;
+    return id == other.id && Objects.equals(occurredAt, other.occurredAt) && Objects.equals(occurredOn, other.occurredOn)
+        && Objects.equals(occurredTime, other.occurredTime) && Objects.equals(occurredInstant, other.occurredInstant);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, occurredAt, occurredOn, occurredTime, occurredInstant);
+  }
+
+}
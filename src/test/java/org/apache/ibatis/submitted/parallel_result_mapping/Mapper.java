@@ -0,0 +1,61 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_result_mapping;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+public interface Mapper {
+
+  @Select("select * from items order by id")
+  List<Item> getItems();
+
+  @Results({
+      @Result(property = "id", column = "id", id = true),
+      @Result(property = "name", column = "name")
+  })
+  @Select("select id, name from items order by id")
+  List<Item> getItemsWithResultMap(RowBounds rowBounds);
+
+  @Select("select * from items order by id")
+  List<Map<String, Object>> getItemsAsMaps();
+
+  @Select("select id, occurred_at, occurred_on, occurred_time, occurred_at as occurred_instant from events order by id")
+  List<LocalEvent> getLocalEvents();
+
+  @Select("select id, occurred_at, occurred_on, occurred_time, occurred_at as occurred_instant,"
+      + " offset_at from events order by id")
+  List<Event> getEvents();
+
+  @Results({
+      @Result(property = "id", column = "id", id = true),
+      @Result(property = "offsetAt", column = "occurred_at")
+  })
+  @Select("select id, occurred_at from events order by id")
+  List<Event> getEventsWithOffsetMapping();
+
+  @ResultType(Item.class)
+  @Select("select * from items order by id")
+  void getItemsWithHandler(ResultHandler<Item> handler);
+
+}
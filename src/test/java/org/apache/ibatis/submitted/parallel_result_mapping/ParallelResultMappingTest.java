@@ -0,0 +1,147 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_result_mapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ParallelResultMappingTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  public static void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/parallel_result_mapping/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/parallel_result_mapping/CreateDB.sql");
+  }
+
+  @Test
+  public void shouldMapAllRowsInOrder() {
+    assertTrue(sqlSessionFactory.getConfiguration().isParallelResultMappingEnabled());
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = sqlSession.getMapper(Mapper.class).getItems();
+      assertEquals(1000, items.size());
+      for (int i = 0; i < items.size(); i++) {
+        Item item = items.get(i);
+        int id = i + 1;
+        assertEquals(id, item.getId());
+        assertEquals("Item" + id, item.getName());
+        assertEquals(0, new BigDecimal(id * 1.5).compareTo(item.getPrice()));
+        assertEquals(LocalDate.of(2019, 1, 1).plusDays(id % 28), item.getCreated());
+        assertEquals(id % 2 == 0, item.isActive());
+      }
+    }
+  }
+
+  @Test
+  public void shouldMapMapsLikeSerialMapping() {
+    List<Map<String, Object>> parallel;
+    List<Map<String, Object>> serial;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      parallel = sqlSession.getMapper(Mapper.class).getItemsAsMaps();
+    }
+    sqlSessionFactory.getConfiguration().setParallelResultMappingEnabled(false);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      serial = sqlSession.getMapper(Mapper.class).getItemsAsMaps();
+    } finally {
+      sqlSessionFactory.getConfiguration().setParallelResultMappingEnabled(true);
+    }
+    assertEquals(serial, parallel);
+  }
+
+  @Test
+  public void shouldMapJavaTimeTypesLikeSerialMapping() {
+    assertEquals(serial(mapper -> mapper.getLocalEvents()), parallel(mapper -> mapper.getLocalEvents()));
+    assertEquals(serial(mapper -> mapper.getEvents()), parallel(mapper -> mapper.getEvents()));
+    assertEquals(serial(mapper -> mapper.getEventsWithOffsetMapping()), parallel(mapper -> mapper.getEventsWithOffsetMapping()));
+  }
+
+  @Test
+  public void shouldMapNativeJavaTimeTypesLikeSerialMapping() {
+    List<LocalEvent> serial = serial(mapper -> mapper.getLocalEvents());
+    sqlSessionFactory.getConfiguration().setNativeJavaTimeEnabled(true);
+    try {
+      List<LocalEvent> parallel = parallel(mapper -> mapper.getLocalEvents());
+      assertEquals(600, parallel.size());
+      assertEquals(serial, parallel);
+    } finally {
+      sqlSessionFactory.getConfiguration().setNativeJavaTimeEnabled(false);
+    }
+  }
+
+  private static <T> T parallel(Function<Mapper, T> query) {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return query.apply(sqlSession.getMapper(Mapper.class));
+    }
+  }
+
+  private static <T> T serial(Function<Mapper, T> query) {
+    sqlSessionFactory.getConfiguration().setParallelResultMappingEnabled(false);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return query.apply(sqlSession.getMapper(Mapper.class));
+    } finally {
+      sqlSessionFactory.getConfiguration().setParallelResultMappingEnabled(true);
+    }
+  }
+
+  @Test
+  public void shouldApplyRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = sqlSession.getMapper(Mapper.class).getItemsWithResultMap(new RowBounds(300, 400));
+      assertEquals(400, items.size());
+      assertEquals(301, items.get(0).getId());
+      assertEquals("Item700", items.get(399).getName());
+    }
+  }
+
+  @Test
+  public void shouldStopWhenResultHandlerStops() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Item> items = new ArrayList<>();
+      sqlSession.getMapper(Mapper.class).getItemsWithHandler(context -> {
+        items.add(context.getResultObject());
+        if (items.size() == 10) {
+          context.stop();
+        }
+      });
+      assertEquals(10, items.size());
+      assertEquals(10, items.get(9).getId());
+      assertFalse(items.contains(null));
+    }
+  }
+
+}
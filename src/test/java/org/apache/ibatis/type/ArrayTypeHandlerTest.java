@@ -19,9 +19,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
 import java.sql.Array;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,6 +45,32 @@ public class ArrayTypeHandlerTest extends BaseTypeHandlerTest {
     verify(ps).setArray(1, mockArray);
   }
 
+  @Test
+  public void shouldSetCollectionParameter() throws Exception {
+    Connection connection = mock(Connection.class);
+    when(ps.getConnection()).thenReturn(connection);
+    when(connection.createArrayOf("BIGINT", new Object[] {1L, 2L})).thenReturn(mockArray);
+    TYPE_HANDLER.setParameter(ps, 1, Arrays.asList(1L, 2L), null);
+    verify(ps).setArray(1, mockArray);
+    verify(mockArray).free();
+  }
+
+  @Test
+  public void shouldSetPrimitiveArrayParameter() throws Exception {
+    Connection connection = mock(Connection.class);
+    when(ps.getConnection()).thenReturn(connection);
+    when(connection.createArrayOf("INTEGER", new Object[] {1, 2})).thenReturn(mockArray);
+    TYPE_HANDLER.setParameter(ps, 1, new int[] {1, 2}, null);
+    verify(ps).setArray(1, mockArray);
+  }
+
+  @Test
+  public void shouldRejectArrayOfUnknownComponentType() throws Exception {
+    TypeException e = assertThrows(TypeException.class,
+        () -> TYPE_HANDLER.setParameter(ps, 1, new UUID[] {UUID.randomUUID()}, null));
+    assertTrue(e.getMessage().contains("java.util.UUID"), e.getMessage());
+  }
+
   @Override
   @Test
   public void shouldGetResultFromResultSetByName() throws Exception {
@@ -0,0 +1,258 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.executor.statement.StatementUtil;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+public class BlobPathTypeHandlerTest extends BaseTypeHandlerTest {
+
+  private static Path directory;
+  private static TypeHandler<Path> TYPE_HANDLER;
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @Mock
+  protected Blob blob;
+
+  @BeforeAll
+  public static void setup() throws Exception {
+    directory = Files.createTempDirectory("mybatis-blob-path");
+    TYPE_HANDLER = new BlobPathTypeHandler(directory);
+    DataSource dataSource = BaseDataTest.createUnpooledDataSource("org/apache/ibatis/type/jdbc.properties");
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    Configuration configuration = new Configuration(environment);
+    configuration.addMapper(Mapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+    BaseDataTest.runScript(dataSource, "org/apache/ibatis/type/BlobInputStreamTypeHandlerTest.sql");
+  }
+
+  @AfterAll
+  public static void deleteDirectory() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+  }
+
+  @Override
+  @Test
+  public void shouldSetParameter() throws Exception {
+    Path file = Files.write(Files.createTempFile(directory, "param", ".bin"), "Hello".getBytes(StandardCharsets.UTF_8));
+    TYPE_HANDLER.setParameter(ps, 1, file, null);
+    ArgumentCaptor<InputStream> in = ArgumentCaptor.forClass(InputStream.class);
+    verify(ps).setBinaryStream(eq(1), in.capture(), eq(5L));
+    byte[] buffer = new byte[5];
+    assertThat(in.getValue().read(buffer)).isEqualTo(5);
+    assertThat(new String(buffer, StandardCharsets.UTF_8)).isEqualTo("Hello");
+    // closed after the last byte
+    assertThat(in.getValue().read()).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldCloseFileWhenStatementIsClosed() throws Exception {
+    Path file = Files.write(Files.createTempFile(directory, "param", ".bin"), "Hello".getBytes(StandardCharsets.UTF_8));
+    TYPE_HANDLER.setParameter(ps, 1, file, null);
+    ArgumentCaptor<InputStream> in = ArgumentCaptor.forClass(InputStream.class);
+    verify(ps).setBinaryStream(eq(1), in.capture(), eq(5L));
+    assertThat(in.getValue().read()).isEqualTo('H');
+    // the driver stops reading, as when a later parameter fails to bind
+    StatementUtil.closeResources(ps);
+    assertThat(in.getValue().read()).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldOpenFileOnFirstRead() throws Exception {
+    Path file = Files.write(Files.createTempFile(directory, "param", ".bin"), "Hello".getBytes(StandardCharsets.UTF_8));
+    RecordingInputStream in = new RecordingInputStream(file, 5);
+    assertThat(in.opened).isNull();
+    in.close();
+    assertThat(in.opened).isNull();
+    assertThat(in.read()).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldCloseFileWhenLastBytesAreSkipped() throws Exception {
+    Path file = Files.write(Files.createTempFile(directory, "param", ".bin"), "Hello".getBytes(StandardCharsets.UTF_8));
+    RecordingInputStream in = new RecordingInputStream(file, 5);
+    assertThat(in.read()).isEqualTo('H');
+    assertThat(in.skip(2)).isEqualTo(2);
+    verify(in.opened, never()).close();
+    assertThat(in.skip(10)).isEqualTo(2);
+    verify(in.opened).close();
+    assertThat(in.read()).isEqualTo(-1);
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByName() throws Exception {
+    when(rs.getBlob("column")).thenReturn(blob);
+    when(blob.getBinaryStream()).thenReturn(new ByteArrayInputStream("Hello".getBytes(StandardCharsets.UTF_8)));
+    Path file = TYPE_HANDLER.getResult(rs, "column");
+    assertThat(file.getParent()).isEqualTo(directory);
+    assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).isEqualTo("Hello");
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromResultSetByName() throws Exception {
+    when(rs.getBlob("column")).thenReturn(null);
+    assertThat(TYPE_HANDLER.getResult(rs, "column")).isNull();
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByPosition() throws Exception {
+    when(rs.getBlob(1)).thenReturn(blob);
+    when(blob.getBinaryStream()).thenReturn(new ByteArrayInputStream("Hello".getBytes(StandardCharsets.UTF_8)));
+    assertThat(Files.readAllBytes(TYPE_HANDLER.getResult(rs, 1))).isEqualTo("Hello".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromResultSetByPosition() throws Exception {
+    when(rs.getBlob(1)).thenReturn(null);
+    assertThat(TYPE_HANDLER.getResult(rs, 1)).isNull();
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromCallableStatement() throws Exception {
+    when(cs.getBlob(1)).thenReturn(blob);
+    when(blob.getBinaryStream()).thenReturn(new ByteArrayInputStream("Hello".getBytes(StandardCharsets.UTF_8)));
+    assertThat(Files.readAllBytes(TYPE_HANDLER.getResult(cs, 1))).isEqualTo("Hello".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromCallableStatement() throws Exception {
+    when(cs.getBlob(1)).thenReturn(null);
+    assertThat(TYPE_HANDLER.getResult(cs, 1)).isNull();
+  }
+
+  @Test
+  public void shouldFailForMissingFile() {
+    Path missing = directory.resolve("missing.bin");
+    try {
+      TYPE_HANDLER.setParameter(ps, 1, missing, null);
+    } catch (Exception e) {
+      assertThat(e).isInstanceOf(TypeException.class);
+      assertThat(e.getMessage()).contains("missing.bin");
+      return;
+    }
+    throw new AssertionError("Should have thrown a TypeException");
+  }
+
+  @Test
+  public void integrationTest() throws IOException {
+    byte[] content = new byte[100000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    Path file = Files.write(Files.createTempFile(directory, "content", ".bin"), content);
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      BlobContent blobContent = new BlobContent();
+      blobContent.setId(2);
+      blobContent.setContent(file);
+      mapper.insert(blobContent);
+      Path result = mapper.findOne(2).getContent();
+      assertThat(result).isNotEqualTo(file);
+      assertThat(Files.readAllBytes(result)).isEqualTo(content);
+    }
+  }
+
+  interface Mapper {
+    @Select("SELECT ID, CONTENT FROM TEST_BLOB WHERE ID = #{id}")
+    @Results(@Result(property = "content", column = "CONTENT", typeHandler = BlobPathTypeHandler.class))
+    BlobContent findOne(int id);
+
+    @Insert("INSERT INTO TEST_BLOB (ID, CONTENT) VALUES(#{id}, #{content, typeHandler=org.apache.ibatis.type.BlobPathTypeHandler})")
+    void insert(BlobContent blobContent);
+  }
+
+  static class BlobContent {
+    private int id;
+    private Path content;
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(int id) {
+      this.id = id;
+    }
+
+    public Path getContent() {
+      return content;
+    }
+
+    public void setContent(Path content) {
+      this.content = content;
+    }
+  }
+
+  private static class RecordingInputStream extends BlobPathTypeHandler.FileContentInputStream {
+
+    private InputStream opened;
+
+    RecordingInputStream(Path file, long length) {
+      super(file, length);
+    }
+
+    @Override
+    InputStream open(Path file) throws IOException {
+      opened = spy(super.open(file));
+      return opened;
+    }
+  }
+
+}
@@ -17,10 +17,12 @@ package org.apache.ibatis.type;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.apache.ibatis.executor.result.ResultMapException;
 import org.junit.jupiter.api.Test;
 
 public class EnumTypeHandlerTest extends BaseTypeHandlerTest {
@@ -92,4 +94,11 @@ public class EnumTypeHandlerTest extends BaseTypeHandlerTest {
     verify(cs, never()).wasNull();
   }
 
+  @Test
+  public void shouldFailForUnknownName() throws Exception {
+    when(rs.getString(1)).thenReturn("THREE");
+    ResultMapException e = assertThrows(ResultMapException.class, () -> TYPE_HANDLER.getResult(rs, 1));
+    assertEquals("No enum constant " + MyEnum.class.getCanonicalName() + ".THREE", e.getCause().getMessage());
+  }
+
 }
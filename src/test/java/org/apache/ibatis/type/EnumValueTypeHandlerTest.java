@@ -0,0 +1,172 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.ibatis.executor.result.ResultMapException;
+import org.junit.jupiter.api.Test;
+
+public class EnumValueTypeHandlerTest extends BaseTypeHandlerTest {
+
+  enum Status {
+    ACTIVE('A'), INACTIVE('I');
+
+    @EnumValue
+    private final char code;
+
+    Status(char code) {
+      this.code = code;
+    }
+  }
+
+  enum Priority {
+    LOW(10), MEDIUM(20), HIGH(30);
+
+    @EnumValue
+    private final int code;
+
+    Priority(int code) {
+      this.code = code;
+    }
+  }
+
+  enum Size {
+    SMALL(1L), HUGE(1000000000000L);
+
+    @EnumValue
+    private final Long code;
+
+    Size(Long code) {
+      this.code = code;
+    }
+  }
+
+  enum Plain {
+    ONE, TWO
+  }
+
+  enum Duplicated {
+    ONE("X"), TWO("X");
+
+    @EnumValue
+    private final String code;
+
+    Duplicated(String code) {
+      this.code = code;
+    }
+  }
+
+  private static final TypeHandler<Status> TYPE_HANDLER = new EnumValueTypeHandler<>(Status.class);
+
+  @Override
+  @Test
+  public void shouldSetParameter() throws Exception {
+    TYPE_HANDLER.setParameter(ps, 1, Status.INACTIVE, null);
+    verify(ps).setString(1, "I");
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByName() throws Exception {
+    when(rs.getString("column")).thenReturn("A");
+    assertEquals(Status.ACTIVE, TYPE_HANDLER.getResult(rs, "column"));
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromResultSetByName() throws Exception {
+    when(rs.getString("column")).thenReturn(null);
+    assertNull(TYPE_HANDLER.getResult(rs, "column"));
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByPosition() throws Exception {
+    when(rs.getString(1)).thenReturn("I");
+    assertEquals(Status.INACTIVE, TYPE_HANDLER.getResult(rs, 1));
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromResultSetByPosition() throws Exception {
+    when(rs.getString(1)).thenReturn(null);
+    assertNull(TYPE_HANDLER.getResult(rs, 1));
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromCallableStatement() throws Exception {
+    when(cs.getString(1)).thenReturn("A");
+    assertEquals(Status.ACTIVE, TYPE_HANDLER.getResult(cs, 1));
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromCallableStatement() throws Exception {
+    when(cs.getString(1)).thenReturn(null);
+    assertNull(TYPE_HANDLER.getResult(cs, 1));
+  }
+
+  @Test
+  public void shouldMapIntegralCodes() throws Exception {
+    TypeHandler<Priority> typeHandler = new EnumValueTypeHandler<>(Priority.class);
+    typeHandler.setParameter(ps, 1, Priority.MEDIUM, null);
+    verify(ps).setObject(1, 20);
+    when(rs.getLong("column")).thenReturn(30L);
+    assertEquals(Priority.HIGH, typeHandler.getResult(rs, "column"));
+    when(rs.getLong(1)).thenReturn(0L);
+    when(rs.wasNull()).thenReturn(true);
+    assertNull(typeHandler.getResult(rs, 1));
+  }
+
+  @Test
+  public void shouldMapSparseIntegralCodes() throws Exception {
+    TypeHandler<Size> typeHandler = new EnumValueTypeHandler<>(Size.class);
+    typeHandler.setParameter(ps, 1, Size.HUGE, JdbcType.BIGINT);
+    verify(ps).setObject(1, 1000000000000L, JdbcType.BIGINT.TYPE_CODE);
+    when(cs.getLong(1)).thenReturn(1000000000000L);
+    assertEquals(Size.HUGE, typeHandler.getResult(cs, 1));
+  }
+
+  @Test
+  public void shouldMapNamesOfEnumsWithoutCode() throws Exception {
+    TypeHandler<Plain> typeHandler = new EnumValueTypeHandler<>(Plain.class);
+    typeHandler.setParameter(ps, 1, Plain.TWO, null);
+    verify(ps).setString(1, "TWO");
+    when(rs.getString(1)).thenReturn("ONE");
+    assertEquals(Plain.ONE, typeHandler.getResult(rs, 1));
+  }
+
+  @Test
+  public void shouldFailForUnknownCode() throws Exception {
+    TypeHandler<Priority> typeHandler = new EnumValueTypeHandler<>(Priority.class);
+    when(rs.getLong(1)).thenReturn(15L);
+    ResultMapException e = assertThrows(ResultMapException.class, () -> typeHandler.getResult(rs, 1));
+    assertEquals("Cannot convert 15 to Priority by code value.", e.getCause().getMessage());
+  }
+
+  @Test
+  public void shouldRejectDuplicatedCodes() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new EnumValueTypeHandler<>(Duplicated.class));
+    assertEquals("Duplicate code X in Duplicated.", e.getMessage());
+  }
+
+}
@@ -87,4 +87,11 @@ public class IntegerTypeHandlerTest extends BaseTypeHandlerTest {
     assertNull(TYPE_HANDLER.getResult(cs, 1));
   }
 
+
+  @Test
+  public void shouldGetIntFromResultSetByName() throws Exception {
+    when(rs.getInt("column")).thenReturn(100);
+    assertEquals(100, ((PrimitiveTypeHandler) TYPE_HANDLER).getInt(rs, "column"));
+    assertEquals(int.class, ((PrimitiveTypeHandler) TYPE_HANDLER).getPrimitiveType());
+  }
 }
\ No newline at end of file
@@ -18,6 +18,11 @@ package org.apache.ibatis.type;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 
@@ -83,4 +88,64 @@ public class LocalDateTimeTypeHandlerTest extends BaseTypeHandlerTest {
     assertNull(TYPE_HANDLER.getResult(cs, 1));
     verify(cs, never()).wasNull();
   }
+
+  @Test
+  public void shouldPassValuesAsTheyAreToJdbc42Drivers() throws Exception {
+    final LocalDateTimeTypeHandler typeHandler = new LocalDateTimeTypeHandler(true);
+    final Connection connection = mockConnection(4, 2);
+    when(ps.getConnection()).thenReturn(connection);
+    typeHandler.setParameter(ps, 1, LOCAL_DATE_TIME, null);
+    verify(ps).setObject(1, LOCAL_DATE_TIME);
+
+    when(rs.getObject("column", LocalDateTime.class)).thenReturn(LOCAL_DATE_TIME);
+    assertEquals(LOCAL_DATE_TIME, typeHandler.getResult(rs, "column"));
+    verify(rs, never()).getTimestamp("column");
+    // the driver capability is only detected once
+    verify(connection, times(1)).getMetaData();
+  }
+
+  @Test
+  public void shouldConvertValuesForDriversBeforeJdbc42() throws Exception {
+    final LocalDateTimeTypeHandler typeHandler = new LocalDateTimeTypeHandler(true);
+    final Statement statement = mock(Statement.class);
+    final Connection connection = mockConnection(4, 1);
+    when(rs.getStatement()).thenReturn(statement);
+    when(statement.getConnection()).thenReturn(connection);
+    when(rs.getTimestamp(1)).thenReturn(TIMESTAMP);
+    assertEquals(LOCAL_DATE_TIME, typeHandler.getResult(rs, 1));
+    verify(rs, never()).getObject(1, LocalDateTime.class);
+  }
+
+  @Test
+  public void shouldConvertValuesAfterDriverRejectedThem() throws Exception {
+    final LocalDateTimeTypeHandler typeHandler = new LocalDateTimeTypeHandler(true);
+    final Connection connection = mockConnection(4, 2);
+    when(cs.getConnection()).thenReturn(connection);
+    when(cs.getObject(1, LocalDateTime.class)).thenThrow(new SQLFeatureNotSupportedException());
+    when(cs.getTimestamp(1)).thenReturn(TIMESTAMP);
+    assertEquals(LOCAL_DATE_TIME, typeHandler.getResult(cs, 1));
+    assertEquals(LOCAL_DATE_TIME, typeHandler.getResult(cs, 1));
+    verify(cs, times(1)).getObject(1, LocalDateTime.class);
+  }
+
+  @Test
+  public void shouldConvertValuesWhenDriverCapabilityCannotBeDetected() throws Exception {
+    final LocalDateTimeTypeHandler typeHandler = new LocalDateTimeTypeHandler(true);
+    when(rs.getStatement()).thenThrow(new SQLException("closed"));
+    when(rs.getTimestamp("column")).thenReturn(TIMESTAMP);
+    assertEquals(LOCAL_DATE_TIME, typeHandler.getResult(rs, "column"));
+    assertEquals(LOCAL_DATE_TIME, typeHandler.getResult(rs, "column"));
+    verify(rs, never()).getObject("column", LocalDateTime.class);
+    // the failed detection is not retried
+    verify(rs, times(1)).getStatement();
+  }
+
+  private static Connection mockConnection(int majorVersion, int minorVersion) throws Exception {
+    final Connection connection = mock(Connection.class);
+    final DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+    when(connection.getMetaData()).thenReturn(metaData);
+    when(metaData.getJDBCMajorVersion()).thenReturn(majorVersion);
+    when(metaData.getJDBCMinorVersion()).thenReturn(minorVersion);
+    return connection;
+  }
 }
@@ -22,6 +22,8 @@ import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
 
@@ -223,4 +225,42 @@ public class TypeHandlerRegistryTest {
     typeHandlerRegistry.register(Address.class, StringTypeHandler.class);
     assertTrue(typeHandlerRegistry.hasTypeHandler(Address.class));
   }
+
+  @Test
+  public void shouldFindHandlerRegisteredForSuperclassAfterMiss() {
+    class Base {
+    }
+    class Derived extends Base {
+    }
+    assertNull(typeHandlerRegistry.getTypeHandler(Derived.class));
+    assertNull(typeHandlerRegistry.getTypeHandler(Derived.class, JdbcType.VARCHAR));
+    typeHandlerRegistry.register(Base.class, StringTypeHandler.class);
+    assertSame(StringTypeHandler.class, typeHandlerRegistry.getTypeHandler(Derived.class).getClass());
+    assertSame(StringTypeHandler.class, typeHandlerRegistry.getTypeHandler(Derived.class, JdbcType.VARCHAR).getClass());
+
+    typeHandlerRegistry.register(Derived.class, JdbcType.CLOB, ClobTypeHandler.class);
+    assertSame(ClobTypeHandler.class, typeHandlerRegistry.getTypeHandler(Derived.class, JdbcType.CLOB).getClass());
+    assertSame(StringTypeHandler.class, typeHandlerRegistry.getTypeHandler(Base.class, JdbcType.CLOB).getClass());
+  }
+
+  @Test
+  public void shouldReturnSameHandlerForRepeatedLookups() {
+    TypeHandler<Integer> handler = typeHandlerRegistry.getTypeHandler(Integer.class, JdbcType.INTEGER);
+    assertSame(handler, typeHandlerRegistry.getTypeHandler(Integer.class, JdbcType.INTEGER));
+    IntegerTypeHandler replacement = new IntegerTypeHandler();
+    typeHandlerRegistry.register(Integer.class, JdbcType.INTEGER, replacement);
+    assertSame(replacement, typeHandlerRegistry.getTypeHandler(Integer.class, JdbcType.INTEGER));
+  }
+
+  @Test
+  public void shouldSwitchBuiltInJavaTimeHandlersButKeepCustomOnes() {
+    LocalDateTypeHandler custom = new LocalDateTypeHandler() {
+    };
+    typeHandlerRegistry.register(LocalDate.class, custom);
+    typeHandlerRegistry.setNativeJavaTime(true);
+    assertTrue(((LocalDateTimeTypeHandler) typeHandlerRegistry.getTypeHandler(LocalDateTime.class)).isNativeJavaTime());
+    assertSame(custom, typeHandlerRegistry.getTypeHandler(LocalDate.class));
+    typeHandlerRegistry.setNativeJavaTime(false);
+    assertFalse(((LocalDateTimeTypeHandler) typeHandlerRegistry.getTypeHandler(LocalDateTime.class)).isNativeJavaTime());
+  }
 }
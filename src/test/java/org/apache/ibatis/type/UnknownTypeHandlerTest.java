@@ -82,6 +82,19 @@ public class UnknownTypeHandlerTest extends BaseTypeHandlerTest {
     assertNull(TYPE_HANDLER.getResult(cs, 1));
   }
 
+  @Test
+  public void shouldResolveResultTypeHandlerFromColumnMetaData() throws Exception {
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rsmd.getColumnCount()).thenReturn(2);
+    doReturn("name").when(rsmd).getColumnName(1);
+    doReturn("column").when(rsmd).getColumnName(2);
+    when(rsmd.getColumnClassName(2)).thenReturn(Integer.class.getName());
+    when(rsmd.getColumnType(2)).thenReturn(JdbcType.INTEGER.TYPE_CODE);
+    UnknownTypeHandler typeHandler = new UnknownTypeHandler(new TypeHandlerRegistry());
+    Assertions.assertTrue(typeHandler.resolveResultTypeHandler(rs, "column") instanceof IntegerTypeHandler);
+    Assertions.assertTrue(typeHandler.resolveResultTypeHandler(rs, "missing") instanceof ObjectTypeHandler);
+  }
+
   @Test
   public void setParameterWithNullParameter() throws Exception {
     TYPE_HANDLER.setParameter(ps, 0, null, JdbcType.INTEGER);